@@ -0,0 +1,78 @@
+/*
+ * Copyright 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.unitvectory.consistgen.benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+/**
+ * Runs the benchmarks once for every thread count with the GC profiler so the
+ * throughput, latency and allocation per operation are reported together.
+ * 
+ * Any JMH command line options can be provided, such as a regular expression
+ * to select benchmarks. If the number of threads is given with "-t" the
+ * benchmarks are only run with that number of threads, otherwise they are run
+ * with 1, 4, 16 and 64 threads.
+ * 
+ * @author Jared Hatfield (UnitVectorY Labs)
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class BenchmarkRunner {
+
+    /**
+     * The default thread counts.
+     */
+    private static final int[] THREADS = { 1, 4, 16, 64 };
+
+    /**
+     * Runs the benchmarks.
+     * 
+     * @param args the JMH command line options
+     * @throws RunnerException            if a benchmark fails
+     * @throws CommandLineOptionException if the options are invalid
+     */
+    public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+        run(THREADS, args);
+    }
+
+    /**
+     * Runs the benchmarks once for every thread count.
+     * 
+     * @param threads the thread counts
+     * @param args    the JMH command line options
+     * @throws RunnerException            if a benchmark fails
+     * @throws CommandLineOptionException if the options are invalid
+     */
+    public static void run(int[] threads, String... args) throws RunnerException, CommandLineOptionException {
+        CommandLineOptions options = new CommandLineOptions(args);
+        if (options.getThreads().hasValue()) {
+            threads = new int[] { options.getThreads().get() };
+        }
+
+        for (int count : threads) {
+            new Runner(new OptionsBuilder()
+                    .parent(options)
+                    .addProfiler(GCProfiler.class)
+                    .threads(count)
+                    .build()).run();
+        }
+    }
+}
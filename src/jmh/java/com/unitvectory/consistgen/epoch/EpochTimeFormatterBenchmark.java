@@ -0,0 +1,76 @@
+/*
+ * Copyright 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.unitvectory.consistgen.epoch;
+
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures formatting the current time as ISO 8601 with the EpochTimeFormatter
+ * compared to a DateTimeFormatter.
+ * 
+ * @author Jared Hatfield (UnitVectorY Labs)
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EpochTimeFormatterBenchmark {
+
+    private final EpochTimeFormatter formatter = EpochTimeFormatter.getInstance();
+
+    private final DateTimeFormatter dateTimeFormatter = DateTimeFormatter.ofPattern(EpochTimeFormatter.ISO_8601)
+            .withZone(ZoneOffset.UTC);
+
+    private final StringBuilder builder = new StringBuilder();
+
+    private final byte[] bytes = new byte[64];
+
+    @Benchmark
+    public String format() {
+        return formatter.format();
+    }
+
+    @Benchmark
+    public StringBuilder formatToBuilder() {
+        builder.setLength(0);
+        formatter.formatTo(builder);
+        return builder;
+    }
+
+    @Benchmark
+    public byte[] formatToBytes() {
+        formatter.formatTo(bytes, 0);
+        return bytes;
+    }
+
+    @Benchmark
+    public String dateTimeFormatter() {
+        return dateTimeFormatter.format(Instant.ofEpochMilli(System.currentTimeMillis()));
+    }
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.unitvectory.consistgen.epoch;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures every EpochTimeProvider implementation.
+ * 
+ * A single provider is shared between all benchmark threads.
+ * 
+ * @author Jared Hatfield (UnitVectorY Labs)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EpochTimeProviderBenchmark {
+
+    @Param({ "system", "cached", "static", "settable" })
+    private String implementation;
+
+    private EpochTimeProvider provider;
+
+    @Setup
+    public void setup() {
+        switch (implementation) {
+            case "system":
+                provider = SystemEpochTimeProvider.getInstance();
+                break;
+            case "cached":
+                provider = CachedEpochTimeProvider.builder().build().start();
+                break;
+            case "static":
+                provider = StaticEpochTimeProvider.getInstance();
+                break;
+            case "settable":
+                provider = new SettableEpochTimeProvider(System.currentTimeMillis());
+                break;
+            default:
+                throw new IllegalArgumentException(implementation);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        if (provider instanceof CachedEpochTimeProvider) {
+            ((CachedEpochTimeProvider) provider).close();
+        }
+    }
+
+    @Benchmark
+    public long epochTimeMilliseconds() {
+        return provider.epochTimeMilliseconds();
+    }
+
+    @Benchmark
+    public long epochTimeSeconds() {
+        return provider.epochTimeSeconds();
+    }
+
+    @Benchmark
+    public long epochTimeNanoseconds() {
+        return provider.epochTimeNanoseconds();
+    }
+}
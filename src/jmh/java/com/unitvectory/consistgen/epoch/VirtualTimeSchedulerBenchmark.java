@@ -0,0 +1,60 @@
+/*
+ * Copyright 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.unitvectory.consistgen.epoch;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the VirtualTimeScheduler running 10000 retrying tasks, each of which
+ * reschedules itself once at a random delay, in the single-threaded mode.
+ * 
+ * @author Jared Hatfield (UnitVectorY Labs)
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class VirtualTimeSchedulerBenchmark {
+
+    private static final int TASKS = 10000;
+
+    private final Random random = new Random(0);
+
+    @Benchmark
+    @OperationsPerInvocation(TASKS * 2)
+    public int runAll() {
+        VirtualTimeScheduler scheduler = VirtualTimeScheduler.builder().build();
+        for (int i = 0; i < TASKS; i++) {
+            long delay = random.nextInt(60_000);
+            scheduler.schedule(() -> scheduler.schedule(() -> {
+            }, delay, TimeUnit.MILLISECONDS), delay, TimeUnit.MILLISECONDS);
+        }
+
+        return scheduler.runAll();
+    }
+}
@@ -0,0 +1,123 @@
+/*
+ * Copyright 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.unitvectory.consistgen.io;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.unitvectory.consistgen.string.RandomStringProvider;
+import com.unitvectory.consistgen.string.StringProvider;
+import com.unitvectory.consistgen.uuid.RandomUuidGenerator;
+import com.unitvectory.consistgen.uuid.UuidGenerator;
+
+/**
+ * Compares writing generated values with the ChannelWriter against a loop of
+ * generate and Writer.write.
+ * 
+ * Every invocation writes 10,000 values to a channel that discards them, so
+ * the results measure generation and copying rather than the disk. Each thread
+ * has its own writer.
+ * 
+ * @author Jared Hatfield (UnitVectorY Labs)
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ChannelWriterBenchmark {
+
+    private static final int COUNT = 10000;
+
+    private final StringProvider strings = RandomStringProvider.builder().alphabet("0123456789abcdef").build();
+
+    private final UuidGenerator uuids = RandomUuidGenerator.getInstance();
+
+    private final ChannelWriter writer = ChannelWriter.builder().build();
+
+    private final WritableByteChannel channel = new WritableByteChannel() {
+
+        @Override
+        public int write(ByteBuffer src) {
+            int remaining = src.remaining();
+            src.position(src.limit());
+            return remaining;
+        }
+
+        @Override
+        public boolean isOpen() {
+            return true;
+        }
+
+        @Override
+        public void close() {
+        }
+    };
+
+    private final Writer loop = new BufferedWriter(
+            new OutputStreamWriter(OutputStream.nullOutputStream(), StandardCharsets.ISO_8859_1), 1 << 20);
+
+    @Benchmark
+    @OperationsPerInvocation(COUNT)
+    public long channelStrings() throws IOException {
+        return writer.writeStrings(strings, 32, COUNT, channel);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(COUNT)
+    public void loopStrings() throws IOException {
+        for (int i = 0; i < COUNT; i++) {
+            loop.write(strings.generate(32));
+            loop.write('\n');
+        }
+
+        loop.flush();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(COUNT)
+    public long channelUuids() throws IOException {
+        return writer.writeUuids(uuids, COUNT, channel);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(COUNT)
+    public void loopUuids() throws IOException {
+        for (int i = 0; i < COUNT; i++) {
+            loop.write(uuids.generateUuid());
+            loop.write('\n');
+        }
+
+        loop.flush();
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ * Copyright 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.unitvectory.consistgen.random;
+
+import java.security.SecureRandom;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+
+import com.unitvectory.consistgen.benchmark.BenchmarkRunner;
+import com.unitvectory.consistgen.string.RandomStringProvider;
+import com.unitvectory.consistgen.uuid.RandomUuidGenerator;
+
+/**
+ * Compares the throughput of a shared SecureRandom against the
+ * BufferedSecureRandom as the number of threads grows.
+ * 
+ * Running this class directly repeats the benchmarks with 1, 2, 4, 8, 16, 32
+ * and 64 threads:
+ * 
+ * <pre>
+ * mvn -Pbenchmark test-compile exec:exec -Djmh.main=com.unitvectory.consistgen.random.BufferedSecureRandomBenchmark
+ * </pre>
+ * 
+ * @author Jared Hatfield (UnitVectorY Labs)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BufferedSecureRandomBenchmark {
+
+    /**
+     * The thread counts used when running this class directly.
+     */
+    private static final int[] THREADS = { 1, 2, 4, 8, 16, 32, 64 };
+
+    private final SecureRandom secureRandom = new SecureRandom();
+
+    private final BufferedSecureRandom bufferedSecureRandom = BufferedSecureRandom.getInstance();
+
+    private final RandomStringProvider sharedStringProvider = RandomStringProvider.builder()
+            .random(new SecureRandom()).build();
+
+    private final RandomStringProvider bufferedStringProvider = RandomStringProvider.getInstance();
+
+    @Benchmark
+    public long sharedSecureRandomNextLong() {
+        return secureRandom.nextLong();
+    }
+
+    @Benchmark
+    public long bufferedSecureRandomNextLong() {
+        return bufferedSecureRandom.nextLong();
+    }
+
+    @Benchmark
+    public UUID sharedSecureRandomUuid() {
+        return UUID.randomUUID();
+    }
+
+    @Benchmark
+    public String bufferedSecureRandomUuid() {
+        return RandomUuidGenerator.getInstance().generateUuid();
+    }
+
+    @Benchmark
+    public String sharedSecureRandomString() {
+        return sharedStringProvider.generate(32);
+    }
+
+    @Benchmark
+    public String bufferedSecureRandomString() {
+        return bufferedStringProvider.generate(32);
+    }
+
+    /**
+     * Runs the benchmarks once for every thread count.
+     * 
+     * @param args additional JMH command line options
+     * @throws RunnerException            if a benchmark fails
+     * @throws CommandLineOptionException if the options are invalid
+     */
+    public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+        String[] options = new String[args.length + 1];
+        System.arraycopy(args, 0, options, 0, args.length);
+        options[args.length] = BufferedSecureRandomBenchmark.class.getSimpleName();
+        BenchmarkRunner.run(THREADS, options);
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.unitvectory.consistgen.string;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the MarkovTextProvider generating a 4 KiB string from a synthetic
+ * corpus with a Zipf-like distribution of words.
+ * 
+ * @author Jared Hatfield (UnitVectorY Labs)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MarkovTextProviderBenchmark {
+
+    @Param({ "1000", "100000" })
+    private int vocabulary;
+
+    private StringProvider provider;
+
+    private char[] chars;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(0);
+        StringBuilder corpus = new StringBuilder();
+        for (int i = 0; i < vocabulary * 10; i++) {
+            int rank = (int) Math.min(vocabulary - 1, 1 / (random.nextDouble() + 1.0 / vocabulary));
+            corpus.append("w").append(Integer.toString(rank, 36)).append(' ');
+        }
+
+        provider = MarkovTextProvider.builder().corpus(corpus.toString()).build();
+        chars = new char[4096];
+    }
+
+    @Benchmark
+    public String generate() {
+        return provider.generate(4096);
+    }
+
+    @Benchmark
+    public char[] generateChars() {
+        provider.generate(chars, 0, chars.length);
+        return chars;
+    }
+}
@@ -0,0 +1,60 @@
+/*
+ * Copyright 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.unitvectory.consistgen.string;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the MaskStringProvider against concatenating several generate calls
+ * for a value formatted as "AAA-9999-xx".
+ * 
+ * @author Jared Hatfield (UnitVectorY Labs)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MaskStringProviderBenchmark {
+
+    private final MaskStringProvider mask = MaskStringProvider.builder().mask("AAA-9999-xx").build();
+
+    private final StringProvider upper = RandomStringProvider.builder().alphabet("ABCDEFGHIJKLMNOPQRSTUVWXYZ")
+            .build();
+
+    private final StringProvider digits = RandomStringProvider.builder().alphabet("0123456789").build();
+
+    private final StringProvider hex = RandomStringProvider.builder().alphabet("0123456789abcdef").build();
+
+    @Benchmark
+    public String mask() {
+        return mask.generate();
+    }
+
+    @Benchmark
+    public String concatenate() {
+        return upper.generate(3) + "-" + digits.generate(4) + "-" + hex.generate(2);
+    }
+}
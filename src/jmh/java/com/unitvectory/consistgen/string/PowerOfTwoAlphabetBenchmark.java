@@ -0,0 +1,91 @@
+/*
+ * Copyright 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.unitvectory.consistgen.string;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.unitvectory.consistgen.random.BufferedSecureRandom;
+
+/**
+ * Compares the RandomStringProvider for power of two alphabets against
+ * drawing a bounded random int for every character.
+ * 
+ * @author Jared Hatfield (UnitVectorY Labs)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PowerOfTwoAlphabetBenchmark {
+
+    @Param({ "hex", "base32", "base64url" })
+    private String alphabet;
+
+    @Param({ "16", "64" })
+    private int length;
+
+    private String characters;
+
+    private final Random random = BufferedSecureRandom.getInstance();
+
+    private StringProvider provider;
+
+    @Setup
+    public void setup() {
+        switch (alphabet) {
+            case "hex":
+                characters = "0123456789abcdef";
+                break;
+            case "base32":
+                characters = "ABCDEFGHIJKLMNOPQRSTUVWXYZ234567";
+                break;
+            case "base64url":
+                characters = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789-_";
+                break;
+            default:
+                throw new IllegalArgumentException(alphabet);
+        }
+
+        provider = RandomStringProvider.builder().alphabet(characters).random(random).build();
+    }
+
+    @Benchmark
+    public String perCharacter() {
+        StringBuilder builder = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            builder.append(characters.charAt(random.nextInt(characters.length())));
+        }
+        return builder.toString();
+    }
+
+    @Benchmark
+    public String bitExtraction() {
+        return provider.generate(length);
+    }
+}
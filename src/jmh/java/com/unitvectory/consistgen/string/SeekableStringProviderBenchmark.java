@@ -0,0 +1,72 @@
+/*
+ * Copyright 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.unitvectory.consistgen.string;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures large payloads from the SeekableStringProvider, both materialized
+ * and read lazily, against the RandomStringProvider.
+ * 
+ * @author Jared Hatfield (UnitVectorY Labs)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SeekableStringProviderBenchmark {
+
+    @Param({ "1048576", "16777216" })
+    private int length;
+
+    private final SeekableStringProvider seekable = SeekableStringProvider.builder().build();
+
+    private final StringProvider random = RandomStringProvider.getInstance();
+
+    @Benchmark
+    public String random() {
+        return random.generate(length);
+    }
+
+    @Benchmark
+    public String seekable() {
+        return seekable.generate(length);
+    }
+
+    @Benchmark
+    public char seekableLazy() {
+        // Reads the first and last kilobyte of the payload
+        LazyCharSequence payload = seekable.generateLazy(length);
+        char result = 0;
+        for (int i = 0; i < 1024; i++) {
+            result ^= payload.charAt(i);
+            result ^= payload.charAt(length - 1 - i);
+        }
+
+        return result;
+    }
+}
@@ -0,0 +1,132 @@
+/*
+ * Copyright 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.unitvectory.consistgen.string;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures every StringProvider implementation at several lengths and
+ * alphabets.
+ * 
+ * A single provider is shared between all benchmark threads, with each thread
+ * writing into its own byte array and direct ByteBuffer for the
+ * generate-into-buffer variants.
+ * 
+ * @author Jared Hatfield (UnitVectorY Labs)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StringProviderBenchmark {
+
+    @Param({ "random", "randomBulk", "randomWeighted", "static", "settable" })
+    private String implementation;
+
+    @Param({ "alphanumeric", "hex", "digits" })
+    private String alphabet;
+
+    @Param({ "8", "32", "256" })
+    private int length;
+
+    private StringProvider provider;
+
+    @Setup
+    public void setup() {
+        String characters;
+        switch (alphabet) {
+            case "alphanumeric":
+                characters = RandomStringProvider.ALPHABET;
+                break;
+            case "hex":
+                characters = "0123456789abcdef";
+                break;
+            case "digits":
+                characters = "0123456789";
+                break;
+            default:
+                throw new IllegalArgumentException(alphabet);
+        }
+
+        switch (implementation) {
+            case "random":
+                provider = RandomStringProvider.builder().alphabet(characters).build();
+                break;
+            case "randomBulk":
+                provider = RandomStringProvider.builder().alphabet(characters).bulk(true).build();
+                break;
+            case "randomWeighted":
+                // Zipf distributed, the first character being the most likely
+                double[] weights = new double[characters.length()];
+                for (int i = 0; i < weights.length; i++) {
+                    weights[i] = 1.0 / (i + 1);
+                }
+
+                provider = RandomStringProvider.builder().alphabet(characters).weights(weights).build();
+                break;
+            case "static":
+                provider = StaticStringProvider.builder().alphabet(characters).build();
+                break;
+            case "settable":
+                provider = SettableStringProvider.builder().alphabet(characters).build();
+                break;
+            default:
+                throw new IllegalArgumentException(implementation);
+        }
+    }
+
+    @Benchmark
+    public String generate() {
+        return provider.generate(length);
+    }
+
+    @Benchmark
+    public byte[] generateBytes(Buffers buffers) {
+        provider.generate(buffers.bytes, 0, length);
+        return buffers.bytes;
+    }
+
+    @Benchmark
+    public ByteBuffer generateDirect(Buffers buffers) {
+        buffers.direct.clear();
+        provider.generate(buffers.direct, length);
+        return buffers.direct;
+    }
+
+    /**
+     * The destinations written to by a single thread.
+     */
+    @State(Scope.Thread)
+    public static class Buffers {
+
+        private final byte[] bytes = new byte[256];
+
+        private final ByteBuffer direct = ByteBuffer.allocateDirect(256);
+    }
+}
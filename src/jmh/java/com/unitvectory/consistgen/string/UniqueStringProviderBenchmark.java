@@ -0,0 +1,79 @@
+/*
+ * Copyright 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.unitvectory.consistgen.string;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the UniqueStringProvider against the RandomStringProvider it wraps.
+ * 
+ * The provider is created again for every iteration so the table never fills;
+ * each iteration can issue up to 16,777,216 strings, which needs 256 MiB of
+ * direct memory.
+ * 
+ * @author Jared Hatfield (UnitVectorY Labs)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-XX:MaxDirectMemorySize=1g")
+public class UniqueStringProviderBenchmark {
+
+    @Param({ "random", "unique", "uniqueBloom", "uniqueWindow" })
+    private String implementation;
+
+    private StringProvider provider;
+
+    @Setup(Level.Iteration)
+    public void setup() {
+        StringProvider random = RandomStringProvider.getInstance();
+        switch (implementation) {
+            case "random":
+                provider = random;
+                break;
+            case "unique":
+                provider = UniqueStringProvider.builder().provider(random).capacity(1L << 24).build();
+                break;
+            case "uniqueBloom":
+                provider = UniqueStringProvider.builder().provider(random).capacity(1L << 24).bloomFilter(true)
+                        .build();
+                break;
+            case "uniqueWindow":
+                provider = UniqueStringProvider.builder().provider(random).window(1L << 20).build();
+                break;
+            default:
+                throw new IllegalArgumentException(implementation);
+        }
+    }
+
+    @Benchmark
+    public String generate() {
+        return provider.generate(12);
+    }
+}
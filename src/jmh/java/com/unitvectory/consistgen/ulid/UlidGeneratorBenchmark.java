@@ -0,0 +1,68 @@
+/*
+ * Copyright 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.unitvectory.consistgen.ulid;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the TimeOrderedUlidGenerator with and without monotonic mode.
+ * 
+ * A single generator is shared between all benchmark threads.
+ * 
+ * @author Jared Hatfield (UnitVectorY Labs)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UlidGeneratorBenchmark {
+
+    @Param({ "false", "true" })
+    private boolean monotonic;
+
+    private UlidGenerator generator;
+
+    private final ThreadLocal<byte[]> ascii = ThreadLocal.withInitial(() -> new byte[CrockfordBase32.LENGTH]);
+
+    @Setup
+    public void setup() {
+        generator = TimeOrderedUlidGenerator.builder().monotonic(monotonic).build();
+    }
+
+    @Benchmark
+    public String generateUlid() {
+        return generator.generateUlid();
+    }
+
+    @Benchmark
+    public byte[] generateUlidAscii() {
+        byte[] bytes = ascii.get();
+        generator.generateUlidAscii(bytes, 0);
+        return bytes;
+    }
+}
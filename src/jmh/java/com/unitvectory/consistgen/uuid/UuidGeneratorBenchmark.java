@@ -0,0 +1,137 @@
+/*
+ * Copyright 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.unitvectory.consistgen.uuid;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures every UuidGenerator implementation through each of its output
+ * forms.
+ * 
+ * Thread-safe generators are shared between all benchmark threads while the
+ * SeededUuidGenerator, which is not thread-safe, is split for every thread.
+ * 
+ * @author Jared Hatfield (UnitVectorY Labs)
+ */
+@State(Scope.Thread)
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UuidGeneratorBenchmark {
+
+    /**
+     * The number of UUIDs generated by the bulk benchmark.
+     */
+    private static final int BULK = 1024;
+
+    private static final AtomicLong SEEDS = new AtomicLong();
+
+    @Param({ "random", "timeOrdered", "seeded", "static", "settable" })
+    private String implementation;
+
+    private UuidGenerator generator;
+
+    private final long[] bits = new long[2];
+
+    private final long[] bulk = new long[BULK * 2];
+
+    private final byte[] bytes = new byte[UuidFormat.BYTES];
+
+    private final byte[] ascii = new byte[UuidFormat.STRING_LENGTH];
+
+    /**
+     * The generators shared between threads.
+     */
+    @State(Scope.Benchmark)
+    public static class Shared {
+
+        private final UuidGenerator random = RandomUuidGenerator.getInstance();
+
+        private final UuidGenerator timeOrdered = TimeOrderedUuidGenerator.builder().build();
+
+        private final UuidGenerator staticGenerator = StaticUuidGenerator.builder()
+                .uuid("01234567-89ab-cdef-0123-456789abcdef").build();
+
+        private final UuidGenerator settable = SettableUuidGenerator.builder()
+                .uuid("01234567-89ab-cdef-0123-456789abcdef").build();
+    }
+
+    @Setup
+    public void setup(Shared shared) {
+        switch (implementation) {
+            case "random":
+                generator = shared.random;
+                break;
+            case "timeOrdered":
+                generator = shared.timeOrdered;
+                break;
+            case "seeded":
+                generator = SeededUuidGenerator.builder().seed(SEEDS.getAndIncrement()).build();
+                break;
+            case "static":
+                generator = shared.staticGenerator;
+                break;
+            case "settable":
+                generator = shared.settable;
+                break;
+            default:
+                throw new IllegalArgumentException(implementation);
+        }
+    }
+
+    @Benchmark
+    public String generateUuid() {
+        return generator.generateUuid();
+    }
+
+    @Benchmark
+    public long[] generateUuidBits() {
+        generator.generateUuidBits(bits, 0);
+        return bits;
+    }
+
+    @Benchmark
+    public byte[] generateUuidBytes() {
+        generator.generateUuidBytes(bytes, 0);
+        return bytes;
+    }
+
+    @Benchmark
+    public byte[] generateUuidAscii() {
+        generator.generateUuidAscii(ascii, 0);
+        return ascii;
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public long[] generateUuidsBulk() {
+        generator.generateUuids(bulk, 0, BULK);
+        return bulk;
+    }
+}
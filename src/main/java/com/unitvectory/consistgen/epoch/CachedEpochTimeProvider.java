@@ -0,0 +1,201 @@
+/*
+ * Copyright 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.unitvectory.consistgen.epoch;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import lombok.Builder;
+
+/**
+ * Provides the epoch time from a cached value that a background thread updates
+ * from another EpochTimeProvider at a fixed interval.
+ * 
+ * Reading the time is a single volatile load, so this is intended for callers
+ * that read the time very often and can tolerate it being behind by up to
+ * about one tick, such as where reading the system clock is slow.
+ * 
+ * The background thread is a daemon thread that is started by start and
+ * stopped by stop or close, and can be started again after it is stopped.
+ * While stopped the last cached value is returned. The drift from the
+ * underlying provider can be read at any time, along with the largest drift
+ * observed by the background thread before each update.
+ * 
+ * By default, the SystemEpochTimeProvider is cached and updated every
+ * millisecond.
+ * 
+ * @author Jared Hatfield (UnitVectorY Labs)
+ */
+public class CachedEpochTimeProvider implements EpochTimeProvider, AutoCloseable {
+
+    /**
+     * The epoch time provider that is cached.
+     */
+    private final EpochTimeProvider epochTimeProvider;
+
+    /**
+     * The interval between updates in milliseconds.
+     */
+    private final long tickMilliseconds;
+
+    /**
+     * The cached epoch time in milliseconds.
+     */
+    private volatile long epochTimeMilliseconds;
+
+    /**
+     * The largest drift observed before an update in milliseconds.
+     */
+    private volatile long maxDrift;
+
+    /**
+     * The background thread, or null if stopped.
+     */
+    private Thread ticker;
+
+    /**
+     * Creates a new CachedEpochTimeProvider.
+     * 
+     * The background thread is not started until start is called.
+     * 
+     * @param epochTimeProvider the epoch time provider to cache
+     * @param tickMilliseconds  the interval between updates in milliseconds
+     */
+    @Builder
+    public CachedEpochTimeProvider(EpochTimeProvider epochTimeProvider, Long tickMilliseconds) {
+        if (epochTimeProvider == null) {
+            this.epochTimeProvider = SystemEpochTimeProvider.getInstance();
+        } else {
+            this.epochTimeProvider = epochTimeProvider;
+        }
+
+        if (tickMilliseconds == null) {
+            this.tickMilliseconds = 1;
+        } else if (tickMilliseconds <= 0) {
+            throw new IllegalArgumentException("tickMilliseconds must be greater than 0");
+        } else {
+            this.tickMilliseconds = tickMilliseconds;
+        }
+
+        this.epochTimeMilliseconds = this.epochTimeProvider.epochTimeMilliseconds();
+    }
+
+    @Override
+    public long epochTimeMilliseconds() {
+        return this.epochTimeMilliseconds;
+    }
+
+    /**
+     * Starts the background thread, updating the cached value immediately.
+     * 
+     * Has no effect if the background thread is already running.
+     * 
+     * @return this provider
+     */
+    public synchronized CachedEpochTimeProvider start() {
+        if (this.ticker == null) {
+            this.epochTimeMilliseconds = this.epochTimeProvider.epochTimeMilliseconds();
+            this.ticker = new Thread(this::tick, "consistgen-epoch-ticker");
+            this.ticker.setDaemon(true);
+            this.ticker.start();
+        }
+
+        return this;
+    }
+
+    /**
+     * Stops the background thread, waiting for it to finish.
+     * 
+     * Has no effect if the background thread is not running.
+     */
+    public synchronized void stop() {
+        if (this.ticker == null) {
+            return;
+        }
+
+        this.ticker.interrupt();
+        boolean interrupted = false;
+        while (this.ticker.isAlive()) {
+            try {
+                this.ticker.join();
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+
+        this.ticker = null;
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Stops the background thread.
+     */
+    @Override
+    public void close() {
+        stop();
+    }
+
+    /**
+     * Checks if the background thread is running.
+     * 
+     * @return true if running
+     */
+    public synchronized boolean isRunning() {
+        return this.ticker != null;
+    }
+
+    /**
+     * Gets the interval between updates.
+     * 
+     * @return the interval in milliseconds
+     */
+    public long getTickMilliseconds() {
+        return this.tickMilliseconds;
+    }
+
+    /**
+     * Gets how far the cached value is currently behind the epoch time provider.
+     * 
+     * @return the drift in milliseconds, negative if the cached value is ahead
+     */
+    public long getDrift() {
+        return this.epochTimeProvider.epochTimeMilliseconds() - this.epochTimeMilliseconds;
+    }
+
+    /**
+     * Gets the largest drift observed by the background thread just before it
+     * updated the cached value.
+     * 
+     * @return the largest drift in milliseconds
+     */
+    public long getMaxDrift() {
+        return this.maxDrift;
+    }
+
+    private void tick() {
+        long tickNanoseconds = TimeUnit.MILLISECONDS.toNanos(this.tickMilliseconds);
+        while (!Thread.currentThread().isInterrupted()) {
+            LockSupport.parkNanos(this, tickNanoseconds);
+            long now = this.epochTimeProvider.epochTimeMilliseconds();
+            long drift = now - this.epochTimeMilliseconds;
+            if (drift > this.maxDrift) {
+                this.maxDrift = drift;
+            }
+
+            this.epochTimeMilliseconds = now;
+        }
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.unitvectory.consistgen.epoch;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+/**
+ * Converts an epoch time held as milliseconds along with the nanoseconds within
+ * the millisecond, which covers the full range of milliseconds, to and from
+ * other units.
+ * 
+ * @author Jared Hatfield (UnitVectorY Labs)
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+final class EpochTime {
+
+    /**
+     * Converts seconds to milliseconds.
+     * 
+     * @param epochTimeSeconds the epoch time in seconds
+     * @return the epoch time in milliseconds
+     * @throws IllegalArgumentException if the time does not fit in milliseconds
+     */
+    static long secondsToMilliseconds(long epochTimeSeconds) {
+        if (epochTimeSeconds > Long.MAX_VALUE / 1000 || epochTimeSeconds < Long.MIN_VALUE / 1000) {
+            throw new IllegalArgumentException("epochTimeSeconds is out of range");
+        }
+
+        return epochTimeSeconds * 1000;
+    }
+
+    /**
+     * Converts to microseconds.
+     * 
+     * @param epochTimeMilliseconds   the epoch time in milliseconds
+     * @param nanosecondOfMillisecond the nanoseconds within the millisecond
+     * @return the epoch time in microseconds
+     * @throws ArithmeticException if the time does not fit in microseconds
+     */
+    static long toMicroseconds(long epochTimeMilliseconds, int nanosecondOfMillisecond) {
+        return combine(epochTimeMilliseconds, nanosecondOfMillisecond / 1000, 1000);
+    }
+
+    /**
+     * Converts to nanoseconds.
+     * 
+     * @param epochTimeMilliseconds   the epoch time in milliseconds
+     * @param nanosecondOfMillisecond the nanoseconds within the millisecond
+     * @return the epoch time in nanoseconds
+     * @throws ArithmeticException if the time does not fit in nanoseconds
+     */
+    static long toNanoseconds(long epochTimeMilliseconds, int nanosecondOfMillisecond) {
+        return combine(epochTimeMilliseconds, nanosecondOfMillisecond, 1_000_000);
+    }
+
+    private static long combine(long epochTimeMilliseconds, int fraction, int perMillisecond) {
+        if (epochTimeMilliseconds < 0 && fraction > 0) {
+            // Borrow a millisecond so a time just above the minimum does not overflow
+            return Math.addExact(Math.multiplyExact(epochTimeMilliseconds + 1, (long) perMillisecond),
+                    fraction - perMillisecond);
+        }
+
+        return Math.addExact(Math.multiplyExact(epochTimeMilliseconds, (long) perMillisecond), fraction);
+    }
+}
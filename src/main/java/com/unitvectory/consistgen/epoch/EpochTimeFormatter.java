@@ -0,0 +1,404 @@
+/*
+ * Copyright 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.unitvectory.consistgen.epoch;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.Locale;
+
+import lombok.Builder;
+
+/**
+ * Formats the epoch time as a string from a pattern, caching the formatted
+ * string for the current second.
+ * 
+ * The first time a second is formatted, the pattern is formatted with several
+ * millisecond values to find where the millisecond digits are in the string.
+ * Every other time within that second, the cached string is copied and only
+ * those digits are written, so no DateTimeFormatter or ZonedDateTime is used.
+ * The formatted string can also be appended to a StringBuilder or written into
+ * a byte array as Latin-1, which allocates nothing at all.
+ * 
+ * The cached second is held in an immutable object published through a
+ * volatile field, so many threads can format concurrently and a thread that
+ * sees a new second simply formats and publishes it. Patterns whose digits
+ * cannot be found, such as those with an unpadded fraction of a second, are
+ * cached for each millisecond instead.
+ * 
+ * By default, the time from the SystemEpochTimeProvider is formatted as ISO
+ * 8601 in UTC with milliseconds. RFC 1123 as used by HTTP dates is also
+ * available, and any DateTimeFormatter pattern can be given along with the
+ * zone and locale.
+ * 
+ * @author Jared Hatfield (UnitVectorY Labs)
+ */
+public class EpochTimeFormatter {
+
+    /**
+     * The ISO 8601 pattern in UTC with milliseconds, such as
+     * 2024-01-02T03:04:05.678Z.
+     */
+    public static final String ISO_8601 = "yyyy-MM-dd'T'HH:mm:ss.SSS'Z'";
+
+    /**
+     * The RFC 1123 pattern used by HTTP dates in GMT, such as Tue, 02 Jan 2024
+     * 03:04:05 GMT.
+     */
+    public static final String RFC_1123 = "EEE, dd MMM yyyy HH:mm:ss 'GMT'";
+
+    /**
+     * The default instance of the EpochTimeFormatter.
+     */
+    private static final EpochTimeFormatter INSTANCE = EpochTimeFormatter.builder().build();
+
+    /**
+     * The epoch time provider for the current time.
+     */
+    private final EpochTimeProvider epochTimeProvider;
+
+    /**
+     * The formatter, used only when a new second is cached.
+     */
+    private final DateTimeFormatter formatter;
+
+    /**
+     * The pattern.
+     */
+    private final String pattern;
+
+    /**
+     * The most recently formatted second.
+     */
+    private volatile Cached cached;
+
+    /**
+     * Creates a new EpochTimeFormatter.
+     * 
+     * @param epochTimeProvider the epoch time provider to use
+     * @param pattern           the DateTimeFormatter pattern
+     * @param zone              the zone to format the time in
+     * @param locale            the locale to format the time in
+     */
+    @Builder
+    public EpochTimeFormatter(EpochTimeProvider epochTimeProvider, String pattern, ZoneId zone, Locale locale) {
+        if (epochTimeProvider == null) {
+            this.epochTimeProvider = SystemEpochTimeProvider.getInstance();
+        } else {
+            this.epochTimeProvider = epochTimeProvider;
+        }
+
+        if (pattern == null) {
+            this.pattern = ISO_8601;
+        } else if (pattern.isEmpty()) {
+            throw new IllegalArgumentException("pattern must not be empty");
+        } else {
+            this.pattern = pattern;
+        }
+
+        this.formatter = DateTimeFormatter.ofPattern(this.pattern, locale == null ? Locale.US : locale)
+                .withZone(zone == null ? ZoneOffset.UTC : zone);
+        this.cached = cache(this.epochTimeProvider.epochTimeMilliseconds());
+    }
+
+    /**
+     * Gets the instance of the EpochTimeFormatter.
+     * 
+     * The default instance formats the time from the SystemEpochTimeProvider as
+     * ISO 8601 in UTC.
+     * 
+     * @return the default instance of the EpochTimeFormatter
+     */
+    public static EpochTimeFormatter getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Gets the pattern.
+     * 
+     * @return the pattern
+     */
+    public String getPattern() {
+        return this.pattern;
+    }
+
+    /**
+     * Formats the current time.
+     * 
+     * @return the formatted time
+     */
+    public String format() {
+        return format(this.epochTimeProvider.epochTimeMilliseconds());
+    }
+
+    /**
+     * Formats a time.
+     * 
+     * @param epochTimeMilliseconds the epoch time in milliseconds
+     * @return the formatted time
+     */
+    public String format(long epochTimeMilliseconds) {
+        Cached current = cached(epochTimeMilliseconds);
+        int millisecond = (int) Math.floorMod(epochTimeMilliseconds, 1000L);
+        if (current.latin1 != null) {
+            byte[] bytes = current.latin1.clone();
+            current.patch(bytes, 0, millisecond);
+            return new String(bytes, StandardCharsets.ISO_8859_1);
+        }
+
+        char[] chars = current.chars.clone();
+        current.patch(chars, millisecond);
+        return new String(chars);
+    }
+
+    /**
+     * Appends the current time to a StringBuilder.
+     * 
+     * @param dest the destination
+     */
+    public void formatTo(StringBuilder dest) {
+        formatTo(dest, this.epochTimeProvider.epochTimeMilliseconds());
+    }
+
+    /**
+     * Appends a time to a StringBuilder.
+     * 
+     * @param dest                  the destination
+     * @param epochTimeMilliseconds the epoch time in milliseconds
+     */
+    public void formatTo(StringBuilder dest, long epochTimeMilliseconds) {
+        Cached current = cached(epochTimeMilliseconds);
+        int start = dest.length();
+        dest.append(current.chars);
+        current.patch(dest, start, (int) Math.floorMod(epochTimeMilliseconds, 1000L));
+    }
+
+    /**
+     * Writes the current time into a byte array as Latin-1.
+     * 
+     * @param dest   the destination
+     * @param offset the offset in the destination
+     * @return the number of bytes written
+     * @throws IllegalStateException if a character is not Latin-1
+     */
+    public int formatTo(byte[] dest, int offset) {
+        return formatTo(dest, offset, this.epochTimeProvider.epochTimeMilliseconds());
+    }
+
+    /**
+     * Writes a time into a byte array as Latin-1.
+     * 
+     * @param dest                  the destination
+     * @param offset                the offset in the destination
+     * @param epochTimeMilliseconds the epoch time in milliseconds
+     * @return the number of bytes written
+     * @throws IllegalStateException if a character is not Latin-1
+     */
+    public int formatTo(byte[] dest, int offset, long epochTimeMilliseconds) {
+        Cached current = cached(epochTimeMilliseconds);
+        if (current.latin1 == null) {
+            throw new IllegalStateException("formatted time must only contain Latin-1 characters");
+        }
+
+        int length = current.latin1.length;
+        if (offset < 0 || offset > dest.length - length) {
+            throw new IndexOutOfBoundsException(
+                    "range [" + offset + ", " + offset + " + " + length + ") out of bounds for length " + dest.length);
+        }
+
+        System.arraycopy(current.latin1, 0, dest, offset, length);
+        current.patch(dest, offset, (int) Math.floorMod(epochTimeMilliseconds, 1000L));
+        return length;
+    }
+
+    /**
+     * Gets the cached second for a time, caching it if it is not the most
+     * recently formatted second. Racing threads each publish an equally valid
+     * value.
+     * 
+     * @param epochTimeMilliseconds the epoch time in milliseconds
+     * @return the cached second
+     */
+    private Cached cached(long epochTimeMilliseconds) {
+        Cached current = this.cached;
+        if (current.matches(epochTimeMilliseconds)) {
+            return current;
+        }
+
+        current = cache(epochTimeMilliseconds);
+        this.cached = current;
+        return current;
+    }
+
+    private Cached cache(long epochTimeMilliseconds) {
+        long second = Math.floorDiv(epochTimeMilliseconds, 1000L);
+        long start = second * 1000;
+        String base = format(start, 0);
+        int hundreds = digit(base, format(start, 100));
+        int tens = digit(base, format(start, 10));
+        int units = digit(base, format(start, 1));
+        if (hundreds != -2 && tens != -2 && units != -2) {
+            Cached candidate = new Cached(second, false, 0, base, hundreds, tens, units);
+            char[] check = base.toCharArray();
+            candidate.patch(check, 999);
+            if (new String(check).equals(format(start, 999))) {
+                return candidate;
+            }
+        }
+
+        // The digits could not be found so the exact millisecond is cached
+        String formatted = this.formatter.format(Instant.ofEpochMilli(epochTimeMilliseconds));
+        return new Cached(second, true, epochTimeMilliseconds, formatted, -1, -1, -1);
+    }
+
+    private String format(long start, int millisecond) {
+        return this.formatter.format(Instant.ofEpochMilli(start + millisecond));
+    }
+
+    /**
+     * Finds the position of a millisecond digit from the string formatted with a
+     * millisecond of 0 and one formatted with the digit set to 1.
+     * 
+     * @param base  the string formatted with a millisecond of 0
+     * @param other the string formatted with the digit set to 1
+     * @return the position, -1 if the digit is not formatted, or -2 if it cannot
+     *         be found
+     */
+    private static int digit(String base, String other) {
+        if (base.length() != other.length()) {
+            return -2;
+        }
+
+        int position = -1;
+        for (int i = 0; i < base.length(); i++) {
+            if (base.charAt(i) != other.charAt(i)) {
+                if (position != -1 || base.charAt(i) != '0' || other.charAt(i) != '1') {
+                    return -2;
+                }
+
+                position = i;
+            }
+        }
+
+        return position;
+    }
+
+    /**
+     * A formatted second along with the positions of its millisecond digits.
+     */
+    private static final class Cached {
+
+        /**
+         * The epoch time in seconds.
+         */
+        private final long second;
+
+        /**
+         * True if only a single millisecond is cached.
+         */
+        private final boolean exact;
+
+        /**
+         * The epoch time in milliseconds when only that millisecond is cached.
+         */
+        private final long millisecond;
+
+        /**
+         * The formatted characters.
+         */
+        private final char[] chars;
+
+        /**
+         * The formatted characters as Latin-1, or null if a character is not
+         * Latin-1.
+         */
+        private final byte[] latin1;
+
+        private final int hundreds;
+
+        private final int tens;
+
+        private final int units;
+
+        private Cached(long second, boolean exact, long millisecond, String formatted, int hundreds, int tens,
+                int units) {
+            this.second = second;
+            this.exact = exact;
+            this.millisecond = millisecond;
+            this.chars = formatted.toCharArray();
+
+            boolean isLatin1 = true;
+            for (char c : this.chars) {
+                isLatin1 &= c <= 0xFF;
+            }
+
+            this.latin1 = isLatin1 ? formatted.getBytes(StandardCharsets.ISO_8859_1) : null;
+            this.hundreds = hundreds;
+            this.tens = tens;
+            this.units = units;
+        }
+
+        private boolean matches(long epochTimeMilliseconds) {
+            if (this.exact) {
+                return this.millisecond == epochTimeMilliseconds;
+            }
+
+            return this.second == Math.floorDiv(epochTimeMilliseconds, 1000L);
+        }
+
+        private void patch(char[] dest, int millisecond) {
+            if (this.hundreds >= 0) {
+                dest[this.hundreds] = (char) ('0' + millisecond / 100);
+            }
+
+            if (this.tens >= 0) {
+                dest[this.tens] = (char) ('0' + millisecond / 10 % 10);
+            }
+
+            if (this.units >= 0) {
+                dest[this.units] = (char) ('0' + millisecond % 10);
+            }
+        }
+
+        private void patch(byte[] dest, int offset, int millisecond) {
+            if (this.hundreds >= 0) {
+                dest[offset + this.hundreds] = (byte) ('0' + millisecond / 100);
+            }
+
+            if (this.tens >= 0) {
+                dest[offset + this.tens] = (byte) ('0' + millisecond / 10 % 10);
+            }
+
+            if (this.units >= 0) {
+                dest[offset + this.units] = (byte) ('0' + millisecond % 10);
+            }
+        }
+
+        private void patch(StringBuilder dest, int offset, int millisecond) {
+            if (this.hundreds >= 0) {
+                dest.setCharAt(offset + this.hundreds, (char) ('0' + millisecond / 100));
+            }
+
+            if (this.tens >= 0) {
+                dest.setCharAt(offset + this.tens, (char) ('0' + millisecond / 10 % 10));
+            }
+
+            if (this.units >= 0) {
+                dest.setCharAt(offset + this.units, (char) ('0' + millisecond % 10));
+            }
+        }
+    }
+}
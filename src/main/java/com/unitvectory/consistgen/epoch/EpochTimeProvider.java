@@ -16,6 +16,10 @@ package com.unitvectory.consistgen.epoch;
 /**
  * Provides the epoch time.
  * 
+ * The time can be provided in seconds, milliseconds, microseconds or
+ * nanoseconds, always as a primitive long. Implementations that only track
+ * milliseconds provide the finer units as whole milliseconds.
+ * 
  * @author Jared Hatfield (UnitVectorY Labs)
  */
 public interface EpochTimeProvider {
@@ -35,4 +39,22 @@ public interface EpochTimeProvider {
     default long epochTimeSeconds() {
         return epochTimeMilliseconds() / 1000;
     }
+
+    /**
+     * Provides the epoch time in microseconds.
+     * 
+     * @return the epoch time in microseconds
+     */
+    default long epochTimeMicroseconds() {
+        return epochTimeMilliseconds() * 1000;
+    }
+
+    /**
+     * Provides the epoch time in nanoseconds.
+     * 
+     * @return the epoch time in nanoseconds
+     */
+    default long epochTimeNanoseconds() {
+        return epochTimeMilliseconds() * 1_000_000;
+    }
 }
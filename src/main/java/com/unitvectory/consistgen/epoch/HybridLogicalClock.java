@@ -0,0 +1,219 @@
+/*
+ * Copyright 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.unitvectory.consistgen.epoch;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import lombok.Builder;
+
+/**
+ * A hybrid logical clock issuing causally ordered timestamps.
+ * 
+ * A timestamp packs the physical time in milliseconds into the high 48 bits and
+ * a logical counter into the low 16 bits, so timestamps compare as plain longs.
+ * As the sign bit must stay clear for that, the physical time must be from 0 up
+ * to 2^47 - 1 milliseconds, and timestamps are never negative.
+ * Every timestamp issued is strictly greater than the last one issued and than
+ * any remote timestamp received with update, while staying as close as
+ * possible to the time read from the EpochTimeProvider. When the clock steps
+ * backwards, or more than 65536 timestamps are issued within a millisecond, the
+ * last timestamp is incremented instead, carrying the counter into the
+ * physical time.
+ * 
+ * Rather than wrapping, an epoch time outside of that range, a negative remote
+ * timestamp, or reaching the largest timestamp throws an exception, so a
+ * timestamp lower than one already issued or received is never issued.
+ * 
+ * Timestamps are issued without a lock with a single compare-and-set. A maximum
+ * offset can be set so a remote timestamp too far ahead of the local clock is
+ * rejected rather than dragging the clock forward.
+ * 
+ * By default, the SystemEpochTimeProvider is used. Using a
+ * SettableEpochTimeProvider makes the clock fully deterministic for testing
+ * clock skew.
+ * 
+ * @author Jared Hatfield (UnitVectorY Labs)
+ */
+public class HybridLogicalClock {
+
+    /**
+     * The number of bits used by the logical counter.
+     */
+    private static final int COUNTER_BITS = 16;
+
+    /**
+     * The mask for the logical counter.
+     */
+    private static final long COUNTER_MASK = (1L << COUNTER_BITS) - 1;
+
+    /**
+     * The largest physical time that keeps a timestamp positive.
+     */
+    private static final long MAX_PHYSICAL = Long.MAX_VALUE >>> COUNTER_BITS;
+
+    /**
+     * The epoch time provider for the physical time.
+     */
+    private final EpochTimeProvider epochTimeProvider;
+
+    /**
+     * The largest amount in milliseconds a remote timestamp may be ahead of the
+     * local clock, or a negative value for no limit.
+     */
+    private final long maxOffsetMilliseconds;
+
+    /**
+     * The last timestamp issued.
+     */
+    private final AtomicLong last = new AtomicLong(0);
+
+    /**
+     * Creates a new HybridLogicalClock.
+     * 
+     * @param epochTimeProvider     the epoch time provider to use
+     * @param maxOffsetMilliseconds the largest amount in milliseconds a remote
+     *                              timestamp may be ahead of the local clock, or
+     *                              null for no limit
+     */
+    @Builder
+    public HybridLogicalClock(EpochTimeProvider epochTimeProvider, Long maxOffsetMilliseconds) {
+        if (epochTimeProvider == null) {
+            this.epochTimeProvider = SystemEpochTimeProvider.getInstance();
+        } else {
+            this.epochTimeProvider = epochTimeProvider;
+        }
+
+        if (maxOffsetMilliseconds == null) {
+            this.maxOffsetMilliseconds = -1;
+        } else if (maxOffsetMilliseconds < 0) {
+            throw new IllegalArgumentException("maxOffsetMilliseconds must not be negative");
+        } else {
+            this.maxOffsetMilliseconds = maxOffsetMilliseconds;
+        }
+    }
+
+    /**
+     * Issues a timestamp for a local or send event.
+     * 
+     * @return the timestamp
+     * @throws IllegalStateException if no later timestamp is left
+     */
+    public long now() {
+        long physical = physical();
+        long current;
+        long next;
+        do {
+            current = this.last.get();
+            next = physical > current ? physical : increment(current);
+        } while (!this.last.compareAndSet(current, next));
+
+        return next;
+    }
+
+    /**
+     * Issues a timestamp for the receipt of a remote timestamp, so it is greater
+     * than both the remote timestamp and every timestamp issued before.
+     * 
+     * @param remoteTimestamp the timestamp received
+     * @return the timestamp
+     * @throws IllegalArgumentException if the remote timestamp is negative, or
+     *                                  further ahead of the local clock than the
+     *                                  maximum offset
+     * @throws IllegalStateException    if no later timestamp is left
+     */
+    public long update(long remoteTimestamp) {
+        if (remoteTimestamp < 0) {
+            throw new IllegalArgumentException("remoteTimestamp must not be negative");
+        }
+
+        long physical = physical();
+        if (this.maxOffsetMilliseconds >= 0
+                && physicalTime(remoteTimestamp) - physicalTime(physical) > this.maxOffsetMilliseconds) {
+            throw new IllegalArgumentException("remoteTimestamp is too far ahead of the local clock");
+        }
+
+        long floor = Math.max(physical, increment(remoteTimestamp));
+        long current;
+        long next;
+        do {
+            current = this.last.get();
+            next = floor > current ? floor : increment(current);
+        } while (!this.last.compareAndSet(current, next));
+
+        return next;
+    }
+
+    /**
+     * Gets the last timestamp issued without issuing a new one.
+     * 
+     * @return the last timestamp, or 0 if none has been issued
+     */
+    public long current() {
+        return this.last.get();
+    }
+
+    /**
+     * Gets the physical time of a timestamp.
+     * 
+     * @param timestamp the timestamp
+     * @return the physical time in milliseconds
+     */
+    public static long physicalTime(long timestamp) {
+        return timestamp >>> COUNTER_BITS;
+    }
+
+    /**
+     * Gets the logical counter of a timestamp.
+     * 
+     * @param timestamp the timestamp
+     * @return the logical counter
+     */
+    public static int logicalCounter(long timestamp) {
+        return (int) (timestamp & COUNTER_MASK);
+    }
+
+    /**
+     * Packs a physical time and logical counter into a timestamp.
+     * 
+     * @param physicalTime   the physical time in milliseconds
+     * @param logicalCounter the logical counter, truncated to 16 bits
+     * @return the timestamp
+     * @throws IllegalArgumentException if the physical time is negative or
+     *                                  greater than 2^47 - 1
+     */
+    public static long timestamp(long physicalTime, int logicalCounter) {
+        if (physicalTime < 0 || physicalTime > MAX_PHYSICAL) {
+            throw new IllegalArgumentException("physicalTime is out of range");
+        }
+
+        return (physicalTime << COUNTER_BITS) | (logicalCounter & COUNTER_MASK);
+    }
+
+    private long physical() {
+        long epochTimeMilliseconds = this.epochTimeProvider.epochTimeMilliseconds();
+        if (epochTimeMilliseconds < 0 || epochTimeMilliseconds > MAX_PHYSICAL) {
+            throw new IllegalStateException("epoch time is out of range for the clock");
+        }
+
+        return epochTimeMilliseconds << COUNTER_BITS;
+    }
+
+    private static long increment(long timestamp) {
+        if (timestamp == Long.MAX_VALUE) {
+            throw new IllegalStateException("clock has no later timestamp");
+        }
+
+        return timestamp + 1;
+    }
+}
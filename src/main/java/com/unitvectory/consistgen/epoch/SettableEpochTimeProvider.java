@@ -13,38 +13,116 @@
  */
 package com.unitvectory.consistgen.epoch;
 
+import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.NoArgsConstructor;
-import lombok.Setter;
 
 /**
  * Provides the epoch time from a settable value.
  * 
- * Defaults to a value of 0.
+ * Defaults to a value of 0. The value may be set in any unit, and a value set
+ * by one thread is visible to all others. It is held as milliseconds along with
+ * the nanoseconds within the millisecond, so any value in milliseconds can be
+ * set, while reading it in a finer unit than it fits in throws an
+ * ArithmeticException.
  * 
  * @author Jared Hatfield (UnitVectorY Labs)
  */
-@Setter
 @NoArgsConstructor
-@AllArgsConstructor
 public class SettableEpochTimeProvider implements EpochTimeProvider {
 
     /**
-     * The epoch time in milliseconds.
+     * The epoch time, replaced as a whole so readers never see half of a value.
      */
-    private long epochTimeMilliseconds = 0;
+    private volatile Time time = Time.ZERO;
+
+    /**
+     * Creates a new SettableEpochTimeProvider.
+     * 
+     * @param epochTimeMilliseconds the epoch time in milliseconds
+     */
+    public SettableEpochTimeProvider(long epochTimeMilliseconds) {
+        setEpochTimeMilliseconds(epochTimeMilliseconds);
+    }
 
     @Override
     public long epochTimeMilliseconds() {
-        return this.epochTimeMilliseconds;
+        return this.time.epochTimeMilliseconds;
+    }
+
+    /**
+     * {@inheritDoc}
+     * 
+     * @throws ArithmeticException if the epoch time does not fit in microseconds
+     */
+    @Override
+    public long epochTimeMicroseconds() {
+        Time current = this.time;
+        return EpochTime.toMicroseconds(current.epochTimeMilliseconds, current.nanosecondOfMillisecond);
+    }
+
+    /**
+     * {@inheritDoc}
+     * 
+     * @throws ArithmeticException if the epoch time does not fit in nanoseconds
+     */
+    @Override
+    public long epochTimeNanoseconds() {
+        Time current = this.time;
+        return EpochTime.toNanoseconds(current.epochTimeMilliseconds, current.nanosecondOfMillisecond);
     }
 
     /**
      * Sets the epoch time in seconds.
      * 
      * @param epochTimeSeconds the epoch time in seconds
+     * @throws IllegalArgumentException if the epoch time does not fit in
+     *                                  milliseconds
      */
     public void setEpochTimeSeconds(long epochTimeSeconds) {
-        this.epochTimeMilliseconds = epochTimeSeconds * 1000;
+        this.time = new Time(EpochTime.secondsToMilliseconds(epochTimeSeconds), 0);
+    }
+
+    /**
+     * Sets the epoch time in milliseconds.
+     * 
+     * @param epochTimeMilliseconds the epoch time in milliseconds
+     */
+    public void setEpochTimeMilliseconds(long epochTimeMilliseconds) {
+        this.time = new Time(epochTimeMilliseconds, 0);
+    }
+
+    /**
+     * Sets the epoch time in microseconds.
+     * 
+     * @param epochTimeMicroseconds the epoch time in microseconds
+     */
+    public void setEpochTimeMicroseconds(long epochTimeMicroseconds) {
+        this.time = new Time(Math.floorDiv(epochTimeMicroseconds, 1000L),
+                (int) Math.floorMod(epochTimeMicroseconds, 1000L) * 1000);
+    }
+
+    /**
+     * Sets the epoch time in nanoseconds.
+     * 
+     * @param epochTimeNanoseconds the epoch time in nanoseconds
+     */
+    public void setEpochTimeNanoseconds(long epochTimeNanoseconds) {
+        this.time = new Time(Math.floorDiv(epochTimeNanoseconds, 1_000_000L),
+                (int) Math.floorMod(epochTimeNanoseconds, 1_000_000L));
+    }
+
+    /**
+     * An epoch time in milliseconds along with the nanoseconds within the
+     * millisecond.
+     */
+    @AllArgsConstructor(access = AccessLevel.PRIVATE)
+    private static final class Time {
+
+        private static final Time ZERO = new Time(0, 0);
+
+        private final long epochTimeMilliseconds;
+
+        private final int nanosecondOfMillisecond;
     }
 }
@@ -34,20 +34,51 @@ public class StaticEpochTimeProvider implements EpochTimeProvider {
      */
     private final long epochTimeMilliseconds;
 
+    /**
+     * The nanoseconds within the millisecond, from 0 to 999999.
+     */
+    private final int nanosecondOfMillisecond;
+
     /**
      * Creates a new StaticEpochTimeProvider.
      * 
      * @param epochTimeMilliseconds the epoch time in milliseconds
      * @param epochTimeSeconds      the epoch time in seconds
      */
-    @Builder
     public StaticEpochTimeProvider(Long epochTimeMilliseconds, Long epochTimeSeconds) {
-        if (epochTimeMilliseconds == null && epochTimeSeconds == null) {
-            this.epochTimeMilliseconds = 0;
+        this(epochTimeMilliseconds, epochTimeSeconds, null, null);
+    }
+
+    /**
+     * Creates a new StaticEpochTimeProvider.
+     * 
+     * When more than one value is provided the most precise is used.
+     * 
+     * @param epochTimeMilliseconds the epoch time in milliseconds
+     * @param epochTimeSeconds      the epoch time in seconds
+     * @param epochTimeMicroseconds the epoch time in microseconds
+     * @param epochTimeNanoseconds  the epoch time in nanoseconds
+     * @throws IllegalArgumentException if the epoch time in seconds does not fit
+     *                                  in milliseconds
+     */
+    @Builder
+    public StaticEpochTimeProvider(Long epochTimeMilliseconds, Long epochTimeSeconds, Long epochTimeMicroseconds,
+            Long epochTimeNanoseconds) {
+        if (epochTimeNanoseconds != null) {
+            this.epochTimeMilliseconds = Math.floorDiv(epochTimeNanoseconds, 1_000_000L);
+            this.nanosecondOfMillisecond = (int) Math.floorMod(epochTimeNanoseconds, 1_000_000L);
+        } else if (epochTimeMicroseconds != null) {
+            this.epochTimeMilliseconds = Math.floorDiv(epochTimeMicroseconds, 1000L);
+            this.nanosecondOfMillisecond = (int) Math.floorMod(epochTimeMicroseconds, 1000L) * 1000;
         } else if (epochTimeMilliseconds != null) {
             this.epochTimeMilliseconds = epochTimeMilliseconds;
+            this.nanosecondOfMillisecond = 0;
+        } else if (epochTimeSeconds != null) {
+            this.epochTimeMilliseconds = EpochTime.secondsToMilliseconds(epochTimeSeconds);
+            this.nanosecondOfMillisecond = 0;
         } else {
-            this.epochTimeMilliseconds = epochTimeSeconds * 1000;
+            this.epochTimeMilliseconds = 0;
+            this.nanosecondOfMillisecond = 0;
         }
     }
 
@@ -56,6 +87,26 @@ public class StaticEpochTimeProvider implements EpochTimeProvider {
         return this.epochTimeMilliseconds;
     }
 
+    /**
+     * {@inheritDoc}
+     * 
+     * @throws ArithmeticException if the epoch time does not fit in microseconds
+     */
+    @Override
+    public long epochTimeMicroseconds() {
+        return EpochTime.toMicroseconds(this.epochTimeMilliseconds, this.nanosecondOfMillisecond);
+    }
+
+    /**
+     * {@inheritDoc}
+     * 
+     * @throws ArithmeticException if the epoch time does not fit in nanoseconds
+     */
+    @Override
+    public long epochTimeNanoseconds() {
+        return EpochTime.toNanoseconds(this.epochTimeMilliseconds, this.nanosecondOfMillisecond);
+    }
+
     /**
      * Gets the instance of the StaticEpochTimeProvider.
      * 
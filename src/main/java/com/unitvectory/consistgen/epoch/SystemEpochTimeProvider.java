@@ -13,19 +13,82 @@
  */
 package com.unitvectory.consistgen.epoch;
 
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
 import lombok.AccessLevel;
-import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
 
 /**
  * Provides the epoch time from the system.
  * 
+ * Milliseconds and seconds are read from the system clock. Microseconds and
+ * nanoseconds are read from System.nanoTime offset to the system clock, giving
+ * the resolution of nanoTime at the epoch. The offset is measured again every
+ * second so the high resolution time follows the system clock, including when
+ * the two drift apart.
+ * 
+ * The high resolution time never goes backwards. When the system clock is
+ * ahead of it the new offset is adopted immediately. When the system clock is
+ * behind it, such as after the system clock is moved back, the high resolution
+ * time instead runs 1% slower than nanoTime until it has caught up, so it keeps
+ * advancing and durations measured with it stay within 1% while it does.
+ * 
  * @author Jared Hatfield (UnitVectorY Labs)
  */
-@NoArgsConstructor(access = AccessLevel.PRIVATE)
 public class SystemEpochTimeProvider implements EpochTimeProvider {
 
     private static final SystemEpochTimeProvider INSTANCE = new SystemEpochTimeProvider();
 
+    /**
+     * The interval between measuring the offset of nanoTime to the system clock.
+     */
+    private static final long CALIBRATION_NANOSECONDS = TimeUnit.SECONDS.toNanos(1);
+
+    /**
+     * The high resolution time runs slower by one part in this while catching up
+     * with a system clock that is behind it.
+     */
+    private static final long SLEW_DIVISOR = 100;
+
+    /**
+     * The system clock in nanoseconds since the epoch.
+     */
+    private final LongSupplier wallClock;
+
+    /**
+     * The monotonic clock in nanoseconds.
+     */
+    private final LongSupplier nanoClock;
+
+    /**
+     * The current offset of nanoTime to the system clock.
+     */
+    private volatile Anchor anchor;
+
+    private SystemEpochTimeProvider() {
+        this(() -> {
+            Instant instant = Instant.now();
+            return instant.getEpochSecond() * 1_000_000_000L + instant.getNano();
+        }, System::nanoTime);
+    }
+
+    /**
+     * Creates a new SystemEpochTimeProvider reading from the given clocks.
+     * 
+     * @param wallClock the system clock in nanoseconds since the epoch
+     * @param nanoClock the monotonic clock in nanoseconds
+     */
+    SystemEpochTimeProvider(LongSupplier wallClock, LongSupplier nanoClock) {
+        this.wallClock = wallClock;
+        this.nanoClock = nanoClock;
+
+        long nanoTime = nanoClock.getAsLong();
+        long offset = wallClock.getAsLong() - nanoTime;
+        this.anchor = new Anchor(offset, offset, nanoTime);
+    }
+
     /**
      * Gets the instance of the SystemEpochTimeProvider.
      * 
@@ -39,4 +102,66 @@ public class SystemEpochTimeProvider implements EpochTimeProvider {
     public long epochTimeMilliseconds() {
         return System.currentTimeMillis();
     }
+
+    @Override
+    public long epochTimeMicroseconds() {
+        return Math.floorDiv(epochTimeNanoseconds(), 1000);
+    }
+
+    @Override
+    public long epochTimeNanoseconds() {
+        // The anchor is read before nanoTime so a thread never pairs a later
+        // nanoTime with an anchor it has already seen replaced
+        Anchor current = this.anchor;
+        long nanoTime = this.nanoClock.getAsLong();
+        if (nanoTime - current.measured >= CALIBRATION_NANOSECONDS) {
+            current = recalibrate(current);
+            nanoTime = this.nanoClock.getAsLong();
+        }
+
+        return current.offset(nanoTime) + nanoTime;
+    }
+
+    /**
+     * Measures the offset again, adopting it immediately if it moves the time
+     * forward and otherwise slewing towards it from the current offset.
+     * 
+     * @param expected the anchor that was found to be due for recalibration
+     * @return the current anchor
+     */
+    private synchronized Anchor recalibrate(Anchor expected) {
+        if (this.anchor != expected) {
+            return this.anchor;
+        }
+
+        long nanoTime = this.nanoClock.getAsLong();
+        long target = this.wallClock.getAsLong() - nanoTime;
+        long offset = Math.max(target, expected.offset(nanoTime));
+        Anchor next = new Anchor(offset, target, nanoTime);
+        this.anchor = next;
+        return next;
+    }
+
+    /**
+     * The offset from nanoTime to the epoch time in nanoseconds when it was
+     * measured, and the offset of the system clock it is slewing towards.
+     */
+    @AllArgsConstructor(access = AccessLevel.PRIVATE)
+    private static final class Anchor {
+
+        private final long offset;
+
+        private final long target;
+
+        private final long measured;
+
+        private long offset(long nanoTime) {
+            if (this.offset == this.target) {
+                return this.offset;
+            }
+
+            long slewed = this.offset - Math.max(0, nanoTime - this.measured) / SLEW_DIVISOR;
+            return Math.max(this.target, slewed);
+        }
+    }
 }
@@ -0,0 +1,411 @@
+/*
+ * Copyright 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.unitvectory.consistgen.epoch;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+import lombok.Builder;
+
+/**
+ * Runs timed tasks against a virtual clock held by a SettableEpochTimeProvider.
+ * 
+ * Tasks are scheduled with a delay from the current virtual time and held in a
+ * priority queue ordered by the time they are due and then by the order they
+ * were scheduled. Rather than waiting, running the next task moves the clock
+ * straight to the time it is due, so a simulation runs as fast as the tasks
+ * themselves. The same SettableEpochTimeProvider should be given to the code
+ * under test so it observes the virtual time.
+ * 
+ * Without an executor every task runs on the calling thread one at a time, so
+ * a simulation is fully deterministic. With an executor all of the tasks due
+ * at the same time are submitted to it together, and the scheduler waits for
+ * all of them to finish before the clock moves on, so worker threads never
+ * observe the clock moving under a running task. In both modes tasks may
+ * schedule further tasks, and a task scheduled without a delay runs at the
+ * current time before the clock moves on.
+ * 
+ * By default, a new SettableEpochTimeProvider starting at 0 is used.
+ * 
+ * @author Jared Hatfield (UnitVectorY Labs)
+ */
+public class VirtualTimeScheduler {
+
+    /**
+     * The virtual clock.
+     */
+    private final SettableEpochTimeProvider epochTimeProvider;
+
+    /**
+     * The executor to run tasks on, or null to run them on the calling thread.
+     */
+    private final Executor executor;
+
+    /**
+     * Guards the queue, the sequence and the state of the tasks.
+     */
+    private final Object lock = new Object();
+
+    /**
+     * The tasks waiting to run, including cancelled tasks not yet removed.
+     */
+    private final PriorityQueue<ScheduledTask> queue = new PriorityQueue<>();
+
+    /**
+     * The number of tasks scheduled so far.
+     */
+    private long sequence;
+
+    /**
+     * The number of tasks waiting to run that are not cancelled.
+     */
+    private int pending;
+
+    /**
+     * Creates a new VirtualTimeScheduler.
+     * 
+     * @param epochTimeProvider the virtual clock
+     * @param executor          the executor to run tasks on, or null to run them
+     *                          on the calling thread
+     */
+    @Builder
+    public VirtualTimeScheduler(SettableEpochTimeProvider epochTimeProvider, Executor executor) {
+        if (epochTimeProvider == null) {
+            this.epochTimeProvider = new SettableEpochTimeProvider();
+        } else {
+            this.epochTimeProvider = epochTimeProvider;
+        }
+
+        this.executor = executor;
+    }
+
+    /**
+     * Gets the virtual clock.
+     * 
+     * @return the virtual clock
+     */
+    public SettableEpochTimeProvider getEpochTimeProvider() {
+        return this.epochTimeProvider;
+    }
+
+    /**
+     * Gets the number of tasks waiting to run.
+     * 
+     * @return the number of tasks
+     */
+    public int getPending() {
+        synchronized (this.lock) {
+            return this.pending;
+        }
+    }
+
+    /**
+     * Schedules a task to run after a delay from the current virtual time.
+     * 
+     * @param task  the task
+     * @param delay the delay
+     * @param unit  the unit of the delay
+     * @return the scheduled task, which can be cancelled
+     */
+    public ScheduledTask schedule(Runnable task, long delay, TimeUnit unit) {
+        if (task == null) {
+            throw new IllegalArgumentException("task must not be null");
+        } else if (delay < 0) {
+            throw new IllegalArgumentException("delay must not be negative");
+        }
+
+        synchronized (this.lock) {
+            long time = after(this.epochTimeProvider.epochTimeNanoseconds(), unit.toNanos(delay));
+            ScheduledTask scheduled = new ScheduledTask(task, time, this.sequence++);
+            this.queue.add(scheduled);
+            this.pending++;
+            return scheduled;
+        }
+    }
+
+    /**
+     * Moves the clock to the time the next task is due and runs every task due
+     * at that time.
+     * 
+     * @return the number of tasks run, or 0 if no tasks are waiting
+     */
+    public int runNext() {
+        long time;
+        synchronized (this.lock) {
+            ScheduledTask head = peek();
+            if (head == null) {
+                return 0;
+            }
+
+            time = moveTo(head.time);
+        }
+
+        return runDue(time);
+    }
+
+    /**
+     * Moves the clock forward by a delay, running every task due up to and
+     * including the new time in order.
+     * 
+     * @param delay the delay
+     * @param unit  the unit of the delay
+     * @return the number of tasks run
+     */
+    public int advance(long delay, TimeUnit unit) {
+        if (delay < 0) {
+            throw new IllegalArgumentException("delay must not be negative");
+        }
+
+        long target = after(this.epochTimeProvider.epochTimeNanoseconds(), unit.toNanos(delay));
+        int count = 0;
+        while (true) {
+            long time;
+            synchronized (this.lock) {
+                ScheduledTask head = peek();
+                if (head == null || head.time > target) {
+                    moveTo(target);
+                    return count;
+                }
+
+                time = moveTo(head.time);
+            }
+
+            count += runDue(time);
+        }
+    }
+
+    /**
+     * Runs tasks until none are waiting, moving the clock to each in turn.
+     * 
+     * Tasks that always schedule another task will never finish.
+     * 
+     * @return the number of tasks run
+     */
+    public int runAll() {
+        int count = 0;
+        for (int run = runNext(); run > 0; run = runNext()) {
+            count += run;
+        }
+
+        return count;
+    }
+
+    /**
+     * Adds a delay to a time, saturating at the latest time rather than wrapping
+     * so a very long delay is never due earlier than a short one.
+     * 
+     * @param time  the time in nanoseconds
+     * @param delay the delay in nanoseconds, not negative
+     * @return the time after the delay
+     */
+    private static long after(long time, long delay) {
+        try {
+            return Math.addExact(time, delay);
+        } catch (ArithmeticException e) {
+            return Long.MAX_VALUE;
+        }
+    }
+
+    /**
+     * Gets the next task that is not cancelled, removing cancelled tasks ahead of
+     * it. Must be called while holding the lock.
+     * 
+     * @return the next task, or null if none
+     */
+    private ScheduledTask peek() {
+        ScheduledTask head = this.queue.peek();
+        while (head != null && head.cancelled) {
+            this.queue.poll();
+            head = this.queue.peek();
+        }
+
+        return head;
+    }
+
+    /**
+     * Moves the clock forward to a time, never backwards. Must be called while
+     * holding the lock.
+     * 
+     * @param time the time in nanoseconds
+     * @return the time of the clock
+     */
+    private long moveTo(long time) {
+        if (time > this.epochTimeProvider.epochTimeNanoseconds()) {
+            this.epochTimeProvider.setEpochTimeNanoseconds(time);
+        }
+
+        return this.epochTimeProvider.epochTimeNanoseconds();
+    }
+
+    /**
+     * Runs every task due at or before a time, including tasks they schedule.
+     * 
+     * @param time the time in nanoseconds
+     * @return the number of tasks run
+     */
+    private int runDue(long time) {
+        int count = 0;
+        if (this.executor == null) {
+            for (ScheduledTask task = pollDue(time); task != null; task = pollDue(time)) {
+                task.task.run();
+                count++;
+            }
+
+            return count;
+        }
+
+        List<ScheduledTask> batch = new ArrayList<>();
+        while (true) {
+            synchronized (this.lock) {
+                for (ScheduledTask task = pollDue(time); task != null; task = pollDue(time)) {
+                    batch.add(task);
+                }
+            }
+
+            if (batch.isEmpty()) {
+                return count;
+            }
+
+            runBatch(batch);
+            count += batch.size();
+            batch.clear();
+        }
+    }
+
+    /**
+     * Removes the next task if it is due at or before a time.
+     * 
+     * @param time the time in nanoseconds
+     * @return the task, or null if none is due
+     */
+    private ScheduledTask pollDue(long time) {
+        synchronized (this.lock) {
+            ScheduledTask head = peek();
+            if (head == null || head.time > time) {
+                return null;
+            }
+
+            this.queue.poll();
+            this.pending--;
+            head.started = true;
+            return head;
+        }
+    }
+
+    /**
+     * Runs a batch of tasks on the executor and waits for all of them to finish,
+     * rethrowing the first failure.
+     * 
+     * @param batch the tasks
+     */
+    private void runBatch(List<ScheduledTask> batch) {
+        CountDownLatch latch = new CountDownLatch(batch.size());
+        Throwable[] failures = new Throwable[batch.size()];
+        for (int i = 0; i < batch.size(); i++) {
+            ScheduledTask task = batch.get(i);
+            int index = i;
+            this.executor.execute(() -> {
+                try {
+                    task.task.run();
+                } catch (Throwable t) {
+                    failures[index] = t;
+                } finally {
+                    latch.countDown();
+                }
+            });
+        }
+
+        boolean interrupted = false;
+        while (latch.getCount() > 0) {
+            try {
+                latch.await();
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+
+        // The latch orders the writes of the failures before this read
+        for (Throwable failure : failures) {
+            if (failure instanceof RuntimeException) {
+                throw (RuntimeException) failure;
+            } else if (failure instanceof Error) {
+                throw (Error) failure;
+            } else if (failure != null) {
+                throw new IllegalStateException("task failed", failure);
+            }
+        }
+    }
+
+    /**
+     * A task waiting to run at a virtual time.
+     */
+    public final class ScheduledTask implements Comparable<ScheduledTask> {
+
+        private final Runnable task;
+
+        private final long time;
+
+        private final long sequence;
+
+        private boolean cancelled;
+
+        private boolean started;
+
+        private ScheduledTask(Runnable task, long time, long sequence) {
+            this.task = task;
+            this.time = time;
+            this.sequence = sequence;
+        }
+
+        /**
+         * Gets the virtual time the task is due.
+         * 
+         * @return the epoch time in nanoseconds
+         */
+        public long getEpochTimeNanoseconds() {
+            return this.time;
+        }
+
+        /**
+         * Cancels the task if it has not started.
+         * 
+         * @return true if the task was cancelled
+         */
+        public boolean cancel() {
+            synchronized (lock) {
+                if (this.cancelled || this.started) {
+                    return false;
+                }
+
+                this.cancelled = true;
+                pending--;
+                return true;
+            }
+        }
+
+        @Override
+        public int compareTo(ScheduledTask other) {
+            int compare = Long.compare(this.time, other.time);
+            return compare != 0 ? compare : Long.compare(this.sequence, other.sequence);
+        }
+    }
+}
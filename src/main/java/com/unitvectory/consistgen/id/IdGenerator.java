@@ -0,0 +1,49 @@
+/*
+ * Copyright 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.unitvectory.consistgen.id;
+
+/**
+ * Generates a 64 bit identifier.
+ * 
+ * @author Jared Hatfield (UnitVectorY Labs)
+ */
+public interface IdGenerator {
+
+    /**
+     * Generates an identifier.
+     * 
+     * @return the identifier
+     */
+    long generateId();
+
+    /**
+     * Generates many identifiers.
+     * 
+     * @param dest   the destination
+     * @param offset the offset in the destination
+     * @param count  the number of identifiers to generate
+     */
+    default void generateIds(long[] dest, int offset, int count) {
+        if (count < 0) {
+            throw new IllegalArgumentException("count must not be negative");
+        } else if (offset < 0 || offset > dest.length - count) {
+            throw new IndexOutOfBoundsException(
+                    "range [" + offset + ", " + offset + " + " + count + ") out of bounds for length " + dest.length);
+        }
+
+        for (int i = offset; i < offset + count; i++) {
+            dest[i] = generateId();
+        }
+    }
+}
@@ -0,0 +1,224 @@
+/*
+ * Copyright 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.unitvectory.consistgen.id;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.unitvectory.consistgen.epoch.EpochTimeProvider;
+import com.unitvectory.consistgen.epoch.SystemEpochTimeProvider;
+
+import lombok.Builder;
+
+/**
+ * Generates sortable 64 bit identifiers in the Snowflake layout.
+ * 
+ * From the most significant bit, an identifier is a 0 sign bit, 41 bits of
+ * milliseconds since the epoch, a 10 bit node id and a 12 bit sequence. The
+ * time is read from the EpochTimeProvider and the timestamp and sequence are
+ * reserved together with a single compare-and-set, so identifiers are
+ * generated without a lock and are strictly increasing for a given instance.
+ * 
+ * When more than 4096 identifiers are generated within a millisecond, or the
+ * clock moves backwards, the timestamp is carried forward from the last
+ * identifier generated instead of waiting for the clock, so generation never
+ * blocks and ordering is preserved. If the clock reads a time before the epoch,
+ * or too far after it for 41 bits, an IllegalStateException is thrown.
+ * 
+ * The default epoch is 2020-01-01T00:00:00Z, the default node id is 0 and the
+ * SystemEpochTimeProvider is used by default. When using a
+ * StaticEpochTimeProvider or SettableEpochTimeProvider the epoch will usually
+ * need to be set to 0.
+ * 
+ * @author Jared Hatfield (UnitVectorY Labs)
+ */
+public class SnowflakeIdGenerator implements IdGenerator {
+
+    /**
+     * The default epoch, 2020-01-01T00:00:00Z in milliseconds.
+     */
+    public static final long DEFAULT_EPOCH = 1577836800000L;
+
+    /**
+     * The number of bits used by the sequence.
+     */
+    private static final int SEQUENCE_BITS = 12;
+
+    /**
+     * The number of bits used by the node id.
+     */
+    private static final int NODE_BITS = 10;
+
+    /**
+     * The number of bits used by the timestamp.
+     */
+    private static final int TIMESTAMP_BITS = 41;
+
+    /**
+     * The mask for the sequence.
+     */
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+
+    /**
+     * The maximum node id.
+     */
+    private static final int MAX_NODE_ID = (1 << NODE_BITS) - 1;
+
+    /**
+     * The maximum timestamp.
+     */
+    private static final long MAX_TIMESTAMP = (1L << TIMESTAMP_BITS) - 1;
+
+    /**
+     * The epoch time provider for the timestamp.
+     */
+    private final EpochTimeProvider epochTimeProvider;
+
+    /**
+     * The epoch in milliseconds.
+     */
+    private final long epoch;
+
+    /**
+     * The node id.
+     */
+    private final int nodeId;
+
+    /**
+     * The node id shifted into position.
+     */
+    private final long nodeBits;
+
+    /**
+     * The timestamp and sequence of the last identifier generated.
+     */
+    private final AtomicLong state = new AtomicLong(-1);
+
+    /**
+     * Creates a new SnowflakeIdGenerator.
+     * 
+     * @param epochTimeProvider the epoch time provider to use
+     * @param epoch             the epoch in milliseconds that timestamps are
+     *                          relative to
+     * @param nodeId            the node id, from 0 to 1023
+     */
+    @Builder
+    public SnowflakeIdGenerator(EpochTimeProvider epochTimeProvider, Long epoch, Integer nodeId) {
+        if (epochTimeProvider == null) {
+            this.epochTimeProvider = SystemEpochTimeProvider.getInstance();
+        } else {
+            this.epochTimeProvider = epochTimeProvider;
+        }
+
+        if (epoch == null) {
+            this.epoch = DEFAULT_EPOCH;
+        } else {
+            this.epoch = epoch;
+        }
+
+        if (nodeId == null) {
+            this.nodeId = 0;
+        } else if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+            throw new IllegalArgumentException("nodeId must be between 0 and " + MAX_NODE_ID);
+        } else {
+            this.nodeId = nodeId;
+        }
+
+        this.nodeBits = (long) this.nodeId << SEQUENCE_BITS;
+    }
+
+    @Override
+    public long generateId() {
+        return toId(reserveStates(1));
+    }
+
+    @Override
+    public void generateIds(long[] dest, int offset, int count) {
+        if (count < 0) {
+            throw new IllegalArgumentException("count must not be negative");
+        } else if (offset < 0 || offset > dest.length - count) {
+            throw new IndexOutOfBoundsException(
+                    "range [" + offset + ", " + offset + " + " + count + ") out of bounds for length " + dest.length);
+        } else if (count == 0) {
+            return;
+        }
+
+        long first = reserveStates(count);
+        for (int i = 0; i < count; i++) {
+            dest[offset + i] = toId(first + i);
+        }
+    }
+
+    /**
+     * Gets the epoch time in milliseconds of an identifier.
+     * 
+     * @param id the identifier
+     * @return the epoch time in milliseconds
+     */
+    public long extractEpochTimeMilliseconds(long id) {
+        return (id >>> (NODE_BITS + SEQUENCE_BITS)) + this.epoch;
+    }
+
+    /**
+     * Gets the node id of an identifier.
+     * 
+     * @param id the identifier
+     * @return the node id
+     */
+    public static int extractNodeId(long id) {
+        return (int) (id >>> SEQUENCE_BITS) & MAX_NODE_ID;
+    }
+
+    /**
+     * Gets the sequence of an identifier.
+     * 
+     * @param id the identifier
+     * @return the sequence
+     */
+    public static int extractSequence(long id) {
+        return (int) (id & SEQUENCE_MASK);
+    }
+
+    /**
+     * Reserves a consecutive range of timestamps and sequences with a single
+     * compare-and-set.
+     * 
+     * @param count the number of states to reserve
+     * @return the first state reserved
+     */
+    private long reserveStates(int count) {
+        long timestamp = this.epochTimeProvider.epochTimeMilliseconds() - this.epoch;
+        if (timestamp < 0) {
+            throw new IllegalStateException("clock is before the epoch");
+        } else if (timestamp > MAX_TIMESTAMP) {
+            throw new IllegalStateException("clock is too far after the epoch");
+        }
+
+        long candidate = timestamp << SEQUENCE_BITS;
+        long current;
+        long first;
+        do {
+            current = this.state.get();
+            first = candidate > current ? candidate : current + 1;
+            if (((first + count - 1) >>> SEQUENCE_BITS) > MAX_TIMESTAMP) {
+                throw new IllegalStateException("clock is too far after the epoch");
+            }
+        } while (!this.state.compareAndSet(current, first + count - 1));
+
+        return first;
+    }
+
+    private long toId(long state) {
+        return ((state >>> SEQUENCE_BITS) << (NODE_BITS + SEQUENCE_BITS)) | this.nodeBits | (state & SEQUENCE_MASK);
+    }
+}
@@ -0,0 +1,215 @@
+/*
+ * Copyright 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.unitvectory.consistgen.io;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+
+import com.unitvectory.consistgen.string.StringProvider;
+import com.unitvectory.consistgen.uuid.UuidFormat;
+import com.unitvectory.consistgen.uuid.UuidGenerator;
+
+import lombok.Builder;
+
+/**
+ * Writes many generated values to a channel, each followed by a delimiter.
+ * 
+ * Values are generated as Latin-1 bytes directly into a staging array without
+ * creating a String for each value. Once the array is full it is written to the
+ * channel through a ByteBuffer wrapping it, so values are never copied between
+ * buffers by the writer. This keeps both the allocation and the number of
+ * writes to the channel low when generating large files through a FileChannel.
+ * 
+ * By default, a 1 MiB buffer is used and every value is followed by a newline.
+ * 
+ * A ChannelWriter owns its buffer so it must not be used by multiple threads at
+ * the same time. The channel is expected to be blocking and is not closed.
+ * 
+ * @author Jared Hatfield (UnitVectorY Labs)
+ */
+public class ChannelWriter {
+
+    /**
+     * The default size of the buffer in bytes.
+     */
+    private static final int DEFAULT_BUFFER_SIZE = 1 << 20;
+
+    /**
+     * The default delimiter.
+     */
+    private static final String DEFAULT_DELIMITER = "\n";
+
+    /**
+     * The number of UUIDs generated at a time.
+     */
+    private static final int UUID_CHUNK = 256;
+
+    /**
+     * The array values are generated into.
+     */
+    private final byte[] staging;
+
+    /**
+     * The buffer wrapping the staging array written to the channel.
+     */
+    private final ByteBuffer buffer;
+
+    /**
+     * The number of bytes in the staging array.
+     */
+    private int position;
+
+    /**
+     * The delimiter as Latin-1 bytes.
+     */
+    private final byte[] delimiter;
+
+    /**
+     * The bits of UUIDs generated at a time.
+     */
+    private final long[] uuids = new long[UUID_CHUNK * 2];
+
+    /**
+     * Creates a new ChannelWriter.
+     * 
+     * @param bufferSize the size of the buffer in bytes
+     * @param delimiter  the delimiter written after every value
+     */
+    @Builder
+    public ChannelWriter(Integer bufferSize, String delimiter) {
+        int size;
+        if (bufferSize == null) {
+            size = DEFAULT_BUFFER_SIZE;
+        } else if (bufferSize <= 0) {
+            throw new IllegalArgumentException("bufferSize must be greater than 0");
+        } else {
+            size = bufferSize;
+        }
+
+        this.staging = new byte[size];
+        this.buffer = ByteBuffer.wrap(this.staging);
+
+        if (delimiter == null) {
+            this.delimiter = DEFAULT_DELIMITER.getBytes(StandardCharsets.ISO_8859_1);
+        } else if (!StandardCharsets.ISO_8859_1.newEncoder().canEncode(delimiter)) {
+            throw new IllegalArgumentException("delimiter must only contain Latin-1 characters");
+        } else {
+            this.delimiter = delimiter.getBytes(StandardCharsets.ISO_8859_1);
+        }
+    }
+
+    /**
+     * Writes generated strings to a channel.
+     * 
+     * @param provider the provider to generate the strings
+     * @param length   the length of every string
+     * @param count    the number of strings
+     * @param channel  the channel to write to
+     * @return the number of bytes written
+     * @throws IOException if writing to the channel fails
+     */
+    public long writeStrings(StringProvider provider, int length, long count, WritableByteChannel channel)
+            throws IOException {
+        if (length <= 0) {
+            throw new IllegalArgumentException("length must be greater than 0");
+        }
+
+        checkRecord(length, count);
+        for (long i = 0; i < count; i++) {
+            reserve(length + this.delimiter.length, channel);
+            provider.generate(this.staging, this.position, length);
+            this.position += length;
+            delimit();
+        }
+
+        flush(channel);
+        return count * (length + this.delimiter.length);
+    }
+
+    /**
+     * Writes generated UUIDs in their canonical form to a channel.
+     * 
+     * @param generator the generator to generate the UUIDs
+     * @param count     the number of UUIDs
+     * @param channel   the channel to write to
+     * @return the number of bytes written
+     * @throws IOException if writing to the channel fails
+     */
+    public long writeUuids(UuidGenerator generator, long count, WritableByteChannel channel) throws IOException {
+        checkRecord(UuidFormat.STRING_LENGTH, count);
+        for (long done = 0; done < count;) {
+            int chunk = (int) Math.min(UUID_CHUNK, count - done);
+            generator.generateUuids(this.uuids, 0, chunk);
+            for (int i = 0; i < chunk; i++) {
+                reserve(UuidFormat.STRING_LENGTH + this.delimiter.length, channel);
+                UuidFormat.writeAscii(this.uuids[i * 2], this.uuids[i * 2 + 1], this.staging, this.position);
+                this.position += UuidFormat.STRING_LENGTH;
+                delimit();
+            }
+
+            done += chunk;
+        }
+
+        flush(channel);
+        return count * (UuidFormat.STRING_LENGTH + this.delimiter.length);
+    }
+
+    private void checkRecord(int length, long count) {
+        if (count < 0) {
+            throw new IllegalArgumentException("count must not be negative");
+        } else if (length > this.staging.length - this.delimiter.length) {
+            throw new IllegalArgumentException("bufferSize must fit a value and its delimiter");
+        }
+
+        // Discard anything left over from a previous write that failed
+        this.position = 0;
+    }
+
+    private void delimit() {
+        for (byte b : this.delimiter) {
+            this.staging[this.position++] = b;
+        }
+    }
+
+    /**
+     * Makes room for a value and its delimiter, writing to the channel if the
+     * staging array is too full.
+     * 
+     * @param bytes   the number of bytes needed
+     * @param channel the channel to write to
+     * @throws IOException if writing to the channel fails
+     */
+    private void reserve(int bytes, WritableByteChannel channel) throws IOException {
+        if (this.staging.length - this.position < bytes) {
+            flush(channel);
+        }
+    }
+
+    /**
+     * Writes the filled part of the staging array to the channel.
+     * 
+     * @param channel the channel to write to
+     * @throws IOException if writing to the channel fails
+     */
+    private void flush(WritableByteChannel channel) throws IOException {
+        this.buffer.clear();
+        this.buffer.limit(this.position);
+        this.position = 0;
+        while (this.buffer.hasRemaining()) {
+            channel.write(this.buffer);
+        }
+    }
+}
@@ -0,0 +1,240 @@
+/*
+ * Copyright 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.unitvectory.consistgen.random;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.Random;
+
+import lombok.Builder;
+
+/**
+ * Provides cryptographically strong random numbers that scale with the number
+ * of threads.
+ * 
+ * A single SecureRandom is synchronized, so sharing one between many threads
+ * serializes every call. Instead, every thread is given its own SecureRandom
+ * along with a block of random bytes that is refilled in a single call once it
+ * has been consumed. Random values are then read from the block without any
+ * locking.
+ * 
+ * By default, every thread uses a "DRBG" SecureRandom, falling back to the
+ * default SecureRandom if it is not available, and a block of 512 bytes.
+ * 
+ * Seeding is not supported as every thread is seeded by its own SecureRandom;
+ * calls to setSeed are ignored.
+ * 
+ * @see SecureRandom
+ * 
+ * @author Jared Hatfield (UnitVectorY Labs)
+ */
+public class BufferedSecureRandom extends Random {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * The default instance of the BufferedSecureRandom.
+     */
+    private static final BufferedSecureRandom INSTANCE = BufferedSecureRandom.builder().build();
+
+    /**
+     * The default SecureRandom algorithm.
+     */
+    private static final String DEFAULT_ALGORITHM = "DRBG";
+
+    /**
+     * The default block size in bytes.
+     */
+    private static final int DEFAULT_BLOCK_SIZE = 512;
+
+    /**
+     * View for reading longs from a block.
+     */
+    private static final VarHandle LONGS = MethodHandles.byteArrayViewVarHandle(long[].class,
+            ByteOrder.LITTLE_ENDIAN);
+
+    /**
+     * View for reading ints from a block.
+     */
+    private static final VarHandle INTS = MethodHandles.byteArrayViewVarHandle(int[].class, ByteOrder.LITTLE_ENDIAN);
+
+    /**
+     * The SecureRandom algorithm used by every thread.
+     */
+    private final String algorithm;
+
+    /**
+     * The number of bytes drawn from the SecureRandom at a time.
+     */
+    private final int blockSize;
+
+    /**
+     * The block of every thread.
+     */
+    private final transient ThreadLocal<Block> blocks;
+
+    /**
+     * Creates a new BufferedSecureRandom.
+     * 
+     * @param algorithm the SecureRandom algorithm used by every thread
+     * @param blockSize the number of bytes drawn from the SecureRandom at a time
+     * @throws IllegalArgumentException if the algorithm is not available
+     */
+    @Builder
+    public BufferedSecureRandom(String algorithm, Integer blockSize) {
+        if (algorithm == null) {
+            this.algorithm = DEFAULT_ALGORITHM;
+        } else {
+            this.algorithm = algorithm;
+        }
+
+        if (blockSize == null) {
+            this.blockSize = DEFAULT_BLOCK_SIZE;
+        } else if (blockSize < Long.BYTES) {
+            throw new IllegalArgumentException("blockSize must be at least 8");
+        } else {
+            this.blockSize = blockSize;
+        }
+
+        // Fail here rather than on each thread's first use if the algorithm is missing
+        newSecureRandom();
+
+        this.blocks = ThreadLocal.withInitial(() -> new Block(newSecureRandom(), this.blockSize));
+    }
+
+    /**
+     * Gets the instance of the BufferedSecureRandom.
+     * 
+     * @return the default instance of the BufferedSecureRandom
+     */
+    public static BufferedSecureRandom getInstance() {
+        return INSTANCE;
+    }
+
+    @Override
+    public void setSeed(long seed) {
+        // Seeding is not supported, every thread is seeded by its own SecureRandom
+    }
+
+    @Override
+    protected int next(int bits) {
+        return this.blocks.get().nextInt() >>> (32 - bits);
+    }
+
+    @Override
+    public int nextInt() {
+        return this.blocks.get().nextInt();
+    }
+
+    @Override
+    public long nextLong() {
+        return this.blocks.get().nextLong();
+    }
+
+    @Override
+    public void nextBytes(byte[] bytes) {
+        this.blocks.get().nextBytes(bytes);
+    }
+
+    private SecureRandom newSecureRandom() {
+        try {
+            return SecureRandom.getInstance(this.algorithm);
+        } catch (NoSuchAlgorithmException e) {
+            if (this.algorithm.equals(DEFAULT_ALGORITHM)) {
+                return new SecureRandom();
+            }
+
+            throw new IllegalArgumentException("algorithm is not available: " + this.algorithm, e);
+        }
+    }
+
+    private Object readResolve() {
+        return new BufferedSecureRandom(this.algorithm, this.blockSize);
+    }
+
+    /**
+     * The random bytes of a single thread.
+     */
+    private static final class Block {
+
+        /**
+         * The SecureRandom used to refill the block.
+         */
+        private final SecureRandom secureRandom;
+
+        /**
+         * The random bytes.
+         */
+        private final byte[] bytes;
+
+        /**
+         * The position of the next unused byte.
+         */
+        private int position;
+
+        private Block(SecureRandom secureRandom, int blockSize) {
+            this.secureRandom = secureRandom;
+            this.bytes = new byte[blockSize];
+            this.position = blockSize;
+        }
+
+        private int nextInt() {
+            if (this.position > this.bytes.length - Integer.BYTES) {
+                refill();
+            }
+
+            int value = (int) INTS.get(this.bytes, this.position);
+            this.position += Integer.BYTES;
+            return value;
+        }
+
+        private long nextLong() {
+            if (this.position > this.bytes.length - Long.BYTES) {
+                refill();
+            }
+
+            long value = (long) LONGS.get(this.bytes, this.position);
+            this.position += Long.BYTES;
+            return value;
+        }
+
+        private void nextBytes(byte[] dest) {
+            if (dest.length >= this.bytes.length) {
+                // Large requests are drawn directly rather than through the block
+                this.secureRandom.nextBytes(dest);
+                return;
+            }
+
+            int copied = 0;
+            while (copied < dest.length) {
+                if (this.position == this.bytes.length) {
+                    refill();
+                }
+
+                int n = Math.min(dest.length - copied, this.bytes.length - this.position);
+                System.arraycopy(this.bytes, this.position, dest, copied, n);
+                this.position += n;
+                copied += n;
+            }
+        }
+
+        private void refill() {
+            this.secureRandom.nextBytes(this.bytes);
+            this.position = 0;
+        }
+    }
+}
@@ -0,0 +1,170 @@
+/*
+ * Copyright 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.unitvectory.consistgen.string;
+
+import java.util.Random;
+
+/**
+ * Samples indexes in proportion to their weights in constant time using
+ * Walker's alias method, built with Vose's algorithm.
+ * 
+ * Every index owns one column holding a threshold and an alias. A sample picks
+ * a column uniformly and keeps it if a second uniform value is below the
+ * threshold, otherwise it takes the alias. Both are taken from one random
+ * long: the high 32 bits pick the column and the low 32 bits are compared to
+ * the threshold, so probabilities are resolved to 2^-32.
+ * 
+ * @author Jared Hatfield (UnitVectorY Labs)
+ */
+final class AliasTable {
+
+    /**
+     * The threshold for keeping each column, scaled to 2^32.
+     */
+    private final long[] thresholds;
+
+    /**
+     * The alias of each column.
+     */
+    private final int[] aliases;
+
+    /**
+     * Creates a new AliasTable.
+     * 
+     * @param weights the weight of every index
+     */
+    AliasTable(double[] weights) {
+        this.thresholds = new long[weights.length];
+        this.aliases = new int[weights.length];
+        build(weights, this.thresholds, this.aliases, 0);
+    }
+
+    /**
+     * Gets the number of indexes.
+     * 
+     * @return the number of indexes
+     */
+    int size() {
+        return this.aliases.length;
+    }
+
+    /**
+     * Samples an index.
+     * 
+     * @param bits 64 uniformly random bits
+     * @return the index
+     */
+    int sample(long bits) {
+        return sample(bits, this.thresholds, this.aliases, 0, this.aliases.length);
+    }
+
+    /**
+     * Samples an index.
+     * 
+     * @param random the random number generator
+     * @return the index
+     */
+    int sample(Random random) {
+        return sample(random.nextLong());
+    }
+
+    /**
+     * Builds the columns of a table into shared arrays, so many tables can be
+     * packed one after another into the same primitive arrays.
+     * 
+     * @param weights    the weight of every index
+     * @param thresholds the thresholds of every table
+     * @param aliases    the aliases of every table, relative to the table
+     * @param offset     the offset of this table in the arrays
+     */
+    static void build(double[] weights, long[] thresholds, int[] aliases, int offset) {
+        int size = weights.length;
+        if (size == 0) {
+            throw new IllegalArgumentException("weights must not be empty");
+        }
+
+        double total = 0;
+        for (double weight : weights) {
+            if (!(weight >= 0) || Double.isInfinite(weight)) {
+                throw new IllegalArgumentException("weights must not be negative");
+            }
+
+            total += weight;
+        }
+
+        if (total <= 0 || Double.isInfinite(total)) {
+            throw new IllegalArgumentException("weights must not all be zero");
+        }
+
+        double[] scaled = new double[size];
+        int[] small = new int[size];
+        int[] large = new int[size];
+        int smallCount = 0;
+        int largeCount = 0;
+        for (int i = 0; i < size; i++) {
+            scaled[i] = weights[i] * size / total;
+            if (scaled[i] < 1) {
+                small[smallCount++] = i;
+            } else {
+                large[largeCount++] = i;
+            }
+        }
+
+        while (smallCount > 0 && largeCount > 0) {
+            int less = small[--smallCount];
+            int more = large[--largeCount];
+            thresholds[offset + less] = threshold(scaled[less]);
+            aliases[offset + less] = more;
+
+            scaled[more] = (scaled[more] + scaled[less]) - 1;
+            if (scaled[more] < 1) {
+                small[smallCount++] = more;
+            } else {
+                large[largeCount++] = more;
+            }
+        }
+
+        // Whatever is left is 1 apart from rounding so always keeps its column
+        while (largeCount > 0) {
+            int index = large[--largeCount];
+            thresholds[offset + index] = 1L << 32;
+            aliases[offset + index] = index;
+        }
+
+        while (smallCount > 0) {
+            int index = small[--smallCount];
+            thresholds[offset + index] = 1L << 32;
+            aliases[offset + index] = index;
+        }
+    }
+
+    /**
+     * Samples an index from a table packed into shared arrays.
+     * 
+     * @param bits       64 uniformly random bits
+     * @param thresholds the thresholds of every table
+     * @param aliases    the aliases of every table, relative to the table
+     * @param offset     the offset of the table in the arrays
+     * @param size       the number of indexes in the table
+     * @return the index, relative to the table
+     */
+    static int sample(long bits, long[] thresholds, int[] aliases, int offset, int size) {
+        int column = (int) (((bits >>> 32) * size) >>> 32);
+        return (bits & 0xFFFFFFFFL) < thresholds[offset + column] ? column : aliases[offset + column];
+    }
+
+    private static long threshold(double probability) {
+        return Math.min(1L << 32, (long) (probability * (1L << 32)));
+    }
+}
@@ -0,0 +1,345 @@
+/*
+ * Copyright 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.unitvectory.consistgen.string;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * The characters a string is generated from.
+ * 
+ * When every character is Latin-1 the alphabet is also kept as bytes so
+ * strings can be built as a compact byte array and written directly into byte
+ * destinations.
+ * 
+ * Each alphabet also caches what the static and settable providers repeat from
+ * it, so replacing the alphabet discards the cache.
+ * 
+ * @author Jared Hatfield (UnitVectorY Labs)
+ */
+final class Alphabet {
+
+    /**
+     * The default alphabet.
+     */
+    static final Alphabet DEFAULT = new Alphabet(RandomStringProvider.ALPHABET);
+
+    /**
+     * The number of bytes staged at a time when writing to a direct ByteBuffer.
+     */
+    static final int CHUNK = 256;
+
+    /**
+     * The longest repeated string that is cached.
+     */
+    static final int CACHED_LENGTH = 256;
+
+    /**
+     * Per thread scratch space used to stage bytes for a direct ByteBuffer.
+     */
+    private static final ThreadLocal<byte[]> SCRATCH = ThreadLocal.withInitial(() -> new byte[CHUNK]);
+
+    /**
+     * Per thread scratch space used to stage the indexes of chosen characters.
+     */
+    private static final ThreadLocal<int[]> INDEXES = ThreadLocal.withInitial(() -> new int[CHUNK]);
+
+    /**
+     * The characters as a string.
+     */
+    private final String characters;
+
+    /**
+     * The characters.
+     */
+    private final char[] chars;
+
+    /**
+     * The characters as Latin-1 bytes, null if any character is not Latin-1.
+     */
+    private final byte[] latin1;
+
+    /**
+     * Repeated strings created so far indexed by length, created on first use.
+     */
+    private volatile String[] repeats;
+
+    /**
+     * The Latin-1 bytes repeated for writing to a direct ByteBuffer, created on
+     * first use.
+     */
+    private volatile byte[] pattern;
+
+    private Alphabet(String characters) {
+        this.characters = characters;
+        this.chars = characters.toCharArray();
+
+        byte[] bytes = new byte[this.chars.length];
+        for (int i = 0; i < this.chars.length; i++) {
+            if (this.chars[i] > 0xFF) {
+                bytes = null;
+                break;
+            }
+
+            bytes[i] = (byte) this.chars[i];
+        }
+
+        this.latin1 = bytes;
+    }
+
+    /**
+     * Creates an alphabet, using the default alphabet if null.
+     * 
+     * @param characters the characters
+     * @return the alphabet
+     */
+    static Alphabet of(String characters) {
+        if (characters == null) {
+            return DEFAULT;
+        } else if (characters.isEmpty()) {
+            throw new IllegalArgumentException("alphabet must not be empty");
+        } else if (characters.equals(RandomStringProvider.ALPHABET)) {
+            return DEFAULT;
+        }
+
+        return new Alphabet(characters);
+    }
+
+    /**
+     * Gets the number of characters.
+     * 
+     * @return the number of characters
+     */
+    int size() {
+        return this.chars.length;
+    }
+
+    /**
+     * Gets the characters.
+     * 
+     * @return the characters, which must not be modified
+     */
+    char[] chars() {
+        return this.chars;
+    }
+
+    /**
+     * Checks if every character is Latin-1.
+     * 
+     * @return true if every character is Latin-1
+     */
+    boolean isLatin1() {
+        return this.latin1 != null;
+    }
+
+    /**
+     * Gets the characters as Latin-1 bytes.
+     * 
+     * @return the characters, which must not be modified
+     * @throws IllegalStateException if any character is not Latin-1
+     */
+    byte[] latin1() {
+        if (this.latin1 == null) {
+            throw new IllegalStateException("alphabet must only contain Latin-1 characters");
+        }
+
+        return this.latin1;
+    }
+
+    /**
+     * Creates a string that repeats the alphabet from its first character.
+     * 
+     * Strings up to CACHED_LENGTH characters are kept once created and returned
+     * again for the same length.
+     * 
+     * @param length the length of the string
+     * @return the string
+     */
+    String repeat(int length) {
+        if (length > CACHED_LENGTH) {
+            return createRepeat(length);
+        }
+
+        String[] cache = this.repeats;
+        if (cache == null) {
+            cache = new String[CACHED_LENGTH + 1];
+            this.repeats = cache;
+        }
+
+        // Strings are immutable so a racing thread at worst creates an equal copy
+        String value = cache[length];
+        if (value == null) {
+            value = createRepeat(length);
+            cache[length] = value;
+        }
+
+        return value;
+    }
+
+    private String createRepeat(int length) {
+        if (this.latin1 != null) {
+            byte[] bytes = new byte[length];
+            repeat(bytes, 0, length);
+            return new String(bytes, StandardCharsets.ISO_8859_1);
+        }
+
+        char[] value = new char[length];
+        repeat(value, 0, length);
+        return new String(value);
+    }
+
+    /**
+     * Writes the alphabet repeated from its first character into a char array.
+     * 
+     * @param dest   the destination
+     * @param offset the offset in the destination
+     * @param length the number of characters
+     */
+    void repeat(char[] dest, int offset, int length) {
+        int done = Math.min(this.chars.length, length);
+        System.arraycopy(this.chars, 0, dest, offset, done);
+
+        // Each copy doubles the repeated prefix already written
+        while (done < length) {
+            int count = Math.min(done - done % this.chars.length, length - done);
+            System.arraycopy(dest, offset, dest, offset + done, count);
+            done += count;
+        }
+    }
+
+    /**
+     * Writes the alphabet repeated from its first character into a byte array as
+     * Latin-1.
+     * 
+     * @param dest   the destination
+     * @param offset the offset in the destination
+     * @param length the number of characters
+     */
+    void repeat(byte[] dest, int offset, int length) {
+        byte[] bytes = latin1();
+        int done = Math.min(bytes.length, length);
+        System.arraycopy(bytes, 0, dest, offset, done);
+
+        // Each copy doubles the repeated prefix already written
+        while (done < length) {
+            int count = Math.min(done - done % bytes.length, length - done);
+            System.arraycopy(dest, offset, dest, offset + done, count);
+            done += count;
+        }
+    }
+
+    /**
+     * Writes the alphabet repeated from its first character into a ByteBuffer as
+     * Latin-1, advancing its position.
+     * 
+     * @param dest   the destination
+     * @param length the number of characters
+     */
+    void repeat(ByteBuffer dest, int length) {
+        latin1();
+        if (dest.hasArray()) {
+            repeat(dest.array(), dest.arrayOffset() + dest.position(), length);
+            dest.position(dest.position() + length);
+            return;
+        }
+
+        byte[] pattern = pattern();
+        for (int done = 0; done < length; done += pattern.length) {
+            dest.put(pattern, 0, Math.min(pattern.length, length - done));
+        }
+    }
+
+    /**
+     * Gets the Latin-1 bytes repeated to a whole number of alphabets of at least
+     * CHUNK bytes, creating it on first use.
+     * 
+     * @return the pattern, which must not be modified
+     */
+    private byte[] pattern() {
+        byte[] pattern = this.pattern;
+        if (pattern == null) {
+            int size = this.latin1.length;
+            pattern = new byte[(CHUNK + size - 1) / size * size];
+            repeat(pattern, 0, pattern.length);
+            this.pattern = pattern;
+        }
+
+        return pattern;
+    }
+
+    @Override
+    public String toString() {
+        return this.characters;
+    }
+
+    /**
+     * Gets the scratch space for the current thread.
+     * 
+     * @return CHUNK bytes
+     */
+    static byte[] scratch() {
+        return SCRATCH.get();
+    }
+
+    /**
+     * Gets the scratch space for character indexes for the current thread.
+     * 
+     * @return CHUNK indexes
+     */
+    static int[] indexes() {
+        return INDEXES.get();
+    }
+
+    /**
+     * Checks the length of a string to generate.
+     * 
+     * @param length the length
+     */
+    static void checkLength(int length) {
+        if (length <= 0) {
+            throw new IllegalArgumentException("length must be greater than 0");
+        }
+    }
+
+    /**
+     * Checks the length of a string to generate and that it fits in the
+     * destination.
+     * 
+     * @param capacity the length of the destination
+     * @param offset   the offset in the destination
+     * @param length   the length
+     */
+    static void checkRange(int capacity, int offset, int length) {
+        checkLength(length);
+        if (offset < 0 || offset > capacity - length) {
+            throw new IndexOutOfBoundsException(
+                    "range [" + offset + ", " + offset + " + " + length + ") out of bounds for length " + capacity);
+        }
+    }
+
+    /**
+     * Checks the length of a string to generate and that it fits in the remaining
+     * space of the buffer.
+     * 
+     * @param dest   the destination
+     * @param length the length
+     */
+    static void checkRange(ByteBuffer dest, int length) {
+        checkLength(length);
+        if (dest.remaining() < length) {
+            throw new BufferOverflowException();
+        }
+    }
+}
@@ -0,0 +1,294 @@
+/*
+ * Copyright 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.unitvectory.consistgen.string;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+import com.unitvectory.consistgen.random.BufferedSecureRandom;
+
+import lombok.Builder;
+
+/**
+ * Provides a string with a controlled compressibility, between the
+ * incompressible output of the RandomStringProvider and the fully repetitive
+ * output of the StaticStringProvider.
+ * 
+ * The string is made of runs of characters. Each run is either random,
+ * generated fresh from the alphabet, or repeated, copied in bulk from a
+ * dictionary that is generated once when the provider is created. The random
+ * ratio is the fraction of runs that are random, so a ratio of 0 compresses to
+ * little more than the dictionary and a ratio of 1 is as incompressible as the
+ * RandomStringProvider. The ratio can instead be derived from a target entropy
+ * in bits per character, the most being log2 of the size of the alphabet.
+ * 
+ * By default, the default alphabet and the BufferedSecureRandom are used, half
+ * of the runs are random, runs are 32 characters and the dictionary is 4096
+ * characters. A dictionary within the window of the compressor, such as the
+ * 32 KiB of deflate, is what allows repeated runs to be compressed.
+ * 
+ * Generating fresh random runs is limited by the random number generator. With
+ * a random pool, random runs are instead copied in bulk from random offsets of
+ * a pool generated once, which is much faster. The pool should be far larger
+ * than the window of the compressor being measured, otherwise random runs
+ * become compressible as well.
+ * 
+ * @author Jared Hatfield (UnitVectorY Labs)
+ */
+public class CompressibleStringProvider implements StringProvider {
+
+    /**
+     * The default fraction of runs that are random.
+     */
+    private static final double DEFAULT_RANDOM_RATIO = 0.5;
+
+    /**
+     * The default number of characters in a run.
+     */
+    private static final int DEFAULT_RUN_LENGTH = 32;
+
+    /**
+     * The default number of characters in the dictionary.
+     */
+    private static final int DEFAULT_DICTIONARY_SIZE = 4096;
+
+    /**
+     * The alphabet.
+     */
+    private final Alphabet alphabet;
+
+    /**
+     * The random number generator choosing runs.
+     */
+    private final Random random;
+
+    /**
+     * The provider of random runs.
+     */
+    private final RandomStringProvider randomRuns;
+
+    /**
+     * The pool random runs are copied from, or null to generate them fresh.
+     */
+    private final char[] pool;
+
+    /**
+     * The pool as Latin-1 bytes, or null if it is not used or not Latin-1.
+     */
+    private final byte[] latin1Pool;
+
+    /**
+     * The dictionary repeated runs are copied from.
+     */
+    private final char[] dictionary;
+
+    /**
+     * The dictionary as Latin-1 bytes, or null if it is not Latin-1.
+     */
+    private final byte[] latin1Dictionary;
+
+    /**
+     * Runs are random when 32 random bits are below this threshold.
+     */
+    private final long threshold;
+
+    /**
+     * The fraction of runs that are random.
+     */
+    private final double randomRatio;
+
+    /**
+     * The number of characters in a run.
+     */
+    private final int runLength;
+
+    /**
+     * Creates a new CompressibleStringProvider.
+     * 
+     * @param alphabet       the alphabet to use for generating the string
+     * @param random         the random number generator to use
+     * @param randomRatio    the fraction of runs that are random, exclusive with
+     *                       entropy
+     * @param entropy        the target entropy in bits per character, exclusive
+     *                       with randomRatio
+     * @param runLength      the number of characters in a run
+     * @param dictionarySize the number of characters in the dictionary
+     * @param randomPoolSize the number of characters in the pool random runs are
+     *                       copied from, or null to generate them fresh
+     */
+    @Builder
+    public CompressibleStringProvider(String alphabet, Random random, Double randomRatio, Double entropy,
+            Integer runLength, Integer dictionarySize, Integer randomPoolSize) {
+        this.alphabet = Alphabet.of(alphabet);
+
+        if (random == null) {
+            this.random = BufferedSecureRandom.getInstance();
+        } else {
+            this.random = random;
+        }
+
+        double maxEntropy = Math.log(this.alphabet.size()) / Math.log(2);
+        if (randomRatio != null && entropy != null) {
+            throw new IllegalArgumentException("only one of randomRatio and entropy may be set");
+        } else if (entropy != null) {
+            if (!(entropy >= 0 && entropy <= maxEntropy)) {
+                throw new IllegalArgumentException("entropy must be between 0 and " + maxEntropy);
+            }
+
+            this.randomRatio = maxEntropy == 0 ? 0 : entropy / maxEntropy;
+        } else if (randomRatio == null) {
+            this.randomRatio = DEFAULT_RANDOM_RATIO;
+        } else if (!(randomRatio >= 0 && randomRatio <= 1)) {
+            throw new IllegalArgumentException("randomRatio must be between 0 and 1");
+        } else {
+            this.randomRatio = randomRatio;
+        }
+
+        this.threshold = (long) Math.ceil(this.randomRatio * (1L << 32));
+
+        if (runLength == null) {
+            this.runLength = DEFAULT_RUN_LENGTH;
+        } else if (runLength <= 0) {
+            throw new IllegalArgumentException("runLength must be greater than 0");
+        } else {
+            this.runLength = runLength;
+        }
+
+        int size = dictionarySize == null ? DEFAULT_DICTIONARY_SIZE : dictionarySize;
+        if (size < this.runLength) {
+            throw new IllegalArgumentException("dictionarySize must be at least the runLength");
+        }
+
+        this.randomRuns = RandomStringProvider.builder().alphabet(this.alphabet.toString()).random(this.random)
+                .build();
+        String words = this.randomRuns.generate(size);
+        this.dictionary = words.toCharArray();
+        this.latin1Dictionary = latin1(words);
+
+        if (randomPoolSize == null) {
+            this.pool = null;
+            this.latin1Pool = null;
+        } else if (randomPoolSize < this.runLength) {
+            throw new IllegalArgumentException("randomPoolSize must be at least the runLength");
+        } else {
+            String pooled = this.randomRuns.generate(randomPoolSize);
+            this.pool = pooled.toCharArray();
+            this.latin1Pool = latin1(pooled);
+        }
+    }
+
+    /**
+     * Gets the fraction of runs that are random.
+     * 
+     * @return the fraction of runs that are random
+     */
+    public double getRandomRatio() {
+        return this.randomRatio;
+    }
+
+    /**
+     * Gets the expected entropy of the random runs in bits per character,
+     * ignoring the small amount needed to choose each repeated run.
+     * 
+     * @return the entropy in bits per character
+     */
+    public double getEntropy() {
+        return this.randomRatio * Math.log(this.alphabet.size()) / Math.log(2);
+    }
+
+    @Override
+    public String generate(int length) {
+        Alphabet.checkLength(length);
+        if (this.alphabet.isLatin1()) {
+            byte[] bytes = new byte[length];
+            fill(bytes, 0, length);
+            return new String(bytes, StandardCharsets.ISO_8859_1);
+        }
+
+        char[] chars = new char[length];
+        fill(chars, 0, length);
+        return new String(chars);
+    }
+
+    @Override
+    public void generate(char[] dest, int offset, int length) {
+        Alphabet.checkRange(dest.length, offset, length);
+        fill(dest, offset, length);
+    }
+
+    @Override
+    public void generate(byte[] dest, int offset, int length) {
+        Alphabet.checkRange(dest.length, offset, length);
+        this.alphabet.latin1();
+        fill(dest, offset, length);
+    }
+
+    private void fill(char[] dest, int offset, int length) {
+        char[] words = this.dictionary;
+        char[] pooled = this.pool;
+        for (int done = 0; done < length;) {
+            int count = Math.min(this.runLength, length - done);
+            long bits = this.random.nextLong();
+            if ((bits >>> 32) >= this.threshold) {
+                System.arraycopy(words, start(bits, words.length, count), dest, offset + done, count);
+            } else if (pooled == null) {
+                this.randomRuns.generate(dest, offset + done, count);
+            } else {
+                System.arraycopy(pooled, start(bits, pooled.length, count), dest, offset + done, count);
+            }
+
+            done += count;
+        }
+    }
+
+    private void fill(byte[] dest, int offset, int length) {
+        byte[] words = this.latin1Dictionary;
+        byte[] pooled = this.latin1Pool;
+        for (int done = 0; done < length;) {
+            int count = Math.min(this.runLength, length - done);
+            long bits = this.random.nextLong();
+            if ((bits >>> 32) >= this.threshold) {
+                System.arraycopy(words, start(bits, words.length, count), dest, offset + done, count);
+            } else if (pooled == null) {
+                this.randomRuns.generate(dest, offset + done, count);
+            } else {
+                System.arraycopy(pooled, start(bits, pooled.length, count), dest, offset + done, count);
+            }
+
+            done += count;
+        }
+    }
+
+    /**
+     * Encodes dictionary or pool characters as Latin-1 when the alphabet allows.
+     * 
+     * @param value the characters drawn from the alphabet
+     * @return the Latin-1 bytes, or null if the alphabet is not Latin-1
+     */
+    private byte[] latin1(String value) {
+        return this.alphabet.isLatin1() ? value.getBytes(StandardCharsets.ISO_8859_1) : null;
+    }
+
+    /**
+     * Chooses where a copied run starts.
+     * 
+     * @param bits  random bits, the high half of which chose the kind of run
+     * @param size  the number of characters copied from
+     * @param count the number of characters in the run
+     * @return the start of the run
+     */
+    private static int start(long bits, int size, int count) {
+        return (int) (((bits & 0xFFFFFFFFL) * (size - count + 1)) >>> 32);
+    }
+}
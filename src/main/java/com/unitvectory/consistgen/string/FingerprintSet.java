@@ -0,0 +1,153 @@
+/*
+ * Copyright 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.unitvectory.consistgen.string;
+
+/**
+ * A set of non-zero 64 bit fingerprints stored outside of the heap.
+ * 
+ * Fingerprints are kept in an open addressing table with linear probing, sized
+ * to a power of two so the table is at most three quarters full. Removal
+ * shifts the following entries back rather than leaving tombstones so the
+ * table does not degrade when used as a sliding window.
+ * 
+ * This is not thread-safe.
+ * 
+ * @author Jared Hatfield (UnitVectorY Labs)
+ */
+final class FingerprintSet {
+
+    /**
+     * The slots, 0 when empty.
+     */
+    private final OffHeapLongArray slots;
+
+    /**
+     * The mask for a slot index.
+     */
+    private final long mask;
+
+    /**
+     * The maximum number of fingerprints.
+     */
+    private final long capacity;
+
+    /**
+     * The number of fingerprints.
+     */
+    private long size;
+
+    /**
+     * Creates a new FingerprintSet.
+     * 
+     * @param capacity the maximum number of fingerprints
+     */
+    FingerprintSet(long capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be greater than 0");
+        }
+
+        long needed = Math.max(2, capacity + (capacity + 2) / 3);
+        long length = Long.highestOneBit(needed - 1) << 1;
+        this.slots = new OffHeapLongArray(length);
+        this.mask = length - 1;
+        this.capacity = capacity;
+    }
+
+    /**
+     * Gets the number of fingerprints.
+     * 
+     * @return the number of fingerprints
+     */
+    long size() {
+        return this.size;
+    }
+
+    /**
+     * Checks if the set contains a fingerprint.
+     * 
+     * @param fingerprint the non-zero fingerprint
+     * @return true if the fingerprint is in the set
+     */
+    boolean contains(long fingerprint) {
+        for (long i = fingerprint & this.mask;; i = (i + 1) & this.mask) {
+            long value = this.slots.get(i);
+            if (value == 0) {
+                return false;
+            } else if (value == fingerprint) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Adds a fingerprint.
+     * 
+     * @param fingerprint the non-zero fingerprint
+     * @return true if the fingerprint was added, false if it was already present
+     * @throws IllegalStateException if the set is full
+     */
+    boolean add(long fingerprint) {
+        for (long i = fingerprint & this.mask;; i = (i + 1) & this.mask) {
+            long value = this.slots.get(i);
+            if (value == 0) {
+                if (this.size == this.capacity) {
+                    throw new IllegalStateException("capacity exhausted");
+                }
+
+                this.slots.set(i, fingerprint);
+                this.size++;
+                return true;
+            } else if (value == fingerprint) {
+                return false;
+            }
+        }
+    }
+
+    /**
+     * Removes a fingerprint.
+     * 
+     * @param fingerprint the non-zero fingerprint
+     * @return true if the fingerprint was removed, false if it was not present
+     */
+    boolean remove(long fingerprint) {
+        long hole = fingerprint & this.mask;
+        for (;; hole = (hole + 1) & this.mask) {
+            long value = this.slots.get(hole);
+            if (value == 0) {
+                return false;
+            } else if (value == fingerprint) {
+                break;
+            }
+        }
+
+        // Shift back every following entry whose home slot is not between the
+        // hole and its current slot so it stays reachable from its home slot
+        for (long i = (hole + 1) & this.mask;; i = (i + 1) & this.mask) {
+            long value = this.slots.get(i);
+            if (value == 0) {
+                break;
+            }
+
+            long home = value & this.mask;
+            if (((i - home) & this.mask) >= ((i - hole) & this.mask)) {
+                this.slots.set(hole, value);
+                hole = i;
+            }
+        }
+
+        this.slots.set(hole, 0);
+        this.size--;
+        return true;
+    }
+}
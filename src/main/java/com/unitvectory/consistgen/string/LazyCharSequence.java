@@ -0,0 +1,175 @@
+/*
+ * Copyright 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.unitvectory.consistgen.string;
+
+import java.nio.charset.StandardCharsets;
+import java.util.stream.IntStream;
+
+/**
+ * A range of the character stream of a SeekableStringProvider that computes
+ * characters only as they are read.
+ * 
+ * Reading a character or taking a subsequence does not allocate the characters
+ * of the range, so very large payloads can be passed around and read
+ * incrementally. Converting to a String, or copying into an array, computes
+ * the characters in chunks of 65536 characters, in parallel on the common
+ * ForkJoinPool once there are at least 1048576 characters.
+ * 
+ * Two sequences with the same characters are not equal, as with other
+ * CharSequence implementations.
+ * 
+ * @see SeekableStringProvider
+ * 
+ * @author Jared Hatfield (UnitVectorY Labs)
+ */
+public final class LazyCharSequence implements CharSequence {
+
+    /**
+     * The number of characters computed by a single task.
+     */
+    static final int CHUNK = 1 << 16;
+
+    /**
+     * The number of characters from which copies are computed in parallel.
+     */
+    static final int PARALLEL_THRESHOLD = 1 << 20;
+
+    /**
+     * The stream of characters.
+     */
+    private final SeekableStringProvider stream;
+
+    /**
+     * The position in the stream of the first character.
+     */
+    private final long position;
+
+    /**
+     * The number of characters.
+     */
+    private final int length;
+
+    LazyCharSequence(SeekableStringProvider stream, long position, int length) {
+        this.stream = stream;
+        this.position = position;
+        this.length = length;
+    }
+
+    @Override
+    public int length() {
+        return this.length;
+    }
+
+    @Override
+    public char charAt(int index) {
+        if (index < 0 || index >= this.length) {
+            throw new IndexOutOfBoundsException("index " + index + " out of bounds for length " + this.length);
+        }
+
+        return this.stream.charAt(this.position + index);
+    }
+
+    @Override
+    public LazyCharSequence subSequence(int start, int end) {
+        checkRange(start, end);
+        return new LazyCharSequence(this.stream, this.position + start, end - start);
+    }
+
+    /**
+     * Copies characters into a char array.
+     * 
+     * @param start  the index of the first character
+     * @param end    the index after the last character
+     * @param dest   the destination
+     * @param offset the offset in the destination
+     */
+    public void getChars(int start, int end, char[] dest, int offset) {
+        checkRange(start, end);
+        checkDestination(dest.length, offset, end - start);
+        forEachChunk(start, end, (chunkStart, count) -> this.stream.fill(this.position + chunkStart, count, dest,
+                offset + chunkStart - start));
+    }
+
+    /**
+     * Copies characters into a byte array as Latin-1.
+     * 
+     * @param start  the index of the first character
+     * @param end    the index after the last character
+     * @param dest   the destination
+     * @param offset the offset in the destination
+     * @throws IllegalStateException if the alphabet is not Latin-1
+     */
+    public void getBytes(int start, int end, byte[] dest, int offset) {
+        checkRange(start, end);
+        checkDestination(dest.length, offset, end - start);
+        this.stream.alphabet().latin1();
+        forEachChunk(start, end, (chunkStart, count) -> this.stream.fill(this.position + chunkStart, count, dest,
+                offset + chunkStart - start));
+    }
+
+    @Override
+    public String toString() {
+        if (this.length == 0) {
+            return "";
+        } else if (this.stream.alphabet().isLatin1()) {
+            byte[] bytes = new byte[this.length];
+            getBytes(0, this.length, bytes, 0);
+            return new String(bytes, StandardCharsets.ISO_8859_1);
+        }
+
+        char[] chars = new char[this.length];
+        getChars(0, this.length, chars, 0);
+        return new String(chars);
+    }
+
+    /**
+     * A range of characters to compute.
+     */
+    @FunctionalInterface
+    private interface ChunkTask {
+
+        void run(int start, int count);
+    }
+
+    private static void forEachChunk(int start, int end, ChunkTask task) {
+        int total = end - start;
+        if (total < PARALLEL_THRESHOLD) {
+            for (int chunk = start; chunk < end; chunk += CHUNK) {
+                task.run(chunk, Math.min(CHUNK, end - chunk));
+            }
+
+            return;
+        }
+
+        int chunks = (total + CHUNK - 1) / CHUNK;
+        IntStream.range(0, chunks).parallel().forEach(i -> {
+            int chunk = start + i * CHUNK;
+            task.run(chunk, Math.min(CHUNK, end - chunk));
+        });
+    }
+
+    private static void checkDestination(int capacity, int offset, int count) {
+        if (offset < 0 || offset > capacity - count) {
+            throw new IndexOutOfBoundsException(
+                    "range [" + offset + ", " + offset + " + " + count + ") out of bounds for length " + capacity);
+        }
+    }
+
+    private void checkRange(int start, int end) {
+        if (start < 0 || end > this.length || start > end) {
+            throw new IndexOutOfBoundsException(
+                    "range [" + start + ", " + end + ") out of bounds for length " + this.length);
+        }
+    }
+}
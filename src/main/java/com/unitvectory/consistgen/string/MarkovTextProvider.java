@@ -0,0 +1,369 @@
+/*
+ * Copyright 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.unitvectory.consistgen.string;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import com.unitvectory.consistgen.random.BufferedSecureRandom;
+
+import lombok.Builder;
+
+/**
+ * Provides a string of words, either drawn independently from a word list or
+ * walked from a first order Markov chain learned from a corpus of text.
+ * 
+ * With a word list, each word is chosen in proportion to its weight, or every
+ * word is equally likely when no weights are given. With a corpus, the corpus
+ * is split into words on whitespace and each word is followed by a word that
+ * followed it in the corpus, in proportion to how often it did. A chain is
+ * started, and restarted from any word that was never followed by another, by
+ * choosing a word in proportion to how often it appears in the corpus.
+ * 
+ * Words are joined by the separator, a single space by default, and the last
+ * word is cut short so the string is exactly the requested length.
+ * 
+ * The words and transitions are compiled at construction into primitive arrays,
+ * with every row of transitions stored as an alias table, so each word is
+ * chosen with a single random long in constant time without any maps or
+ * boxing. The provider holds no mutable state so it can be shared by many
+ * threads.
+ * 
+ * By default, the shared BufferedSecureRandom is used to generate the random
+ * numbers. If desired an alternate implementation of Random can be provided.
+ * 
+ * @author Jared Hatfield (UnitVectorY Labs)
+ */
+public class MarkovTextProvider implements StringProvider {
+
+    /**
+     * The characters of every word, one after another.
+     */
+    private final char[] text;
+
+    /**
+     * The characters of every word as Latin-1, or null if a character is not
+     * Latin-1.
+     */
+    private final byte[] latin1Text;
+
+    /**
+     * The offset of each word in the text.
+     */
+    private final int[] wordStart;
+
+    /**
+     * The length of each word.
+     */
+    private final int[] wordLength;
+
+    /**
+     * The offset of the transitions from each word, with the start row after the
+     * last word.
+     */
+    private final int[] rowStart;
+
+    /**
+     * The word each transition leads to.
+     */
+    private final int[] targets;
+
+    /**
+     * The alias table thresholds of every row.
+     */
+    private final long[] thresholds;
+
+    /**
+     * The alias table aliases of every row, relative to the row.
+     */
+    private final int[] aliases;
+
+    /**
+     * The separator between words.
+     */
+    private final Alphabet separator;
+
+    /**
+     * The random number generator.
+     */
+    private final Random random;
+
+    /**
+     * Creates a new MarkovTextProvider.
+     * 
+     * @param words     the words to choose from independently
+     * @param weights   the weight of each word, or null for every word to be
+     *                  equally likely
+     * @param corpus    the text to learn the transitions between words from
+     * @param random    the random number generator to use
+     * @param separator the separator between words
+     */
+    @Builder
+    public MarkovTextProvider(List<String> words, double[] weights, String corpus, Random random,
+            String separator) {
+        if ((words == null) == (corpus == null)) {
+            throw new IllegalArgumentException("exactly one of words and corpus must be set");
+        }
+
+        if (weights != null && words == null) {
+            throw new IllegalArgumentException("weights must only be set with words");
+        }
+
+        if (separator == null) {
+            this.separator = Alphabet.of(" ");
+        } else if (separator.isEmpty()) {
+            throw new IllegalArgumentException("separator must not be empty");
+        } else {
+            this.separator = Alphabet.of(separator);
+        }
+
+        if (random == null) {
+            this.random = BufferedSecureRandom.getInstance();
+        } else {
+            this.random = random;
+        }
+
+        String[] vocabulary;
+        int[] tokens = null;
+        if (words != null) {
+            vocabulary = words.toArray(new String[0]);
+            if (vocabulary.length == 0) {
+                throw new IllegalArgumentException("words must not be empty");
+            }
+
+            for (String word : vocabulary) {
+                if (word == null || word.isEmpty()) {
+                    throw new IllegalArgumentException("words must not contain an empty word");
+                }
+            }
+
+            if (weights == null) {
+                weights = new double[vocabulary.length];
+                Arrays.fill(weights, 1);
+            } else if (weights.length != vocabulary.length) {
+                throw new IllegalArgumentException("weights must have one weight for every word");
+            }
+        } else {
+            String trimmed = corpus.strip();
+            if (trimmed.isEmpty()) {
+                throw new IllegalArgumentException("corpus must not be empty");
+            }
+
+            // Maps are only used to assign each distinct word an id while compiling
+            String[] split = trimmed.split("\\s+");
+            Map<String, Integer> ids = new HashMap<>();
+            tokens = new int[split.length];
+            for (int i = 0; i < split.length; i++) {
+                Integer id = ids.putIfAbsent(split[i], ids.size());
+                tokens[i] = id == null ? ids.size() - 1 : id;
+            }
+
+            vocabulary = new String[ids.size()];
+            for (Map.Entry<String, Integer> entry : ids.entrySet()) {
+                vocabulary[entry.getValue()] = entry.getKey();
+            }
+
+            weights = new double[vocabulary.length];
+            for (int token : tokens) {
+                weights[token]++;
+            }
+        }
+
+        int size = vocabulary.length;
+        this.wordStart = new int[size];
+        this.wordLength = new int[size];
+        int total = 0;
+        for (int i = 0; i < size; i++) {
+            this.wordStart[i] = total;
+            this.wordLength[i] = vocabulary[i].length();
+            total += vocabulary[i].length();
+        }
+
+        this.text = new char[total];
+        for (int i = 0; i < size; i++) {
+            vocabulary[i].getChars(0, this.wordLength[i], this.text, this.wordStart[i]);
+        }
+
+        boolean latin1 = true;
+        for (char c : this.text) {
+            latin1 &= c <= 0xFF;
+        }
+
+        this.latin1Text = latin1 ? new String(this.text).getBytes(StandardCharsets.ISO_8859_1) : null;
+
+        // Each distinct pair of consecutive words is packed into a long and sorted,
+        // so the transitions from each word end up together in a single row
+        long[] pairs = new long[tokens == null ? 0 : tokens.length - 1];
+        for (int i = 0; i < pairs.length; i++) {
+            pairs[i] = ((long) tokens[i] << 32) | tokens[i + 1];
+        }
+
+        Arrays.sort(pairs);
+        long[] distinct = new long[pairs.length];
+        int[] counts = new int[pairs.length];
+        int transitions = 0;
+        for (int i = 0; i < pairs.length; i++) {
+            if (transitions > 0 && distinct[transitions - 1] == pairs[i]) {
+                counts[transitions - 1]++;
+            } else {
+                distinct[transitions] = pairs[i];
+                counts[transitions++] = 1;
+            }
+        }
+
+        this.rowStart = new int[size + 2];
+        for (int i = 0; i < transitions; i++) {
+            this.rowStart[(int) (distinct[i] >>> 32) + 1]++;
+        }
+
+        this.rowStart[size + 1] = size;
+        for (int i = 0; i < size + 1; i++) {
+            this.rowStart[i + 1] += this.rowStart[i];
+        }
+
+        int entries = transitions + size;
+        this.targets = new int[entries];
+        this.thresholds = new long[entries];
+        this.aliases = new int[entries];
+
+        for (int row = 0, i = 0; row < size; row++) {
+            int start = this.rowStart[row];
+            double[] rowWeights = new double[this.rowStart[row + 1] - start];
+            for (int j = 0; j < rowWeights.length; j++, i++) {
+                this.targets[start + j] = (int) distinct[i];
+                rowWeights[j] = counts[i];
+            }
+
+            if (rowWeights.length > 0) {
+                AliasTable.build(rowWeights, this.thresholds, this.aliases, start);
+            }
+        }
+
+        int start = this.rowStart[size];
+        for (int i = 0; i < size; i++) {
+            this.targets[start + i] = i;
+        }
+
+        AliasTable.build(weights, this.thresholds, this.aliases, start);
+    }
+
+    /**
+     * Gets the number of distinct words.
+     * 
+     * @return the number of words
+     */
+    public int getVocabularySize() {
+        return this.wordStart.length;
+    }
+
+    @Override
+    public String generate(int length) {
+        Alphabet.checkLength(length);
+
+        if (this.latin1Text != null && this.separator.isLatin1()) {
+            byte[] bytes = new byte[length];
+            fill(bytes, 0, length);
+            return new String(bytes, StandardCharsets.ISO_8859_1);
+        }
+
+        char[] chars = new char[length];
+        fill(chars, 0, length);
+        return new String(chars);
+    }
+
+    @Override
+    public void generate(char[] dest, int offset, int length) {
+        Alphabet.checkRange(dest.length, offset, length);
+        fill(dest, offset, length);
+    }
+
+    @Override
+    public void generate(byte[] dest, int offset, int length) {
+        Alphabet.checkRange(dest.length, offset, length);
+        if (this.latin1Text == null) {
+            throw new IllegalStateException("alphabet must only contain Latin-1 characters");
+        }
+
+        fill(dest, offset, length);
+    }
+
+    private void fill(char[] dest, int offset, int length) {
+        char[] separatorChars = this.separator.chars();
+        int end = offset + length;
+        int position = offset;
+        int word = this.wordStart.length;
+        while (true) {
+            word = next(word);
+            int count = Math.min(this.wordLength[word], end - position);
+            System.arraycopy(this.text, this.wordStart[word], dest, position, count);
+            position += count;
+            if (position == end) {
+                return;
+            }
+
+            count = Math.min(separatorChars.length, end - position);
+            System.arraycopy(separatorChars, 0, dest, position, count);
+            position += count;
+            if (position == end) {
+                return;
+            }
+        }
+    }
+
+    private void fill(byte[] dest, int offset, int length) {
+        byte[] separatorBytes = this.separator.latin1();
+        int end = offset + length;
+        int position = offset;
+        int word = this.wordStart.length;
+        while (true) {
+            word = next(word);
+            int count = Math.min(this.wordLength[word], end - position);
+            System.arraycopy(this.latin1Text, this.wordStart[word], dest, position, count);
+            position += count;
+            if (position == end) {
+                return;
+            }
+
+            count = Math.min(separatorBytes.length, end - position);
+            System.arraycopy(separatorBytes, 0, dest, position, count);
+            position += count;
+            if (position == end) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Chooses the word that follows a word, restarting the chain from the start
+     * row when the word was never followed by another.
+     * 
+     * @param word the previous word, or the number of words to start a chain
+     * @return the next word
+     */
+    private int next(int word) {
+        int start = this.rowStart[word];
+        int size = this.rowStart[word + 1] - start;
+        if (size == 0) {
+            start = this.rowStart[this.wordStart.length];
+            size = this.wordStart.length;
+        }
+
+        long bits = this.random.nextLong();
+        return this.targets[start + AliasTable.sample(bits, this.thresholds, this.aliases, start, size)];
+    }
+}
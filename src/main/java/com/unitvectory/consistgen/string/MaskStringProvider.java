@@ -0,0 +1,598 @@
+/*
+ * Copyright 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.unitvectory.consistgen.string;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import com.unitvectory.consistgen.random.BufferedSecureRandom;
+
+import lombok.Builder;
+
+/**
+ * Provides a string formatted by a mask, such as "AAA-9999-xx", or by a fixed
+ * length regular expression, such as "[A-Z]{3}-\d{4}".
+ * 
+ * The mask or expression is compiled once into a plan: a template holding
+ * every literal character, which is copied in a single bulk copy, and the
+ * alphabet of every variable position. Positions are grouped so the product of
+ * their alphabet sizes fits in a single bounded random long, which is then
+ * split into one character per position; a mask such as "AAA-9999-xx" takes
+ * one random long per string rather than one random number per character.
+ * Nothing is parsed when a string is generated.
+ * 
+ * A mask uses the following placeholders, with every other character being
+ * literal:
+ * <ul>
+ * <li>9 a digit</li>
+ * <li>a a lowercase letter</li>
+ * <li>A an uppercase letter</li>
+ * <li>? a letter of either case</li>
+ * <li># a letter of either case or a digit</li>
+ * <li>x a lowercase hex digit</li>
+ * <li>X an uppercase hex digit</li>
+ * <li>[...] a character from a class such as [A-F0-9]</li>
+ * <li>{n} following any of the above repeats it n times</li>
+ * <li>\ makes the following character literal</li>
+ * </ul>
+ * 
+ * An expression supports literal characters, \d, \w, [...] classes with ranges,
+ * . for any printable ASCII character, \ to make the following punctuation
+ * character literal and {n} to repeat. Quantifiers that do not have a fixed
+ * count, alternation, groups, nested classes, class intersections and any
+ * other escape are not supported. A leading ^ and a trailing $ are accepted and
+ * dropped, as the whole string is always generated.
+ * 
+ * Neither may generate a string longer than 1048576 characters.
+ * 
+ * In both a mask and an expression a class may contain ranges, \d and \w, and
+ * a class starting with ^ matches every printable ASCII character not in it.
+ * 
+ * By default, characters are chosen with the BufferedSecureRandom. A seed
+ * instead uses a Random with that seed, so the same sequence of strings is
+ * always generated. Static instead always generates the same string, taking
+ * each run's characters in order from its alphabet like StaticStringProvider.
+ * 
+ * As the mask determines the length, generate must be called with that length,
+ * or with no length at all.
+ * 
+ * @author Jared Hatfield (UnitVectorY Labs)
+ */
+public class MaskStringProvider implements StringProvider {
+
+    /**
+     * The digits.
+     */
+    private static final String DIGITS = "0123456789";
+
+    /**
+     * The lowercase letters.
+     */
+    private static final String LOWER = "abcdefghijklmnopqrstuvwxyz";
+
+    /**
+     * The uppercase letters.
+     */
+    private static final String UPPER = "ABCDEFGHIJKLMNOPQRSTUVWXYZ";
+
+    /**
+     * The printable ASCII characters.
+     */
+    private static final String PRINTABLE;
+
+    static {
+        StringBuilder printable = new StringBuilder();
+        for (char c = ' '; c <= '~'; c++) {
+            printable.append(c);
+        }
+
+        PRINTABLE = printable.toString();
+    }
+
+    /**
+     * The largest product of alphabet sizes drawn from a single random long.
+     */
+    private static final long MAX_BOUND = 1L << 62;
+
+    /**
+     * The longest string a mask or expression may generate.
+     */
+    static final int MAX_LENGTH = 1 << 20;
+
+    /**
+     * The template holding every literal character, or every character when
+     * static.
+     */
+    private final char[] template;
+
+    /**
+     * The template as Latin-1 bytes, or null if it is not Latin-1.
+     */
+    private final byte[] latin1Template;
+
+    /**
+     * Either mask or regex, naming the pattern in messages.
+     */
+    private final String kind;
+
+    /**
+     * The index in the template of every variable position.
+     */
+    private final int[] positions;
+
+    /**
+     * The alphabet of every variable position.
+     */
+    private final Alphabet[] alphabets;
+
+    /**
+     * The index after the last variable position of every group drawn from a
+     * single random long.
+     */
+    private final int[] groupEnds;
+
+    /**
+     * The product of the alphabet sizes of every group.
+     */
+    private final long[] groupBounds;
+
+    /**
+     * The random number generator, or null when static.
+     */
+    private final Random random;
+
+    /**
+     * True if every literal and alphabet is Latin-1.
+     */
+    private final boolean latin1;
+
+    /**
+     * The string always generated when static, otherwise null.
+     */
+    private final String fixed;
+
+    /**
+     * Creates a new MaskStringProvider.
+     * 
+     * @param mask       the mask, exclusive with regex
+     * @param regex      the fixed length regular expression, exclusive with mask
+     * @param random     the random number generator to use
+     * @param seed       the seed of a Random to use instead
+     * @param staticMode true to always generate the same string
+     */
+    @Builder
+    public MaskStringProvider(String mask, String regex, Random random, Long seed, Boolean staticMode) {
+        if ((mask == null) == (regex == null)) {
+            throw new IllegalArgumentException("exactly one of mask and regex must be set");
+        }
+
+        boolean isStatic = staticMode != null && staticMode;
+        int sources = (random != null ? 1 : 0) + (seed != null ? 1 : 0) + (isStatic ? 1 : 0);
+        if (sources > 1) {
+            throw new IllegalArgumentException("only one of random, seed and staticMode may be set");
+        }
+
+        this.kind = mask != null ? "mask" : "regex";
+        StringBuilder literals = new StringBuilder();
+        List<String> characters = new ArrayList<>();
+        if (mask != null) {
+            parse(mask, false, literals, characters);
+        } else {
+            parse(regex, true, literals, characters);
+        }
+
+        if (literals.length() == 0) {
+            throw new IllegalArgumentException(this.kind + " must not be empty");
+        }
+
+        if (random != null) {
+            this.random = random;
+        } else if (seed != null) {
+            this.random = new Random(seed);
+        } else if (isStatic) {
+            this.random = null;
+        } else {
+            this.random = BufferedSecureRandom.getInstance();
+        }
+
+        Map<String, Alphabet> shared = new HashMap<>();
+        List<Integer> variable = new ArrayList<>();
+        List<Alphabet> variableAlphabets = new ArrayList<>();
+        boolean isLatin1 = true;
+        int ordinal = 0;
+        for (int i = 0; i < characters.size(); i++) {
+            String value = characters.get(i);
+            if (value == null) {
+                continue;
+            }
+
+            Alphabet alphabet = shared.computeIfAbsent(value, Alphabet::of);
+            isLatin1 &= alphabet.isLatin1();
+            if (this.random == null) {
+                // Take characters in order from the alphabet like StaticStringProvider
+                ordinal = i > 0 && value.equals(characters.get(i - 1)) ? ordinal + 1 : 0;
+                literals.setCharAt(i, alphabet.chars()[ordinal % alphabet.size()]);
+            } else {
+                variable.add(i);
+                variableAlphabets.add(alphabet);
+            }
+        }
+
+        String template = literals.toString();
+        boolean latin1Template = true;
+        for (int i = 0; i < template.length(); i++) {
+            latin1Template &= template.charAt(i) <= 0xFF;
+        }
+
+        this.template = template.toCharArray();
+        this.latin1Template = latin1Template ? template.getBytes(StandardCharsets.ISO_8859_1) : null;
+        this.latin1 = isLatin1 && latin1Template;
+        this.positions = variable.stream().mapToInt(Integer::intValue).toArray();
+        this.alphabets = variableAlphabets.toArray(new Alphabet[0]);
+
+        // Combine as many positions as possible into each bounded random long
+        List<Integer> ends = new ArrayList<>();
+        List<Long> bounds = new ArrayList<>();
+        long bound = 1;
+        for (int i = 0; i < this.alphabets.length; i++) {
+            int size = this.alphabets[i].size();
+            if (bound > MAX_BOUND / size) {
+                ends.add(i);
+                bounds.add(bound);
+                bound = 1;
+            }
+
+            bound *= size;
+        }
+
+        if (this.alphabets.length > 0) {
+            ends.add(this.alphabets.length);
+            bounds.add(bound);
+        }
+
+        this.groupEnds = ends.stream().mapToInt(Integer::intValue).toArray();
+        this.groupBounds = bounds.stream().mapToLong(Long::longValue).toArray();
+
+        this.fixed = isStatic ? create() : null;
+    }
+
+    /**
+     * Gets the length of every string generated.
+     * 
+     * @return the length
+     */
+    public int getLength() {
+        return this.template.length;
+    }
+
+    /**
+     * Generates a string.
+     * 
+     * @return the string
+     */
+    public String generate() {
+        if (this.fixed != null) {
+            return this.fixed;
+        }
+
+        return create();
+    }
+
+    @Override
+    public String generate(int length) {
+        checkLength(length);
+        return generate();
+    }
+
+    @Override
+    public void generate(char[] dest, int offset, int length) {
+        Alphabet.checkRange(dest.length, offset, length);
+        checkLength(length);
+        fill(dest, offset);
+    }
+
+    @Override
+    public void generate(byte[] dest, int offset, int length) {
+        Alphabet.checkRange(dest.length, offset, length);
+        checkLength(length);
+        if (!this.latin1) {
+            throw new IllegalStateException(this.kind + " must only generate Latin-1 characters");
+        }
+
+        fill(dest, offset);
+    }
+
+    private String create() {
+        int length = this.template.length;
+        if (this.latin1) {
+            byte[] bytes = new byte[length];
+            fill(bytes, 0);
+            return new String(bytes, StandardCharsets.ISO_8859_1);
+        }
+
+        char[] chars = new char[length];
+        fill(chars, 0);
+        return new String(chars);
+    }
+
+    private void fill(char[] dest, int offset) {
+        System.arraycopy(this.template, 0, dest, offset, this.template.length);
+        int position = 0;
+        for (int group = 0; group < this.groupEnds.length; group++) {
+            long value = this.random.nextLong(this.groupBounds[group]);
+            for (; position < this.groupEnds[group]; position++) {
+                Alphabet alphabet = this.alphabets[position];
+                int size = alphabet.size();
+                dest[offset + this.positions[position]] = alphabet.chars()[(int) (value % size)];
+                value /= size;
+            }
+        }
+    }
+
+    private void fill(byte[] dest, int offset) {
+        System.arraycopy(this.latin1Template, 0, dest, offset, this.latin1Template.length);
+        int position = 0;
+        for (int group = 0; group < this.groupEnds.length; group++) {
+            long value = this.random.nextLong(this.groupBounds[group]);
+            for (; position < this.groupEnds[group]; position++) {
+                Alphabet alphabet = this.alphabets[position];
+                int size = alphabet.size();
+                dest[offset + this.positions[position]] = alphabet.latin1()[(int) (value % size)];
+                value /= size;
+            }
+        }
+    }
+
+    private void checkLength(int length) {
+        if (length != this.template.length) {
+            throw new IllegalArgumentException("length must be " + this.template.length + " for this " + this.kind);
+        }
+    }
+
+    /**
+     * Parses a mask or expression into a template and the alphabet of every
+     * position, null for a literal.
+     * 
+     * @param pattern   the mask or expression
+     * @param regex     true if the pattern is an expression
+     * @param literals  the template, with a placeholder for every variable
+     *                  position
+     * @param alphabets the alphabet of every position
+     */
+    private static void parse(String pattern, boolean regex, StringBuilder literals, List<String> alphabets) {
+        String kind = regex ? "regex" : "mask";
+        int length = pattern.length();
+        int i = 0;
+        if (regex && length > 0 && pattern.charAt(0) == '^') {
+            // The whole string is always matched, so the anchors are dropped
+            i++;
+        }
+
+        if (regex && length > i && pattern.charAt(length - 1) == '$' && !isEscaped(pattern, length - 1)) {
+            length--;
+        }
+
+        while (i < length) {
+            char c = pattern.charAt(i++);
+            String alphabet;
+            char literal = c;
+            if (c == '\\') {
+                if (i == length) {
+                    throw new IllegalArgumentException(kind + " must not end with an escape");
+                }
+
+                literal = pattern.charAt(i++);
+                alphabet = regex ? escape(literal) : null;
+            } else if (c == '[') {
+                int end = classEnd(pattern, i, length, regex);
+                alphabet = characterClass(pattern.substring(i, end), regex);
+                i = end + 1;
+            } else if (regex) {
+                if ("*+?|()".indexOf(c) >= 0) {
+                    throw new IllegalArgumentException("regex must have a fixed length and no groups");
+                }
+
+                if (c == '^' || c == '$') {
+                    throw new IllegalArgumentException("regex anchors are only supported at the start and end");
+                }
+
+                if (c == '{' || c == '}') {
+                    throw new IllegalArgumentException("regex repetition must follow a character or class");
+                }
+
+                alphabet = c == '.' ? PRINTABLE : null;
+            } else {
+                alphabet = placeholder(c);
+            }
+
+            int count = 1;
+            if (i < length && pattern.charAt(i) == '{') {
+                count = 0;
+                int end = ++i;
+                while (end < length && pattern.charAt(end) >= '0' && pattern.charAt(end) <= '9') {
+                    count = Math.min(count * 10 + pattern.charAt(end++) - '0', MAX_LENGTH + 1);
+                }
+
+                if (end == length) {
+                    throw new IllegalArgumentException(kind + " has an unclosed repetition");
+                }
+
+                if (end == i || pattern.charAt(end) != '}') {
+                    throw new IllegalArgumentException("repetition must be a fixed count");
+                }
+
+                i = end + 1;
+                if (i < length && pattern.charAt(i) == '{') {
+                    throw new IllegalArgumentException("repetition must follow a character or class");
+                }
+            }
+
+            if (count > MAX_LENGTH - literals.length()) {
+                throw new IllegalArgumentException(kind + " must not be longer than " + MAX_LENGTH + " characters");
+            }
+
+            for (int n = 0; n < count; n++) {
+                literals.append(alphabet == null ? literal : ' ');
+                alphabets.add(alphabet);
+            }
+        }
+    }
+
+    /**
+     * Finds the end of a character class, skipping escaped characters.
+     * 
+     * @param pattern the mask or expression
+     * @param start   the index after the opening bracket
+     * @param length  the length of the pattern to scan
+     * @param regex   true if the pattern is an expression
+     * @return the index of the closing bracket
+     * @throws IllegalArgumentException if the class is unclosed or not supported
+     */
+    private static int classEnd(String pattern, int start, int length, boolean regex) {
+        for (int i = start; i < length; i++) {
+            char c = pattern.charAt(i);
+            if (c == '\\') {
+                i++;
+            } else if (c == ']') {
+                return i;
+            } else if (regex && c == '[') {
+                throw new IllegalArgumentException("regex character classes must not be nested");
+            } else if (regex && c == '&' && i + 1 < length && pattern.charAt(i + 1) == '&') {
+                throw new IllegalArgumentException("regex character class intersections are not supported");
+            }
+        }
+
+        throw new IllegalArgumentException((regex ? "regex" : "mask") + " has an unclosed character class");
+    }
+
+    private static boolean isEscaped(String pattern, int index) {
+        int backslashes = 0;
+        while (index - backslashes > 0 && pattern.charAt(index - backslashes - 1) == '\\') {
+            backslashes++;
+        }
+
+        return backslashes % 2 == 1;
+    }
+
+    private static String placeholder(char c) {
+        switch (c) {
+            case '9':
+                return DIGITS;
+            case 'a':
+                return LOWER;
+            case 'A':
+                return UPPER;
+            case '?':
+                return LOWER + UPPER;
+            case '#':
+                return RandomStringProvider.ALPHABET;
+            case 'x':
+                return "0123456789abcdef";
+            case 'X':
+                return "0123456789ABCDEF";
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * Gets the alphabet of an escape in an expression.
+     * 
+     * @param c the escaped character
+     * @return the alphabet, or null if the character is literal
+     * @throws IllegalArgumentException if the escape is not supported
+     */
+    private static String escape(char c) {
+        switch (c) {
+            case 'd':
+                return DIGITS;
+            case 'w':
+                return UPPER + LOWER + DIGITS + "_";
+            default:
+                if (Character.isLetterOrDigit(c)) {
+                    throw new IllegalArgumentException("regex escape \\" + c + " is not supported");
+                }
+
+                return null;
+        }
+    }
+
+    private static String characterClass(String body, boolean regex) {
+        boolean negated = body.startsWith("^");
+        StringBuilder alphabet = new StringBuilder();
+        int i = negated ? 1 : 0;
+        while (i < body.length()) {
+            char first = body.charAt(i++);
+            if (first == '\\') {
+                first = body.charAt(i++);
+                String escaped = first == 'd' || first == 'w' || regex ? escape(first) : null;
+                if (escaped != null) {
+                    for (int c = 0; c < escaped.length(); c++) {
+                        append(alphabet, escaped.charAt(c));
+                    }
+
+                    continue;
+                }
+            }
+
+            if (i + 1 < body.length() && body.charAt(i) == '-') {
+                char last = body.charAt(i + 1);
+                i += 2;
+                if (last == '\\') {
+                    last = body.charAt(i++);
+                    if (regex && escape(last) != null) {
+                        throw new IllegalArgumentException("character class range must end with a character");
+                    }
+                }
+
+                if (last < first) {
+                    throw new IllegalArgumentException("character class range must be in order");
+                }
+
+                for (char c = first; c <= last; c++) {
+                    append(alphabet, c);
+                }
+            } else {
+                append(alphabet, first);
+            }
+        }
+
+        if (negated) {
+            StringBuilder remaining = new StringBuilder();
+            for (int c = 0; c < PRINTABLE.length(); c++) {
+                if (alphabet.indexOf(String.valueOf(PRINTABLE.charAt(c))) < 0) {
+                    remaining.append(PRINTABLE.charAt(c));
+                }
+            }
+
+            alphabet = remaining;
+        }
+
+        if (alphabet.length() == 0) {
+            throw new IllegalArgumentException("character class must not be empty");
+        }
+
+        return alphabet.toString();
+    }
+
+    private static void append(StringBuilder alphabet, char c) {
+        if (alphabet.indexOf(String.valueOf(c)) < 0) {
+            alphabet.append(c);
+        }
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.unitvectory.consistgen.string;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * A fixed length array of longs stored outside of the heap, initially all 0.
+ * 
+ * A single direct ByteBuffer is limited to 2 GiB, so the array is split across
+ * as many 1 GiB segments as needed. The memory is released once the array is
+ * garbage collected and counts toward -XX:MaxDirectMemorySize.
+ * 
+ * @author Jared Hatfield (UnitVectorY Labs)
+ */
+final class OffHeapLongArray {
+
+    /**
+     * The number of longs in a segment as a power of two.
+     */
+    private static final int SEGMENT_SHIFT = 27;
+
+    /**
+     * The mask for the index within a segment.
+     */
+    private static final long SEGMENT_MASK = (1L << SEGMENT_SHIFT) - 1;
+
+    /**
+     * The segments.
+     */
+    private final ByteBuffer[] segments;
+
+    /**
+     * The number of longs.
+     */
+    private final long length;
+
+    /**
+     * Creates a new array.
+     * 
+     * @param length the number of longs
+     */
+    OffHeapLongArray(long length) {
+        if (length <= 0) {
+            throw new IllegalArgumentException("length must be greater than 0");
+        }
+
+        int count = (int) ((length + SEGMENT_MASK) >>> SEGMENT_SHIFT);
+        this.segments = new ByteBuffer[count];
+        for (int i = 0; i < count; i++) {
+            long longs = Math.min(1L << SEGMENT_SHIFT, length - ((long) i << SEGMENT_SHIFT));
+            this.segments[i] = ByteBuffer.allocateDirect((int) longs * Long.BYTES).order(ByteOrder.nativeOrder());
+        }
+
+        this.length = length;
+    }
+
+    /**
+     * Gets the number of longs.
+     * 
+     * @return the number of longs
+     */
+    long length() {
+        return this.length;
+    }
+
+    /**
+     * Gets a long.
+     * 
+     * @param index the index
+     * @return the long
+     */
+    long get(long index) {
+        return this.segments[(int) (index >>> SEGMENT_SHIFT)].getLong((int) (index & SEGMENT_MASK) * Long.BYTES);
+    }
+
+    /**
+     * Sets a long.
+     * 
+     * @param index the index
+     * @param value the long
+     */
+    void set(long index, long value) {
+        this.segments[(int) (index >>> SEGMENT_SHIFT)].putLong((int) (index & SEGMENT_MASK) * Long.BYTES, value);
+    }
+}
@@ -13,9 +13,13 @@
  */
 package com.unitvectory.consistgen.string;
 
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.security.SecureRandom;
 import java.util.Random;
 
+import com.unitvectory.consistgen.random.BufferedSecureRandom;
+
 import lombok.Builder;
 
 /**
@@ -28,10 +32,35 @@ import lombok.Builder;
  * The alphabet can be overridden at construction time by specifying a string
  * with the desired list of characters to be randomly selected from.
  * 
- * By default, a SecureRandom is used to generate the random numbers. If desired
- * an alternate implementation of Random can be provided.
+ * By default, the shared BufferedSecureRandom is used to generate the random
+ * numbers so many threads can generate strings without contending on a single
+ * SecureRandom. If desired an alternate implementation of Random can be
+ * provided.
+ * 
+ * In bulk mode, rather than one call to the random number generator for every
+ * character, a block of random bytes is drawn at once and mapped to the
+ * alphabet, refilling the block in bulk as needed. Random values that would
+ * favor the start of the alphabet are rejected and replaced so every character
+ * remains equally likely.
+ * 
+ * When the size of the alphabet is a power of two, such as hex, base32 or
+ * base64url, each character is instead taken directly from the bits of random
+ * longs, several characters per long. This is chosen automatically from the
+ * alphabet and takes precedence over bulk mode, as neither introduces a bias.
+ * 
+ * Characters can instead be given weights, one for each character of the
+ * alphabet, so each is chosen in proportion to its weight. A class of
+ * characters is weighted by splitting its weight between its characters.
+ * Weighted characters are sampled from a precomputed alias table in constant
+ * time per character with a single random long, taking precedence over both
+ * of the above.
+ * 
+ * When every character of the alphabet is Latin-1 the string is built directly
+ * as a compact byte array, and can be written into a byte array or ByteBuffer
+ * without creating a string at all.
  * 
  * @see SecureRandom
+ * @see BufferedSecureRandom
  * 
  * @author Jared Hatfield (UnitVectorY Labs)
  */
@@ -50,55 +79,260 @@ public class RandomStringProvider implements StringProvider {
     /**
      * The alphabet to use for generating the random string.
      */
-    private final String alphabet;
+    private final Alphabet alphabet;
 
     /**
      * The random number generator to use for generating the random string.
      */
     private final Random random;
 
+    /**
+     * True if random bytes are drawn in blocks.
+     */
+    private final boolean bulk;
+
+    /**
+     * The number of random bytes used for each character in bulk mode.
+     */
+    private final int unitBytes;
+
+    /**
+     * Random values at or above this limit are rejected in bulk mode.
+     */
+    private final long limit;
+
+    /**
+     * The number of random bits for each character when the size of the alphabet
+     * is a power of two, otherwise 0.
+     */
+    private final int bitsPerCharacter;
+
+    /**
+     * The alias table of the character weights, or null if every character is
+     * equally likely.
+     */
+    private final AliasTable weights;
+
     /**
      * Creates a new RandomStringProvider.
      * 
      * @param alphabet the alphabet to use for generating the random string
      * @param random   the random number generator to use
      */
-    @Builder
     public RandomStringProvider(String alphabet, Random random) {
-        if (alphabet == null) {
-            this.alphabet = ALPHABET;
-        } else if (alphabet.isEmpty()) {
-            throw new IllegalArgumentException("alphabet must not be empty");
-        } else {
-            this.alphabet = alphabet;
-        }
+        this(alphabet, random, null, null);
+    }
+
+    /**
+     * Creates a new RandomStringProvider.
+     * 
+     * @param alphabet the alphabet to use for generating the random string
+     * @param random   the random number generator to use
+     * @param bulk     true to draw random bytes in blocks
+     * @param weights  the weight of each character of the alphabet, or null for
+     *                 every character to be equally likely
+     */
+    @Builder
+    public RandomStringProvider(String alphabet, Random random, Boolean bulk, double[] weights) {
+        this.alphabet = Alphabet.of(alphabet);
 
         if (random == null) {
-            this.random = new SecureRandom();
+            this.random = BufferedSecureRandom.getInstance();
         } else {
             this.random = random;
         }
+
+        this.bulk = bulk != null && bulk;
+
+        int size = this.alphabet.size();
+        this.unitBytes = size <= 1 << 8 ? 1 : size <= 1 << 16 ? 2 : 4;
+        long range = 1L << (this.unitBytes * 8);
+        this.limit = range - range % size;
+
+        if (size > 1 && size <= 1 << 16 && Integer.bitCount(size) == 1) {
+            this.bitsPerCharacter = Integer.numberOfTrailingZeros(size);
+        } else {
+            this.bitsPerCharacter = 0;
+        }
+
+        if (weights == null) {
+            this.weights = null;
+        } else if (weights.length != size) {
+            throw new IllegalArgumentException("weights must have one weight for every character");
+        } else {
+            this.weights = new AliasTable(weights);
+        }
     }
 
     @Override
     public String generate(int length) {
-        if (length <= 0) {
-            throw new IllegalArgumentException("length must be greater than 0");
+        Alphabet.checkLength(length);
+
+        if (this.alphabet.isLatin1()) {
+            byte[] bytes = new byte[length];
+            fill(bytes, 0, length);
+            return new String(bytes, StandardCharsets.ISO_8859_1);
+        }
+
+        char[] chars = new char[length];
+        fill(chars, 0, length);
+        return new String(chars);
+    }
+
+    @Override
+    public void generate(char[] dest, int offset, int length) {
+        Alphabet.checkRange(dest.length, offset, length);
+        fill(dest, offset, length);
+    }
+
+    @Override
+    public void generate(byte[] dest, int offset, int length) {
+        Alphabet.checkRange(dest.length, offset, length);
+        fill(dest, offset, length);
+    }
+
+    @Override
+    public void generate(ByteBuffer dest, int length) {
+        Alphabet.checkRange(dest, length);
+        if (dest.hasArray()) {
+            fill(dest.array(), dest.arrayOffset() + dest.position(), length);
+            dest.position(dest.position() + length);
+            return;
+        }
+
+        // Characters are independent so a direct buffer is filled a chunk at a time
+        byte[] chunk = Alphabet.scratch();
+        for (int done = 0; done < length;) {
+            int count = Math.min(chunk.length, length - done);
+            fill(chunk, 0, count);
+            dest.put(chunk, 0, count);
+            done += count;
+        }
+    }
+
+    private void fill(byte[] dest, int offset, int length) {
+        byte[] characters = this.alphabet.latin1();
+        int[] indexes = Alphabet.indexes();
+        BulkSource source = bulkSource(length);
+        for (int done = 0; done < length;) {
+            int count = Math.min(indexes.length, length - done);
+            select(indexes, count, source);
+            for (int i = 0; i < count; i++) {
+                dest[offset + done + i] = characters[indexes[i]];
+            }
+
+            done += count;
+        }
+    }
+
+    private void fill(char[] dest, int offset, int length) {
+        char[] characters = this.alphabet.chars();
+        int[] indexes = Alphabet.indexes();
+        BulkSource source = bulkSource(length);
+        for (int done = 0; done < length;) {
+            int count = Math.min(indexes.length, length - done);
+            select(indexes, count, source);
+            for (int i = 0; i < count; i++) {
+                dest[offset + done + i] = characters[indexes[i]];
+            }
+
+            done += count;
+        }
+    }
+
+    /**
+     * Creates the block of random bytes for bulk mode, unless weights or the bits
+     * of random longs are used instead.
+     * 
+     * @param length the number of characters to generate
+     * @return the block of random bytes, or null
+     */
+    private BulkSource bulkSource(int length) {
+        if (this.bulk && this.weights == null && this.bitsPerCharacter == 0) {
+            return new BulkSource(length);
         }
 
-        StringBuilder builder = new StringBuilder(length);
+        return null;
+    }
 
-        for (int i = 0; i < length; i++) {
-            builder.append(alphabet.charAt(random.nextInt(alphabet.length())));
+    /**
+     * Chooses the index in the alphabet of a run of characters.
+     * 
+     * @param indexes the destination of the indexes
+     * @param count   the number of characters
+     * @param source  the block of random bytes in bulk mode, otherwise null
+     */
+    private void select(int[] indexes, int count, BulkSource source) {
+        int size = this.alphabet.size();
+        if (this.weights != null) {
+            for (int i = 0; i < count; i++) {
+                indexes[i] = this.weights.sample(this.random);
+            }
+        } else if (this.bitsPerCharacter > 0) {
+            int mask = size - 1;
+            int perLong = Long.SIZE / this.bitsPerCharacter;
+            int i = 0;
+            while (i < count) {
+                long bits = this.random.nextLong();
+                int stop = Math.min(count, i + perLong);
+                while (i < stop) {
+                    indexes[i++] = (int) bits & mask;
+                    bits >>>= this.bitsPerCharacter;
+                }
+            }
+        } else if (source != null) {
+            for (int i = 0; i < count; i++) {
+                indexes[i] = source.next();
+            }
+        } else {
+            for (int i = 0; i < count; i++) {
+                indexes[i] = this.random.nextInt(size);
+            }
         }
+    }
 
-        return builder.toString();
+    /**
+     * Maps a block of random bytes to alphabet indexes, refilling the block as
+     * needed and rejecting values that would introduce a bias. The block is never
+     * larger than CHUNK bytes, however long the string.
+     */
+    private final class BulkSource {
+
+        private final byte[] bytes;
+
+        private int position;
+
+        private BulkSource(int length) {
+            // Leave room for rejected values so a short string usually takes a single
+            // draw, while a long one refills a block of at most CHUNK bytes
+            long needed = (long) length * unitBytes;
+            long size = Math.min(Alphabet.CHUNK, needed + (needed >>> 4) + 8);
+            this.bytes = new byte[(int) size / unitBytes * unitBytes];
+            this.position = this.bytes.length;
+        }
+
+        private int next() {
+            long value;
+            do {
+                if (this.position == this.bytes.length) {
+                    random.nextBytes(this.bytes);
+                    this.position = 0;
+                }
+
+                value = 0;
+                for (int b = 0; b < unitBytes; b++) {
+                    value = (value << 8) | (this.bytes[this.position++] & 0xFF);
+                }
+            } while (value >= limit);
+
+            return (int) (value % alphabet.size());
+        }
     }
 
     /**
      * Gets the instance of the RandomStringProvider.
      * 
-     * The default implementation utilizes a SecureRandom for generating random numbers.
+     * The default implementation utilizes the BufferedSecureRandom for generating random numbers.
      * 
      * The default alphabet is "abcdefghijklmnopqrstuvwxyzABCDEFGHIJKLMNOPQRSTUVWXYZ0123456789".
      * 
@@ -0,0 +1,224 @@
+/*
+ * Copyright 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.unitvectory.consistgen.string;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import lombok.Builder;
+
+/**
+ * Provides strings from an endless pseudorandom stream of characters where any
+ * character can be computed directly from its position.
+ * 
+ * The character at a position is taken from a SplitMix64 hash of the seed and
+ * the position, so the stream can be read from anywhere without generating
+ * what comes before it. Each call to generate takes the next unused range of
+ * the stream, so successive strings differ and the same seed always generates
+ * the same sequence of strings.
+ * 
+ * For very large payloads, generateLazy returns a LazyCharSequence that only
+ * computes characters as they are read, so the payload never has to be held in
+ * memory at once. When the whole payload is needed it is materialized in
+ * parallel chunks.
+ * 
+ * Characters are chosen from 32 random bits each, so for an alphabet that is
+ * not a power of two the first characters are favored by less than one part in
+ * 2^25 for alphabets of up to 128 characters. The stream is intended for test
+ * payloads and is not cryptographically strong.
+ * 
+ * The default seed is 0 and the default alphabet is
+ * "abcdefghijklmnopqrstuvwxyzABCDEFGHIJKLMNOPQRSTUVWXYZ0123456789".
+ * 
+ * @see LazyCharSequence
+ * 
+ * @author Jared Hatfield (UnitVectorY Labs)
+ */
+public class SeekableStringProvider implements StringProvider {
+
+    /**
+     * The SplitMix64 increment.
+     */
+    private static final long GAMMA = 0x9E3779B97F4A7C15L;
+
+    /**
+     * The alphabet.
+     */
+    private final Alphabet alphabet;
+
+    /**
+     * The seed.
+     */
+    private final long seed;
+
+    /**
+     * The position in the stream of the next string.
+     */
+    private final AtomicLong position = new AtomicLong();
+
+    /**
+     * Creates a new SeekableStringProvider.
+     * 
+     * @param alphabet the alphabet to use for generating the string
+     * @param seed     the seed
+     */
+    @Builder
+    public SeekableStringProvider(String alphabet, Long seed) {
+        this.alphabet = Alphabet.of(alphabet);
+        this.seed = seed == null ? 0 : seed;
+    }
+
+    @Override
+    public String generate(int length) {
+        return generateLazy(length).toString();
+    }
+
+    @Override
+    public void generate(char[] dest, int offset, int length) {
+        Alphabet.checkRange(dest.length, offset, length);
+        fill(reserve(length), length, dest, offset);
+    }
+
+    @Override
+    public void generate(byte[] dest, int offset, int length) {
+        Alphabet.checkRange(dest.length, offset, length);
+        this.alphabet.latin1();
+        fill(reserve(length), length, dest, offset);
+    }
+
+    /**
+     * Generates a string whose characters are only computed as they are read.
+     * 
+     * @param length the length of the string to generate
+     * @return the string
+     */
+    public LazyCharSequence generateLazy(int length) {
+        Alphabet.checkLength(length);
+        return new LazyCharSequence(this, reserve(length), length);
+    }
+
+    /**
+     * Gets a view of the stream at a position without advancing the position of
+     * the next string.
+     * 
+     * @param position the position in the stream
+     * @param length   the number of characters
+     * @return the characters
+     */
+    public LazyCharSequence view(long position, int length) {
+        if (length < 0) {
+            throw new IllegalArgumentException("length must not be negative");
+        }
+
+        return new LazyCharSequence(this, position, length);
+    }
+
+    private long reserve(int length) {
+        Alphabet.checkLength(length);
+        return this.position.getAndAdd(length);
+    }
+
+    /**
+     * Gets the alphabet.
+     * 
+     * @return the alphabet
+     */
+    Alphabet alphabet() {
+        return this.alphabet;
+    }
+
+    /**
+     * Computes the character at a position of the stream.
+     * 
+     * @param position the position
+     * @return the character
+     */
+    char charAt(long position) {
+        return this.alphabet.chars()[index(bits(position))];
+    }
+
+    /**
+     * Computes consecutive characters of the stream.
+     * 
+     * @param position the position of the first character
+     * @param count    the number of characters
+     * @param dest     the destination
+     * @param offset   the offset in the destination
+     */
+    void fill(long position, int count, char[] dest, int offset) {
+        char[] chars = this.alphabet.chars();
+        int i = 0;
+        if ((position & 1) != 0 && count > 0) {
+            dest[offset + i++] = chars[index(bits(position))];
+        }
+
+        // Both halves of a hash are used, a pair of characters at a time
+        for (; i + 1 < count; i += 2) {
+            long hash = mix((position + i) >>> 1);
+            dest[offset + i] = chars[index(hash)];
+            dest[offset + i + 1] = chars[index(hash >>> 32)];
+        }
+
+        if (i < count) {
+            dest[offset + i] = chars[index(bits(position + i))];
+        }
+    }
+
+    /**
+     * Computes consecutive characters of the stream as Latin-1.
+     * 
+     * @param position the position of the first character
+     * @param count    the number of characters
+     * @param dest     the destination
+     * @param offset   the offset in the destination
+     */
+    void fill(long position, int count, byte[] dest, int offset) {
+        byte[] bytes = this.alphabet.latin1();
+        int i = 0;
+        if ((position & 1) != 0 && count > 0) {
+            dest[offset + i++] = bytes[index(bits(position))];
+        }
+
+        for (; i + 1 < count; i += 2) {
+            long hash = mix((position + i) >>> 1);
+            dest[offset + i] = bytes[index(hash)];
+            dest[offset + i + 1] = bytes[index(hash >>> 32)];
+        }
+
+        if (i < count) {
+            dest[offset + i] = bytes[index(bits(position + i))];
+        }
+    }
+
+    /**
+     * Gets the 32 random bits of a position in the low bits.
+     * 
+     * @param position the position
+     * @return the bits
+     */
+    private long bits(long position) {
+        long hash = mix(position >>> 1);
+        return (position & 1) == 0 ? hash : hash >>> 32;
+    }
+
+    private int index(long bits) {
+        return (int) (((bits & 0xFFFFFFFFL) * this.alphabet.size()) >>> 32);
+    }
+
+    private long mix(long counter) {
+        long z = this.seed + (counter + 1) * GAMMA;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
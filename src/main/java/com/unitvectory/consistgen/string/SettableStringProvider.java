@@ -13,6 +13,8 @@
  */
 package com.unitvectory.consistgen.string;
 
+import java.nio.ByteBuffer;
+
 import lombok.Builder;
 
 /**
@@ -39,7 +41,7 @@ public class SettableStringProvider implements StringProvider {
     /**
      * The alphabet to use for generating the string.
      */
-    private String alphabet;
+    private Alphabet alphabet;
 
     /**
      * Create a new SettableStringProvider.
@@ -48,13 +50,7 @@ public class SettableStringProvider implements StringProvider {
      */
     @Builder
     public SettableStringProvider(String alphabet) {
-        if (alphabet == null) {
-            this.alphabet = RandomStringProvider.ALPHABET;
-        } else if (alphabet.isEmpty()) {
-            throw new IllegalArgumentException("alphabet must not be empty");
-        } else {
-            this.alphabet = alphabet;
-        }
+        this.alphabet = Alphabet.of(alphabet);
     }
 
     /**
@@ -65,17 +61,26 @@ public class SettableStringProvider implements StringProvider {
      */
     @Override
     public String generate(int length) {
-        if (length <= 0) {
-            throw new IllegalArgumentException("length must be greater than 0");
-        }
+        Alphabet.checkLength(length);
+        return this.alphabet.repeat(length);
+    }
 
-        StringBuilder builder = new StringBuilder(length);
+    @Override
+    public void generate(char[] dest, int offset, int length) {
+        Alphabet.checkRange(dest.length, offset, length);
+        this.alphabet.repeat(dest, offset, length);
+    }
 
-        for (int i = 0; i < length; i++) {
-            builder.append(alphabet.charAt(i % alphabet.length()));
-        }
+    @Override
+    public void generate(byte[] dest, int offset, int length) {
+        Alphabet.checkRange(dest.length, offset, length);
+        this.alphabet.repeat(dest, offset, length);
+    }
 
-        return builder.toString();
+    @Override
+    public void generate(ByteBuffer dest, int length) {
+        Alphabet.checkRange(dest, length);
+        this.alphabet.repeat(dest, length);
     }
 
     /**
@@ -83,15 +88,15 @@ public class SettableStringProvider implements StringProvider {
      * 
      * Sertting the alphabet to null will set the alphabet to the default alphabet.
      * 
+     * Strings already generated are cached with the alphabet, so the cache is
+     * only discarded when the alphabet actually changes.
+     * 
      * @param alphabet the alphabet to use for generating the string
      */
     public void setAlphabet(String alphabet) {
-        if (alphabet == null) {
-            this.alphabet = RandomStringProvider.ALPHABET;
-        } else if (alphabet.isEmpty()) {
-            throw new IllegalArgumentException("alphabet must not be empty");
-        } else {
-            this.alphabet = alphabet;
+        Alphabet next = Alphabet.of(alphabet);
+        if (!next.toString().equals(this.alphabet.toString())) {
+            this.alphabet = next;
         }
     }
 }
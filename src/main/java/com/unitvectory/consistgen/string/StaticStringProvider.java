@@ -13,6 +13,8 @@
  */
 package com.unitvectory.consistgen.string;
 
+import java.nio.ByteBuffer;
+
 import lombok.Builder;
 
 /**
@@ -28,6 +30,11 @@ import lombok.Builder;
  * For example, if the alphabet is "abc" and the length is 5, the generated
  * string would be "abcab".
  * 
+ * As the result only depends on the length, strings of up to 256 characters are
+ * cached and the same instance is returned for repeated calls. Longer strings
+ * are copied from the alphabet with a doubling copy rather than character by
+ * character.
+ * 
  * @author Jared Hatfield (UnitVectorY Labs)
  */
 public class StaticStringProvider implements StringProvider {
@@ -40,7 +47,7 @@ public class StaticStringProvider implements StringProvider {
     /**
      * The alphabet to use for generating the string.
      */
-    private final String alphabet;
+    private final Alphabet alphabet;
 
     /**
      * Creates a new static string provider.
@@ -49,28 +56,31 @@ public class StaticStringProvider implements StringProvider {
      */
     @Builder
     public StaticStringProvider(String alphabet) {
-        if (alphabet == null) {
-            this.alphabet = RandomStringProvider.ALPHABET;
-        } else if (alphabet.isEmpty()) {
-            throw new IllegalArgumentException("alphabet must not be empty");
-        } else {
-            this.alphabet = alphabet;
-        }
+        this.alphabet = Alphabet.of(alphabet);
     }
 
     @Override
     public String generate(int length) {
-        if (length <= 0) {
-            throw new IllegalArgumentException("length must be greater than 0");
-        }
+        Alphabet.checkLength(length);
+        return this.alphabet.repeat(length);
+    }
 
-        StringBuilder builder = new StringBuilder(length);
+    @Override
+    public void generate(char[] dest, int offset, int length) {
+        Alphabet.checkRange(dest.length, offset, length);
+        this.alphabet.repeat(dest, offset, length);
+    }
 
-        for (int i = 0; i < length; i++) {
-            builder.append(alphabet.charAt(i % alphabet.length()));
-        }
+    @Override
+    public void generate(byte[] dest, int offset, int length) {
+        Alphabet.checkRange(dest.length, offset, length);
+        this.alphabet.repeat(dest, offset, length);
+    }
 
-        return builder.toString();
+    @Override
+    public void generate(ByteBuffer dest, int length) {
+        Alphabet.checkRange(dest, length);
+        this.alphabet.repeat(dest, length);
     }
 
     /**
@@ -13,12 +13,18 @@
  */
 package com.unitvectory.consistgen.string;
 
+import java.nio.ByteBuffer;
+
 /**
  * Provides a string that is a random value.
  * 
  * This is intended to be used for purposes such as identifiers or secrets used
  * in systems.
  * 
+ * Strings can also be generated directly into a caller supplied char array,
+ * byte array or ByteBuffer. Bytes are written as Latin-1, one byte per
+ * character, so the alphabet must only contain Latin-1 characters.
+ * 
  * @author Jared Hatfield (UnitVectorY Labs)
  */
 public interface StringProvider {
@@ -30,4 +36,59 @@ public interface StringProvider {
      * @return the string
      */
     String generate(int length);
+
+    /**
+     * Generates a random string into a char array.
+     * 
+     * @param dest   the destination
+     * @param offset the offset in the destination
+     * @param length the length of the string to generate
+     */
+    default void generate(char[] dest, int offset, int length) {
+        Alphabet.checkRange(dest.length, offset, length);
+        generate(length).getChars(0, length, dest, offset);
+    }
+
+    /**
+     * Generates a random string into a byte array as Latin-1.
+     * 
+     * @param dest   the destination
+     * @param offset the offset in the destination
+     * @param length the length of the string to generate
+     * @throws IllegalStateException if a character is not Latin-1
+     */
+    default void generate(byte[] dest, int offset, int length) {
+        Alphabet.checkRange(dest.length, offset, length);
+        String value = generate(length);
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (c > 0xFF) {
+                throw new IllegalStateException("alphabet must only contain Latin-1 characters");
+            }
+
+            dest[offset + i] = (byte) c;
+        }
+    }
+
+    /**
+     * Generates a random string into a ByteBuffer as Latin-1 at its current
+     * position, advancing the position by the length.
+     * 
+     * @param dest   the destination
+     * @param length the length of the string to generate
+     * @throws java.nio.BufferOverflowException if the buffer has fewer than length
+     *                                          bytes remaining
+     * @throws IllegalStateException            if a character is not Latin-1
+     */
+    default void generate(ByteBuffer dest, int length) {
+        Alphabet.checkRange(dest, length);
+        if (dest.hasArray()) {
+            generate(dest.array(), dest.arrayOffset() + dest.position(), length);
+            dest.position(dest.position() + length);
+        } else {
+            byte[] bytes = new byte[length];
+            generate(bytes, 0, length);
+            dest.put(bytes);
+        }
+    }
 }
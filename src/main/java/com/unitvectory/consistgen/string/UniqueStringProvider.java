@@ -0,0 +1,278 @@
+/*
+ * Copyright 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.unitvectory.consistgen.string;
+
+import lombok.Builder;
+
+/**
+ * Provides strings from another StringProvider that are guaranteed not to
+ * repeat.
+ * 
+ * A 64 bit fingerprint of every string issued is tracked in an open addressing
+ * table stored outside of the heap, taking 8 to 16 bytes for every string
+ * regardless of its length. A generated string whose fingerprint has already
+ * been issued is discarded and generated again. Two different strings sharing
+ * a fingerprint only causes an unnecessary retry, so no string is ever issued
+ * twice.
+ * 
+ * By default, the RandomStringProvider is used, up to 1,048,576 strings can be
+ * issued and up to 100 attempts are made for every string. The capacity is
+ * allocated up front; issuing more strings than the capacity throws an
+ * IllegalStateException.
+ * 
+ * With a window, only the most recently issued strings are tracked, so a
+ * string is guaranteed not to repeat any of the previous window strings and
+ * there is no limit on the total number of strings issued.
+ * 
+ * An optional Bloom filter, about 10 bits per string, is checked before the
+ * table. A string the filter has never seen is added to the table without
+ * comparing fingerprints. As every issued string must still be added to the
+ * table, the filter adds a memory access rather than saving one, so it is off
+ * by default. The filter cannot forget strings, so it is not available with a
+ * window.
+ * 
+ * Generating strings is synchronized.
+ * 
+ * @author Jared Hatfield (UnitVectorY Labs)
+ */
+public class UniqueStringProvider implements StringProvider {
+
+    /**
+     * The default maximum number of strings tracked.
+     */
+    private static final long DEFAULT_CAPACITY = 1 << 20;
+
+    /**
+     * The default number of attempts to generate a unique string.
+     */
+    private static final int DEFAULT_MAX_ATTEMPTS = 100;
+
+    /**
+     * The provider generating candidate strings.
+     */
+    private final StringProvider provider;
+
+    /**
+     * The number of attempts to generate a unique string.
+     */
+    private final int maxAttempts;
+
+    /**
+     * The fingerprints of the strings tracked.
+     */
+    private final FingerprintSet fingerprints;
+
+    /**
+     * The Bloom filter checked before the table, or null.
+     */
+    private final BloomFilter bloomFilter;
+
+    /**
+     * The fingerprints of the window in the order issued, or null without a
+     * window.
+     */
+    private final OffHeapLongArray window;
+
+    /**
+     * The index in the window of the oldest fingerprint.
+     */
+    private long windowStart;
+
+    /**
+     * The number of candidate strings discarded as duplicates.
+     */
+    private long collisions;
+
+    /**
+     * Creates a new UniqueStringProvider.
+     * 
+     * @param provider    the provider generating candidate strings
+     * @param capacity    the maximum number of strings tracked
+     * @param window      the number of most recent strings that must not repeat,
+     *                    or null to track every string
+     * @param maxAttempts the number of attempts to generate a unique string
+     * @param bloomFilter true to check a Bloom filter before the table
+     */
+    @Builder
+    public UniqueStringProvider(StringProvider provider, Long capacity, Long window, Integer maxAttempts,
+            Boolean bloomFilter) {
+        if (provider == null) {
+            this.provider = RandomStringProvider.getInstance();
+        } else {
+            this.provider = provider;
+        }
+
+        if (maxAttempts == null) {
+            this.maxAttempts = DEFAULT_MAX_ATTEMPTS;
+        } else if (maxAttempts <= 0) {
+            throw new IllegalArgumentException("maxAttempts must be greater than 0");
+        } else {
+            this.maxAttempts = maxAttempts;
+        }
+
+        long tracked;
+        if (window == null) {
+            tracked = capacity == null ? DEFAULT_CAPACITY : capacity;
+            this.window = null;
+        } else if (window <= 0) {
+            throw new IllegalArgumentException("window must be greater than 0");
+        } else if (capacity != null && capacity < window) {
+            throw new IllegalArgumentException("capacity must be at least the window");
+        } else {
+            tracked = window;
+            this.window = new OffHeapLongArray(window);
+        }
+
+        if (tracked <= 0) {
+            throw new IllegalArgumentException("capacity must be greater than 0");
+        }
+
+        this.fingerprints = new FingerprintSet(tracked);
+
+        if (bloomFilter == null || !bloomFilter) {
+            this.bloomFilter = null;
+        } else if (this.window != null) {
+            throw new IllegalArgumentException("bloomFilter is not supported with a window");
+        } else {
+            this.bloomFilter = new BloomFilter(tracked);
+        }
+    }
+
+    @Override
+    public synchronized String generate(int length) {
+        Alphabet.checkLength(length);
+        for (int attempt = 0; attempt < this.maxAttempts; attempt++) {
+            String candidate = this.provider.generate(length);
+            if (issue(fingerprint(candidate))) {
+                return candidate;
+            }
+        }
+
+        throw new IllegalStateException("unable to generate a unique string");
+    }
+
+    @Override
+    public synchronized void generate(char[] dest, int offset, int length) {
+        Alphabet.checkRange(dest.length, offset, length);
+        for (int attempt = 0; attempt < this.maxAttempts; attempt++) {
+            this.provider.generate(dest, offset, length);
+            if (issue(fingerprint(dest, offset, length))) {
+                return;
+            }
+        }
+
+        throw new IllegalStateException("unable to generate a unique string");
+    }
+
+    @Override
+    public synchronized void generate(byte[] dest, int offset, int length) {
+        Alphabet.checkRange(dest.length, offset, length);
+        for (int attempt = 0; attempt < this.maxAttempts; attempt++) {
+            this.provider.generate(dest, offset, length);
+            if (issue(fingerprint(dest, offset, length))) {
+                return;
+            }
+        }
+
+        throw new IllegalStateException("unable to generate a unique string");
+    }
+
+    /**
+     * Gets the number of candidate strings discarded because they had already
+     * been issued.
+     * 
+     * @return the number of candidate strings discarded
+     */
+    public synchronized long getCollisions() {
+        return this.collisions;
+    }
+
+    /**
+     * Tracks the fingerprint of a candidate string if it has not been issued.
+     * 
+     * @param fingerprint the fingerprint
+     * @return true if the candidate can be issued
+     */
+    private boolean issue(long fingerprint) {
+        if (this.bloomFilter != null && this.bloomFilter.put(fingerprint)) {
+            return this.fingerprints.add(fingerprint);
+        }
+
+        if (this.window == null) {
+            if (this.fingerprints.add(fingerprint)) {
+                return true;
+            }
+        } else if (!this.fingerprints.contains(fingerprint)) {
+            long length = this.window.length();
+            long size = this.fingerprints.size();
+            if (size == length) {
+                this.fingerprints.remove(this.window.get(this.windowStart));
+                this.window.set(this.windowStart, fingerprint);
+                this.windowStart = this.windowStart + 1 == length ? 0 : this.windowStart + 1;
+            } else {
+                this.window.set((this.windowStart + size) % length, fingerprint);
+            }
+
+            this.fingerprints.add(fingerprint);
+            return true;
+        }
+
+        this.collisions++;
+        return false;
+    }
+
+    /**
+     * Computes the non-zero fingerprint of a string.
+     * 
+     * @param value the string
+     * @return the fingerprint
+     */
+    static long fingerprint(CharSequence value) {
+        int length = value.length();
+        long hash = length;
+        for (int i = 0; i < length; i++) {
+            hash = (hash ^ value.charAt(i)) * 0x100000001B3L + 0x9E3779B97F4A7C15L;
+        }
+
+        return finish(hash);
+    }
+
+    private static long fingerprint(char[] value, int offset, int length) {
+        long hash = length;
+        for (int i = offset; i < offset + length; i++) {
+            hash = (hash ^ value[i]) * 0x100000001B3L + 0x9E3779B97F4A7C15L;
+        }
+
+        return finish(hash);
+    }
+
+    private static long fingerprint(byte[] value, int offset, int length) {
+        long hash = length;
+        for (int i = offset; i < offset + length; i++) {
+            hash = (hash ^ (value[i] & 0xFF)) * 0x100000001B3L + 0x9E3779B97F4A7C15L;
+        }
+
+        return finish(hash);
+    }
+
+    private static long finish(long hash) {
+        // The MurmurHash3 finalizer so every bit depends on every character
+        hash ^= hash >>> 33;
+        hash *= 0xFF51AFD7ED558CCDL;
+        hash ^= hash >>> 33;
+        hash *= 0xC4CEB9FE1A85EC53L;
+        hash ^= hash >>> 33;
+        return hash == 0 ? 1 : hash;
+    }
+}
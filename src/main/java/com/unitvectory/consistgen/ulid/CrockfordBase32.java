@@ -0,0 +1,203 @@
+/*
+ * Copyright 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.unitvectory.consistgen.ulid;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+/**
+ * Encodes and decodes 128 bit values as 26 characters of Crockford's base32.
+ * 
+ * Every character is looked up from a table 5 bits at a time and written
+ * directly into the destination so no intermediate arrays are created. Values
+ * are always encoded in uppercase. When decoding, lowercase characters are
+ * accepted along with "I" and "L" for 1 and "O" for 0.
+ * 
+ * @author Jared Hatfield (UnitVectorY Labs)
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class CrockfordBase32 {
+
+    /**
+     * The length of an encoded 128 bit value.
+     */
+    public static final int LENGTH = 26;
+
+    /**
+     * The characters for every 5 bit value.
+     */
+    private static final byte[] ENCODE = "0123456789ABCDEFGHJKMNPQRSTVWXYZ".getBytes(StandardCharsets.US_ASCII);
+
+    /**
+     * The value of every ASCII character, -1 for characters that are not valid.
+     */
+    private static final byte[] DECODE = new byte[128];
+
+    /**
+     * Per thread scratch space used by UlidGenerator to pass both halves of a
+     * ULID.
+     */
+    private static final ThreadLocal<long[]> SCRATCH = ThreadLocal.withInitial(() -> new long[2]);
+
+    static {
+        Arrays.fill(DECODE, (byte) -1);
+        for (int i = 0; i < ENCODE.length; i++) {
+            DECODE[ENCODE[i]] = (byte) i;
+            DECODE[Character.toLowerCase(ENCODE[i])] = (byte) i;
+        }
+
+        DECODE['I'] = 1;
+        DECODE['i'] = 1;
+        DECODE['L'] = 1;
+        DECODE['l'] = 1;
+        DECODE['O'] = 0;
+        DECODE['o'] = 0;
+    }
+
+    /**
+     * Encodes a 128 bit value.
+     * 
+     * @param mostSignificantBits  the most significant bits
+     * @param leastSignificantBits the least significant bits
+     * @return the encoded value
+     */
+    public static String encode(long mostSignificantBits, long leastSignificantBits) {
+        byte[] ascii = new byte[LENGTH];
+        encode(mostSignificantBits, leastSignificantBits, ascii, 0);
+        return new String(ascii, StandardCharsets.ISO_8859_1);
+    }
+
+    /**
+     * Encodes a 128 bit value as 26 ASCII bytes.
+     * 
+     * @param mostSignificantBits  the most significant bits
+     * @param leastSignificantBits the least significant bits
+     * @param dest                 the destination
+     * @param offset               the offset in the destination
+     */
+    public static void encode(long mostSignificantBits, long leastSignificantBits, byte[] dest, int offset) {
+        checkBounds(dest.length, offset);
+        dest[offset] = ENCODE[(int) (mostSignificantBits >>> 61)];
+        for (int i = 1; i <= 12; i++) {
+            dest[offset + i] = ENCODE[(int) (mostSignificantBits >>> (61 - 5 * i)) & 31];
+        }
+
+        dest[offset + 13] = ENCODE[(int) (((mostSignificantBits & 1) << 4) | (leastSignificantBits >>> 60))];
+        for (int i = 14; i < LENGTH; i++) {
+            dest[offset + i] = ENCODE[(int) (leastSignificantBits >>> (125 - 5 * i)) & 31];
+        }
+    }
+
+    /**
+     * Encodes a 128 bit value as 26 characters.
+     * 
+     * @param mostSignificantBits  the most significant bits
+     * @param leastSignificantBits the least significant bits
+     * @param dest                 the destination
+     * @param offset               the offset in the destination
+     */
+    public static void encode(long mostSignificantBits, long leastSignificantBits, char[] dest, int offset) {
+        checkBounds(dest.length, offset);
+        dest[offset] = (char) ENCODE[(int) (mostSignificantBits >>> 61)];
+        for (int i = 1; i <= 12; i++) {
+            dest[offset + i] = (char) ENCODE[(int) (mostSignificantBits >>> (61 - 5 * i)) & 31];
+        }
+
+        dest[offset + 13] = (char) ENCODE[(int) (((mostSignificantBits & 1) << 4) | (leastSignificantBits >>> 60))];
+        for (int i = 14; i < LENGTH; i++) {
+            dest[offset + i] = (char) ENCODE[(int) (leastSignificantBits >>> (125 - 5 * i)) & 31];
+        }
+    }
+
+    /**
+     * Decodes the most significant bits of a 128 bit value.
+     * 
+     * @param value the encoded value
+     * @return the most significant bits
+     * @throws IllegalArgumentException if the value is not valid
+     */
+    public static long decodeMostSignificantBits(CharSequence value) {
+        checkValid(value);
+        long bits = DECODE[value.charAt(0)];
+        for (int i = 1; i <= 12; i++) {
+            bits = (bits << 5) | DECODE[value.charAt(i)];
+        }
+
+        return (bits << 1) | (DECODE[value.charAt(13)] >>> 4);
+    }
+
+    /**
+     * Decodes the least significant bits of a 128 bit value.
+     * 
+     * @param value the encoded value
+     * @return the least significant bits
+     * @throws IllegalArgumentException if the value is not valid
+     */
+    public static long decodeLeastSignificantBits(CharSequence value) {
+        checkValid(value);
+        long bits = DECODE[value.charAt(13)] & 15;
+        for (int i = 14; i < LENGTH; i++) {
+            bits = (bits << 5) | DECODE[value.charAt(i)];
+        }
+
+        return bits;
+    }
+
+    /**
+     * Checks if a value is a valid encoded 128 bit value.
+     * 
+     * @param value the value to check
+     * @return true if the value is valid
+     */
+    public static boolean isValid(CharSequence value) {
+        if (value == null || value.length() != LENGTH) {
+            return false;
+        }
+
+        for (int i = 0; i < LENGTH; i++) {
+            char c = value.charAt(i);
+            if (c >= DECODE.length || DECODE[c] < 0) {
+                return false;
+            }
+        }
+
+        // The first character only holds 3 bits
+        return DECODE[value.charAt(0)] < 8;
+    }
+
+    /**
+     * Gets the scratch space for the current thread.
+     * 
+     * @return two longs for the most and least significant bits
+     */
+    static long[] scratch() {
+        return SCRATCH.get();
+    }
+
+    private static void checkValid(CharSequence value) {
+        if (!isValid(value)) {
+            throw new IllegalArgumentException("value must be 26 characters of Crockford's base32");
+        }
+    }
+
+    private static void checkBounds(int capacity, int offset) {
+        if (offset < 0 || offset > capacity - LENGTH) {
+            throw new IndexOutOfBoundsException(
+                    "range [" + offset + ", " + offset + " + " + LENGTH + ") out of bounds for length " + capacity);
+        }
+    }
+}
@@ -0,0 +1,165 @@
+/*
+ * Copyright 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.unitvectory.consistgen.ulid;
+
+import java.util.Random;
+
+import com.unitvectory.consistgen.epoch.EpochTimeProvider;
+import com.unitvectory.consistgen.epoch.SystemEpochTimeProvider;
+import com.unitvectory.consistgen.random.BufferedSecureRandom;
+
+import lombok.Builder;
+
+/**
+ * Generates a ULID from the epoch time and random bits.
+ * 
+ * The first 48 bits hold the epoch time in milliseconds read from the
+ * EpochTimeProvider and the remaining 80 bits are random.
+ * 
+ * In monotonic mode, a ULID generated within the same millisecond as the
+ * previous one, or after the clock moves backwards, is the previous ULID
+ * incremented by one instead of new random bits, so ULIDs from the same
+ * instance are strictly increasing. Should the random bits overflow the
+ * increment carries into the timestamp. Monotonic generation is synchronized
+ * as both halves of the previous ULID must be updated together.
+ * 
+ * By default, the SystemEpochTimeProvider and the BufferedSecureRandom are
+ * used and monotonic mode is disabled.
+ * 
+ * @author Jared Hatfield (UnitVectorY Labs)
+ */
+public class TimeOrderedUlidGenerator implements UlidGenerator {
+
+    /**
+     * The default instance of the TimeOrderedUlidGenerator.
+     */
+    private static final TimeOrderedUlidGenerator INSTANCE = TimeOrderedUlidGenerator.builder().build();
+
+    /**
+     * The mask for the 48 bit timestamp.
+     */
+    private static final long TIMESTAMP_MASK = (1L << 48) - 1;
+
+    /**
+     * The epoch time provider for the timestamp.
+     */
+    private final EpochTimeProvider epochTimeProvider;
+
+    /**
+     * The random number generator for the random bits.
+     */
+    private final Random random;
+
+    /**
+     * True if ULIDs within the same millisecond are incremented.
+     */
+    private final boolean monotonic;
+
+    /**
+     * The timestamp of the last ULID generated in monotonic mode.
+     */
+    private long lastTimestamp = -1;
+
+    /**
+     * The most significant bits of the last ULID generated in monotonic mode.
+     */
+    private long lastMostSignificantBits;
+
+    /**
+     * The least significant bits of the last ULID generated in monotonic mode.
+     */
+    private long lastLeastSignificantBits;
+
+    /**
+     * Creates a new TimeOrderedUlidGenerator.
+     * 
+     * @param epochTimeProvider the epoch time provider to use
+     * @param random            the random number generator to use
+     * @param monotonic         true to increment ULIDs within the same
+     *                          millisecond
+     */
+    @Builder
+    public TimeOrderedUlidGenerator(EpochTimeProvider epochTimeProvider, Random random, Boolean monotonic) {
+        if (epochTimeProvider == null) {
+            this.epochTimeProvider = SystemEpochTimeProvider.getInstance();
+        } else {
+            this.epochTimeProvider = epochTimeProvider;
+        }
+
+        if (random == null) {
+            this.random = BufferedSecureRandom.getInstance();
+        } else {
+            this.random = random;
+        }
+
+        this.monotonic = monotonic != null && monotonic;
+    }
+
+    /**
+     * Gets the instance of the TimeOrderedUlidGenerator.
+     * 
+     * The default implementation utilizes the SystemEpochTimeProvider and the
+     * BufferedSecureRandom and is not monotonic.
+     * 
+     * @return the default instance of the TimeOrderedUlidGenerator
+     */
+    public static TimeOrderedUlidGenerator getInstance() {
+        return INSTANCE;
+    }
+
+    @Override
+    public String generateUlid() {
+        long[] bits = CrockfordBase32.scratch();
+        generateUlidBits(bits, 0);
+        return CrockfordBase32.encode(bits[0], bits[1]);
+    }
+
+    @Override
+    public void generateUlidBits(long[] dest, int offset) {
+        long timestamp = this.epochTimeProvider.epochTimeMilliseconds() & TIMESTAMP_MASK;
+        if (this.monotonic) {
+            nextMonotonic(timestamp, dest, offset);
+        } else {
+            dest[offset] = (timestamp << 16) | (this.random.nextInt() & 0xFFFF);
+            dest[offset + 1] = this.random.nextLong();
+        }
+    }
+
+    /**
+     * Gets the epoch time in milliseconds of a ULID.
+     * 
+     * @param ulid the ULID
+     * @return the epoch time in milliseconds
+     */
+    public static long extractEpochTimeMilliseconds(CharSequence ulid) {
+        return CrockfordBase32.decodeMostSignificantBits(ulid) >>> 16;
+    }
+
+    private synchronized void nextMonotonic(long timestamp, long[] dest, int offset) {
+        if (timestamp > this.lastTimestamp) {
+            this.lastTimestamp = timestamp;
+            this.lastMostSignificantBits = (timestamp << 16) | (this.random.nextInt() & 0xFFFF);
+            this.lastLeastSignificantBits = this.random.nextLong();
+        } else {
+            this.lastLeastSignificantBits++;
+            if (this.lastLeastSignificantBits == 0) {
+                this.lastMostSignificantBits++;
+                this.lastTimestamp = this.lastMostSignificantBits >>> 16;
+            }
+        }
+
+        dest[offset] = this.lastMostSignificantBits;
+        dest[offset + 1] = this.lastLeastSignificantBits;
+    }
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.unitvectory.consistgen.ulid;
+
+/**
+ * Generates a ULID.
+ * 
+ * A ULID is a 128 bit value made up of a 48 bit timestamp followed by 80
+ * random bits, encoded as 26 characters of Crockford's base32 so that ULIDs
+ * sort lexicographically by time.
+ * 
+ * In addition to the String form, a ULID can be written as its two 64 bit
+ * halves or its 26 character form directly into a caller supplied destination
+ * without allocating. Implementations only need to provide generateUlid(); the
+ * remaining methods fall back to decoding that value unless overridden with a
+ * primitive implementation.
+ * 
+ * @author Jared Hatfield (UnitVectorY Labs)
+ */
+public interface UlidGenerator {
+
+    /**
+     * Generates a ULID.
+     * 
+     * @return the ULID
+     */
+    String generateUlid();
+
+    /**
+     * Generates a ULID as its most significant bits followed by its least
+     * significant bits.
+     * 
+     * @param dest   the destination
+     * @param offset the offset in the destination
+     */
+    default void generateUlidBits(long[] dest, int offset) {
+        String ulid = generateUlid();
+        dest[offset] = CrockfordBase32.decodeMostSignificantBits(ulid);
+        dest[offset + 1] = CrockfordBase32.decodeLeastSignificantBits(ulid);
+    }
+
+    /**
+     * Generates a ULID as 26 characters.
+     * 
+     * @param dest   the destination
+     * @param offset the offset in the destination
+     */
+    default void generateUlidChars(char[] dest, int offset) {
+        long[] bits = CrockfordBase32.scratch();
+        generateUlidBits(bits, 0);
+        CrockfordBase32.encode(bits[0], bits[1], dest, offset);
+    }
+
+    /**
+     * Generates a ULID as 26 ASCII bytes.
+     * 
+     * @param dest   the destination
+     * @param offset the offset in the destination
+     */
+    default void generateUlidAscii(byte[] dest, int offset) {
+        long[] bits = CrockfordBase32.scratch();
+        generateUlidBits(bits, 0);
+        CrockfordBase32.encode(bits[0], bits[1], dest, offset);
+    }
+}
@@ -0,0 +1,322 @@
+/*
+ * Copyright 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.unitvectory.consistgen.uuid;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+import lombok.Builder;
+
+/**
+ * Generates name-based UUIDs.
+ * 
+ * The UUID is derived from the namespace and the name, so the same name always
+ * generates the same UUID. Version 5 UUIDs use SHA-1 and version 3 UUIDs use
+ * MD5. Unlike the other generators the UUID depends on the name provided for
+ * every call, so this does not implement UuidGenerator.
+ * 
+ * When a cache size is specified, UUIDs are kept in a bounded least recently
+ * used cache keyed by name so names that repeat are not hashed again. The cache
+ * is split into independently locked segments so it can be used by many
+ * threads. The number of cache hits and misses can be used to size the cache.
+ * 
+ * The default namespace is "00000000-0000-0000-0000-000000000000", the default
+ * version is 5 and by default no cache is used.
+ * 
+ * @author Jared Hatfield (UnitVectorY Labs)
+ */
+public class NameUuidGenerator {
+
+    /**
+     * The namespace for fully-qualified domain names.
+     */
+    public static final String NAMESPACE_DNS = "6ba7b810-9dad-11d1-80b4-00c04fd430c8";
+
+    /**
+     * The namespace for URLs.
+     */
+    public static final String NAMESPACE_URL = "6ba7b811-9dad-11d1-80b4-00c04fd430c8";
+
+    /**
+     * The namespace for ISO object identifiers.
+     */
+    public static final String NAMESPACE_OID = "6ba7b812-9dad-11d1-80b4-00c04fd430c8";
+
+    /**
+     * The namespace for X.500 distinguished names.
+     */
+    public static final String NAMESPACE_X500 = "6ba7b814-9dad-11d1-80b4-00c04fd430c8";
+
+    /**
+     * The default namespace.
+     */
+    private static final String DEFAULT_NAMESPACE = "00000000-0000-0000-0000-000000000000";
+
+    /**
+     * The mask for the version bits of the most significant bits.
+     */
+    private static final long VERSION_MASK = 0xF000L;
+
+    /**
+     * The mask for the hashed bits of the least significant bits.
+     */
+    private static final long HASH_MASK = 0x3FFFFFFFFFFFFFFFL;
+
+    /**
+     * The IETF variant bits of the least significant bits.
+     */
+    private static final long VARIANT = 0x8000000000000000L;
+
+    /**
+     * The maximum number of cache segments.
+     */
+    private static final int MAX_SEGMENTS = 16;
+
+    /**
+     * The minimum number of entries in a cache segment.
+     */
+    private static final int MIN_SEGMENT_SIZE = 64;
+
+    /**
+     * The binary form of the namespace.
+     */
+    private final byte[] namespace;
+
+    /**
+     * The version bits of the most significant bits.
+     */
+    private final long version;
+
+    /**
+     * The message digest of every thread.
+     */
+    private final ThreadLocal<MessageDigest> digests;
+
+    /**
+     * The cache segments, null if no cache is used.
+     */
+    private final Segment[] segments;
+
+    /**
+     * The number of cache hits.
+     */
+    private final LongAdder hits = new LongAdder();
+
+    /**
+     * The number of cache misses.
+     */
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * Creates a new NameUuidGenerator.
+     * 
+     * @param namespace the namespace UUID in the canonical format
+     * @param version   the UUID version, either 3 or 5
+     * @param cacheSize the maximum number of UUIDs to cache, 0 for no cache
+     */
+    @Builder
+    public NameUuidGenerator(String namespace, Integer version, Integer cacheSize) {
+        if (namespace == null) {
+            namespace = DEFAULT_NAMESPACE;
+        } else if (!UuidFormat.isCanonical(namespace)) {
+            throw new IllegalArgumentException("namespace must be in the canonical format");
+        }
+
+        this.namespace = new byte[UuidFormat.BYTES];
+        UuidFormat.writeBytes(UuidFormat.parseMostSignificantBits(namespace),
+                UuidFormat.parseLeastSignificantBits(namespace), this.namespace, 0);
+
+        String algorithm;
+        if (version == null || version == 5) {
+            this.version = 0x5000L;
+            algorithm = "SHA-1";
+        } else if (version == 3) {
+            this.version = 0x3000L;
+            algorithm = "MD5";
+        } else {
+            throw new IllegalArgumentException("version must be 3 or 5");
+        }
+
+        this.digests = ThreadLocal.withInitial(() -> newMessageDigest(algorithm));
+
+        if (cacheSize == null || cacheSize == 0) {
+            this.segments = null;
+        } else if (cacheSize < 0) {
+            throw new IllegalArgumentException("cacheSize must not be negative");
+        } else {
+            int count = 1;
+            while (count < MAX_SEGMENTS && cacheSize / (count * 2) >= MIN_SEGMENT_SIZE) {
+                count *= 2;
+            }
+
+            this.segments = new Segment[count];
+            for (int i = 0; i < count; i++) {
+                // Spread the remainder so the total capacity matches the cache size
+                this.segments[i] = new Segment(cacheSize / count + (i < cacheSize % count ? 1 : 0));
+            }
+        }
+    }
+
+    /**
+     * Generates the UUID for a name.
+     * 
+     * @param name the name
+     * @return the UUID
+     */
+    public String generateUuid(String name) {
+        if (this.segments == null) {
+            byte[] hash = hash(name);
+            return UuidFormat.toString(mostSignificantBits(hash), leastSignificantBits(hash));
+        }
+
+        return entry(name).uuid;
+    }
+
+    /**
+     * Generates the UUID for a name as its most significant bits followed by its
+     * least significant bits.
+     * 
+     * @param name   the name
+     * @param dest   the destination
+     * @param offset the offset in the destination
+     */
+    public void generateUuidBits(String name, long[] dest, int offset) {
+        if (this.segments == null) {
+            byte[] hash = hash(name);
+            dest[offset] = mostSignificantBits(hash);
+            dest[offset + 1] = leastSignificantBits(hash);
+            return;
+        }
+
+        Entry entry = entry(name);
+        dest[offset] = entry.mostSignificantBits;
+        dest[offset + 1] = entry.leastSignificantBits;
+    }
+
+    /**
+     * Gets the number of times a UUID was found in the cache.
+     * 
+     * @return the number of cache hits
+     */
+    public long getCacheHits() {
+        return this.hits.sum();
+    }
+
+    /**
+     * Gets the number of times a UUID was not found in the cache and had to be
+     * hashed.
+     * 
+     * @return the number of cache misses
+     */
+    public long getCacheMisses() {
+        return this.misses.sum();
+    }
+
+    private Entry entry(String name) {
+        if (name == null) {
+            throw new IllegalArgumentException("name must not be null");
+        }
+
+        int h = name.hashCode();
+        Segment segment = this.segments[(h ^ (h >>> 16)) & (this.segments.length - 1)];
+        Entry entry;
+        synchronized (segment) {
+            entry = segment.get(name);
+        }
+
+        if (entry != null) {
+            this.hits.increment();
+            return entry;
+        }
+
+        this.misses.increment();
+        byte[] hash = hash(name);
+        long most = mostSignificantBits(hash);
+        long least = leastSignificantBits(hash);
+        entry = new Entry(most, least, UuidFormat.toString(most, least));
+        synchronized (segment) {
+            segment.put(name, entry);
+        }
+
+        return entry;
+    }
+
+    private byte[] hash(String name) {
+        if (name == null) {
+            throw new IllegalArgumentException("name must not be null");
+        }
+
+        MessageDigest digest = this.digests.get();
+        digest.update(this.namespace);
+        return digest.digest(name.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private long mostSignificantBits(byte[] hash) {
+        return (UuidFormat.readMostSignificantBits(hash, 0) & ~VERSION_MASK) | this.version;
+    }
+
+    private static long leastSignificantBits(byte[] hash) {
+        return (UuidFormat.readLeastSignificantBits(hash, 0) & HASH_MASK) | VARIANT;
+    }
+
+    private static MessageDigest newMessageDigest(String algorithm) {
+        try {
+            return MessageDigest.getInstance(algorithm);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(algorithm + " is not available", e);
+        }
+    }
+
+    /**
+     * A generated UUID.
+     */
+    private static final class Entry {
+
+        private final long mostSignificantBits;
+
+        private final long leastSignificantBits;
+
+        private final String uuid;
+
+        private Entry(long mostSignificantBits, long leastSignificantBits, String uuid) {
+            this.mostSignificantBits = mostSignificantBits;
+            this.leastSignificantBits = leastSignificantBits;
+            this.uuid = uuid;
+        }
+    }
+
+    /**
+     * A least recently used cache segment, guarded by its own monitor.
+     */
+    private static final class Segment extends LinkedHashMap<String, Entry> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final int capacity;
+
+        private Segment(int capacity) {
+            super(16, 0.75f, true);
+            this.capacity = capacity;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+            return size() > this.capacity;
+        }
+    }
+}
@@ -13,13 +13,22 @@
  */
 package com.unitvectory.consistgen.uuid;
 
-import java.util.UUID;
+import java.util.Random;
+
+import com.unitvectory.consistgen.random.BufferedSecureRandom;
 
 import lombok.AccessLevel;
 import lombok.NoArgsConstructor;
 
 /**
- * Generates a UUID whose value is random.
+ * Generates a version 4 UUID whose value is random.
+ * 
+ * The random bits are drawn from the shared BufferedSecureRandom, so many
+ * threads can generate UUIDs without contending on a single SecureRandom, and
+ * formatted directly without creating a java.util.UUID. When generating in bulk
+ * the random bytes for a whole batch are drawn in a single call.
+ * 
+ * @see BufferedSecureRandom
  * 
  * @author Jared Hatfield (UnitVectorY Labs)
  */
@@ -28,6 +37,31 @@ public class RandomUuidGenerator implements UuidGenerator {
 
     private static final RandomUuidGenerator INSTANCE = new RandomUuidGenerator();
 
+    /**
+     * The version 4 bits of the most significant bits.
+     */
+    private static final long VERSION = 0x4000L;
+
+    /**
+     * The mask for the version bits of the most significant bits.
+     */
+    private static final long VERSION_MASK = 0xF000L;
+
+    /**
+     * The mask for the random bits of the least significant bits.
+     */
+    private static final long RANDOM_MASK = 0x3FFFFFFFFFFFFFFFL;
+
+    /**
+     * The IETF variant bits of the least significant bits.
+     */
+    private static final long VARIANT = 0x8000000000000000L;
+
+    /**
+     * The random number generator for the random bits.
+     */
+    private final Random random = BufferedSecureRandom.getInstance();
+
     /**
      * Gets the instance of the RandomUuidGenerator.
      * 
@@ -39,6 +73,43 @@ public class RandomUuidGenerator implements UuidGenerator {
 
     @Override
     public String generateUuid() {
-        return UUID.randomUUID().toString();
+        return UuidFormat.toString(mostSignificantBits(), leastSignificantBits());
+    }
+
+    @Override
+    public void generateUuidBits(long[] dest, int offset) {
+        dest[offset] = mostSignificantBits();
+        dest[offset + 1] = leastSignificantBits();
+    }
+
+    @Override
+    public void generateUuids(long[] dest, int offset, int count) {
+        UuidFormat.checkBulk(dest.length, offset, count);
+        byte[] bytes = new byte[Math.min(count, UuidFormat.CHUNK) * UuidFormat.BYTES];
+        int index = offset;
+        for (int remaining = count; remaining > 0;) {
+            int n = Math.min(remaining, UuidFormat.CHUNK);
+            if (n * UuidFormat.BYTES < bytes.length) {
+                bytes = new byte[n * UuidFormat.BYTES];
+            }
+
+            random.nextBytes(bytes);
+            for (int i = 0; i < n; i++) {
+                long most = UuidFormat.readMostSignificantBits(bytes, i * UuidFormat.BYTES);
+                long least = UuidFormat.readLeastSignificantBits(bytes, i * UuidFormat.BYTES);
+                dest[index++] = (most & ~VERSION_MASK) | VERSION;
+                dest[index++] = (least & RANDOM_MASK) | VARIANT;
+            }
+
+            remaining -= n;
+        }
+    }
+
+    private long mostSignificantBits() {
+        return (random.nextLong() & ~VERSION_MASK) | VERSION;
+    }
+
+    private long leastSignificantBits() {
+        return (random.nextLong() & RANDOM_MASK) | VARIANT;
     }
 }
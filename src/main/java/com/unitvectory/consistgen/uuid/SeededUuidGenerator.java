@@ -0,0 +1,119 @@
+/*
+ * Copyright 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.unitvectory.consistgen.uuid;
+
+import java.util.SplittableRandom;
+
+import lombok.Builder;
+
+/**
+ * Generates version 4 UUIDs from a seeded pseudorandom sequence.
+ * 
+ * The same seed always generates the same sequence of UUIDs. The random bits
+ * come from a SplittableRandom which is fast but is not cryptographically
+ * strong, so these UUIDs are intended for reproducible tests and not for
+ * identifiers that must be unguessable.
+ * 
+ * Instances are not thread-safe. Instead, split() is used to create an
+ * independent generator for every worker thread; splitting in the same order
+ * from the same seed always produces the same generators.
+ * 
+ * The default seed is 0.
+ * 
+ * @see SplittableRandom
+ * 
+ * @author Jared Hatfield (UnitVectorY Labs)
+ */
+public class SeededUuidGenerator implements UuidGenerator {
+
+    /**
+     * The version 4 bits of the most significant bits.
+     */
+    private static final long VERSION = 0x4000L;
+
+    /**
+     * The mask for the version bits of the most significant bits.
+     */
+    private static final long VERSION_MASK = 0xF000L;
+
+    /**
+     * The mask for the random bits of the least significant bits.
+     */
+    private static final long RANDOM_MASK = 0x3FFFFFFFFFFFFFFFL;
+
+    /**
+     * The IETF variant bits of the least significant bits.
+     */
+    private static final long VARIANT = 0x8000000000000000L;
+
+    /**
+     * The pseudorandom number generator for the random bits.
+     */
+    private final SplittableRandom random;
+
+    /**
+     * Creates a new SeededUuidGenerator.
+     * 
+     * @param seed the seed
+     */
+    @Builder
+    public SeededUuidGenerator(Long seed) {
+        if (seed == null) {
+            this.random = new SplittableRandom(0);
+        } else {
+            this.random = new SplittableRandom(seed);
+        }
+    }
+
+    private SeededUuidGenerator(SplittableRandom random) {
+        this.random = random;
+    }
+
+    /**
+     * Creates a new generator that shares no state with this generator.
+     * 
+     * @return the new generator
+     */
+    public SeededUuidGenerator split() {
+        return new SeededUuidGenerator(this.random.split());
+    }
+
+    @Override
+    public String generateUuid() {
+        return UuidFormat.toString(mostSignificantBits(), leastSignificantBits());
+    }
+
+    @Override
+    public void generateUuidBits(long[] dest, int offset) {
+        dest[offset] = mostSignificantBits();
+        dest[offset + 1] = leastSignificantBits();
+    }
+
+    @Override
+    public void generateUuids(long[] dest, int offset, int count) {
+        UuidFormat.checkBulk(dest.length, offset, count);
+        for (int i = offset; i < offset + count * 2; i += 2) {
+            dest[i] = mostSignificantBits();
+            dest[i + 1] = leastSignificantBits();
+        }
+    }
+
+    private long mostSignificantBits() {
+        return (random.nextLong() & ~VERSION_MASK) | VERSION;
+    }
+
+    private long leastSignificantBits() {
+        return (random.nextLong() & RANDOM_MASK) | VARIANT;
+    }
+}
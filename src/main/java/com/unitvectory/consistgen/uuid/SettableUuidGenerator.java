@@ -20,6 +20,10 @@ import lombok.Builder;
  * 
  * The UUID will default to "00000000-0000-0000-0000-000000000000"
  * 
+ * When the UUID is in the canonical format its binary form is parsed when it
+ * is set so the primitive methods of UuidGenerator do not parse it on every
+ * call.
+ * 
  * @author Jared Hatfield (UnitVectorY Labs)
  */
 public class SettableUuidGenerator implements UuidGenerator {
@@ -34,6 +38,21 @@ public class SettableUuidGenerator implements UuidGenerator {
      */
     private String uuid;
 
+    /**
+     * The most significant bits of the UUID.
+     */
+    private long mostSignificantBits;
+
+    /**
+     * The least significant bits of the UUID.
+     */
+    private long leastSignificantBits;
+
+    /**
+     * True if the UUID is in the canonical format.
+     */
+    private boolean canonical;
+
     /**
      * Create a new SettableUuidGenerator.
      * 
@@ -41,11 +60,7 @@ public class SettableUuidGenerator implements UuidGenerator {
      */
     @Builder
     public SettableUuidGenerator(String uuid) {
-        if (uuid == null) {
-            this.uuid = DEFAULT;
-        } else {
-            this.uuid = uuid;
-        }
+        this.setUuid(uuid);
     }
 
     @Override
@@ -53,6 +68,29 @@ public class SettableUuidGenerator implements UuidGenerator {
         return this.uuid;
     }
 
+    @Override
+    public void generateUuidBits(long[] dest, int offset) {
+        if (!this.canonical) {
+            throw new IllegalStateException("uuid must be in the canonical format");
+        }
+
+        dest[offset] = this.mostSignificantBits;
+        dest[offset + 1] = this.leastSignificantBits;
+    }
+
+    @Override
+    public void generateUuids(long[] dest, int offset, int count) {
+        UuidFormat.checkBulk(dest.length, offset, count);
+        if (!this.canonical) {
+            throw new IllegalStateException("uuid must be in the canonical format");
+        }
+
+        for (int i = offset; i < offset + count * 2; i += 2) {
+            dest[i] = this.mostSignificantBits;
+            dest[i + 1] = this.leastSignificantBits;
+        }
+    }
+
     /**
      * Set the UUID.
      * 
@@ -67,5 +105,9 @@ public class SettableUuidGenerator implements UuidGenerator {
         } else {
             this.uuid = uuid;
         }
+
+        this.canonical = UuidFormat.isCanonical(this.uuid);
+        this.mostSignificantBits = this.canonical ? UuidFormat.parseMostSignificantBits(this.uuid) : 0;
+        this.leastSignificantBits = this.canonical ? UuidFormat.parseLeastSignificantBits(this.uuid) : 0;
     }
 }
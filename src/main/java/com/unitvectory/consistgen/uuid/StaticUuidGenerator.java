@@ -18,6 +18,9 @@ import lombok.Builder;
 /**
  * Generates a UUID whose value is always the same.
  * 
+ * When the UUID is in the canonical format its binary form is parsed once so
+ * the primitive methods of UuidGenerator do not parse it on every call.
+ * 
  * @author Jared Hatfield (UnitVectorY Labs)
  */
 public class StaticUuidGenerator implements UuidGenerator {
@@ -27,6 +30,21 @@ public class StaticUuidGenerator implements UuidGenerator {
      */
     private final String uuid;
 
+    /**
+     * The most significant bits of the UUID.
+     */
+    private final long mostSignificantBits;
+
+    /**
+     * The least significant bits of the UUID.
+     */
+    private final long leastSignificantBits;
+
+    /**
+     * True if the UUID is in the canonical format.
+     */
+    private final boolean canonical;
+
     /**
      * Creates a new StaticUuidGenerator.
      * 
@@ -39,6 +57,10 @@ public class StaticUuidGenerator implements UuidGenerator {
         } else {
             this.uuid = uuid;
         }
+
+        this.canonical = UuidFormat.isCanonical(this.uuid);
+        this.mostSignificantBits = this.canonical ? UuidFormat.parseMostSignificantBits(this.uuid) : 0;
+        this.leastSignificantBits = this.canonical ? UuidFormat.parseLeastSignificantBits(this.uuid) : 0;
     }
 
     @Override
@@ -46,4 +68,26 @@ public class StaticUuidGenerator implements UuidGenerator {
         return uuid;
     }
 
+    @Override
+    public void generateUuidBits(long[] dest, int offset) {
+        if (!this.canonical) {
+            throw new IllegalStateException("uuid must be in the canonical format");
+        }
+
+        dest[offset] = this.mostSignificantBits;
+        dest[offset + 1] = this.leastSignificantBits;
+    }
+
+    @Override
+    public void generateUuids(long[] dest, int offset, int count) {
+        UuidFormat.checkBulk(dest.length, offset, count);
+        if (!this.canonical) {
+            throw new IllegalStateException("uuid must be in the canonical format");
+        }
+
+        for (int i = offset; i < offset + count * 2; i += 2) {
+            dest[i] = this.mostSignificantBits;
+            dest[i + 1] = this.leastSignificantBits;
+        }
+    }
 }
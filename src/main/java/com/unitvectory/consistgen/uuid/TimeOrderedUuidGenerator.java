@@ -0,0 +1,193 @@
+/*
+ * Copyright 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.unitvectory.consistgen.uuid;
+
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.unitvectory.consistgen.epoch.EpochTimeProvider;
+import com.unitvectory.consistgen.epoch.SystemEpochTimeProvider;
+import com.unitvectory.consistgen.random.BufferedSecureRandom;
+
+import lombok.Builder;
+
+/**
+ * Generates a time-ordered version 7 UUID.
+ *
+ * The first 48 bits hold the epoch time in milliseconds read from the
+ * EpochTimeProvider, followed by a 12 bit counter that is incremented for every
+ * UUID generated within the same millisecond, with the remaining 62 bits being
+ * random. The timestamp and counter are reserved together with a single
+ * compare-and-set so UUIDs are generated without a lock and are strictly
+ * increasing for a given instance.
+ *
+ * If the counter is exhausted within a millisecond, or the clock moves
+ * backwards, the timestamp is carried forward from the last UUID generated so
+ * ordering is preserved.
+ *
+ * By default, the SystemEpochTimeProvider and the BufferedSecureRandom are
+ * used. Using a StaticEpochTimeProvider or SettableEpochTimeProvider along
+ * with a seeded Random makes the generated sequence fully deterministic.
+ *
+ * @author Jared Hatfield (UnitVectorY Labs)
+ */
+public class TimeOrderedUuidGenerator implements UuidGenerator {
+
+    /**
+     * The default instance of the TimeOrderedUuidGenerator.
+     */
+    private static final TimeOrderedUuidGenerator INSTANCE = TimeOrderedUuidGenerator.builder().build();
+
+    /**
+     * The number of bits used by the counter.
+     */
+    private static final int COUNTER_BITS = 12;
+
+    /**
+     * The mask for the counter.
+     */
+    private static final long COUNTER_MASK = (1L << COUNTER_BITS) - 1;
+
+    /**
+     * The mask for the 48 bit timestamp.
+     */
+    private static final long TIMESTAMP_MASK = (1L << 48) - 1;
+
+    /**
+     * The version 7 bits of the most significant bits.
+     */
+    private static final long VERSION = 0x7000L;
+
+    /**
+     * The mask for the random bits of the least significant bits.
+     */
+    private static final long RANDOM_MASK = 0x3FFFFFFFFFFFFFFFL;
+
+    /**
+     * The IETF variant bits of the least significant bits.
+     */
+    private static final long VARIANT = 0x8000000000000000L;
+
+    /**
+     * The epoch time provider for the timestamp.
+     */
+    private final EpochTimeProvider epochTimeProvider;
+
+    /**
+     * The random number generator for the random bits.
+     */
+    private final Random random;
+
+    /**
+     * The timestamp and counter of the last UUID generated.
+     */
+    private final AtomicLong state = new AtomicLong(-1);
+
+    /**
+     * Creates a new TimeOrderedUuidGenerator.
+     *
+     * @param epochTimeProvider the epoch time provider to use
+     * @param random            the random number generator to use
+     */
+    @Builder
+    public TimeOrderedUuidGenerator(EpochTimeProvider epochTimeProvider, Random random) {
+        if (epochTimeProvider == null) {
+            this.epochTimeProvider = SystemEpochTimeProvider.getInstance();
+        } else {
+            this.epochTimeProvider = epochTimeProvider;
+        }
+
+        if (random == null) {
+            this.random = BufferedSecureRandom.getInstance();
+        } else {
+            this.random = random;
+        }
+    }
+
+    /**
+     * Gets the instance of the TimeOrderedUuidGenerator.
+     *
+     * The default implementation utilizes the SystemEpochTimeProvider and the
+     * BufferedSecureRandom.
+     *
+     * @return the default instance of the TimeOrderedUuidGenerator
+     */
+    public static TimeOrderedUuidGenerator getInstance() {
+        return INSTANCE;
+    }
+
+    @Override
+    public String generateUuid() {
+        long next = nextState();
+        return UuidFormat.toString(mostSignificantBits(next), leastSignificantBits());
+    }
+
+    @Override
+    public void generateUuidBits(long[] dest, int offset) {
+        long next = nextState();
+        dest[offset] = mostSignificantBits(next);
+        dest[offset + 1] = leastSignificantBits();
+    }
+
+    @Override
+    public void generateUuids(long[] dest, int offset, int count) {
+        UuidFormat.checkBulk(dest.length, offset, count);
+        if (count == 0) {
+            return;
+        }
+
+        long next = reserveStates(count);
+        for (int i = 0; i < count; i++) {
+            dest[offset + i * 2] = mostSignificantBits(next + i);
+            dest[offset + i * 2 + 1] = leastSignificantBits();
+        }
+    }
+
+    /**
+     * Reserves the next timestamp and counter.
+     *
+     * @return the timestamp shifted left by the counter bits combined with the
+     *         counter
+     */
+    private long nextState() {
+        return reserveStates(1);
+    }
+
+    /**
+     * Reserves a consecutive range of timestamps and counters with a single
+     * compare-and-set.
+     *
+     * @param count the number of states to reserve
+     * @return the first state reserved
+     */
+    private long reserveStates(int count) {
+        long candidate = (epochTimeProvider.epochTimeMilliseconds() & TIMESTAMP_MASK) << COUNTER_BITS;
+        long current;
+        long first;
+        do {
+            current = state.get();
+            first = candidate > current ? candidate : current + 1;
+        } while (!state.compareAndSet(current, first + count - 1));
+
+        return first;
+    }
+
+    private static long mostSignificantBits(long state) {
+        return ((state >>> COUNTER_BITS) << 16) | VERSION | (state & COUNTER_MASK);
+    }
+
+    private long leastSignificantBits() {
+        return (random.nextLong() & RANDOM_MASK) | VARIANT;
+    }
+}
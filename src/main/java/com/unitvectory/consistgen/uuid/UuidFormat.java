@@ -0,0 +1,354 @@
+/*
+ * Copyright 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.unitvectory.consistgen.uuid;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+/**
+ * Converts UUIDs between their two 64 bit halves, the 16 byte big-endian
+ * binary form and the 36 character canonical form.
+ *
+ * Hex digits are looked up from a table one byte at a time and written directly
+ * into the destination so no intermediate objects are created. The canonical
+ * form is always written in lowercase.
+ *
+ * @author Jared Hatfield (UnitVectorY Labs)
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class UuidFormat {
+
+    /**
+     * The length of the canonical form of a UUID.
+     */
+    public static final int STRING_LENGTH = 36;
+
+    /**
+     * The length of the binary form of a UUID.
+     */
+    public static final int BYTES = 16;
+
+    /**
+     * The number of UUIDs generated at a time when generating in bulk through an
+     * intermediate buffer.
+     */
+    static final int CHUNK = 256;
+
+    /**
+     * The hex digits for every byte value, two entries per byte.
+     */
+    private static final byte[] HEX_PAIRS = new byte[512];
+
+    /**
+     * The value of every ASCII hex digit, -1 for characters that are not hex
+     * digits.
+     */
+    private static final byte[] HEX_VALUES = new byte[128];
+
+    /**
+     * Big-endian view for reading and writing longs in a byte array.
+     */
+    private static final VarHandle LONGS = MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.BIG_ENDIAN);
+
+    /**
+     * Per thread scratch space used by UuidGenerator to pass both halves of a
+     * UUID.
+     */
+    private static final ThreadLocal<long[]> SCRATCH = ThreadLocal.withInitial(() -> new long[2]);
+
+    static {
+        byte[] digits = "0123456789abcdef".getBytes(StandardCharsets.US_ASCII);
+        for (int i = 0; i < 256; i++) {
+            HEX_PAIRS[i * 2] = digits[i >>> 4];
+            HEX_PAIRS[i * 2 + 1] = digits[i & 0xF];
+        }
+
+        for (int i = 0; i < HEX_VALUES.length; i++) {
+            HEX_VALUES[i] = (byte) Character.digit(i, 16);
+        }
+    }
+
+    /**
+     * Formats a UUID in the canonical form.
+     *
+     * @param mostSignificantBits  the most significant bits
+     * @param leastSignificantBits the least significant bits
+     * @return the UUID
+     */
+    public static String toString(long mostSignificantBits, long leastSignificantBits) {
+        byte[] ascii = new byte[STRING_LENGTH];
+        writeAscii(mostSignificantBits, leastSignificantBits, ascii, 0);
+        return new String(ascii, StandardCharsets.ISO_8859_1);
+    }
+
+    /**
+     * Writes the canonical form of a UUID as 36 ASCII bytes.
+     *
+     * @param mostSignificantBits  the most significant bits
+     * @param leastSignificantBits the least significant bits
+     * @param dest                 the destination
+     * @param offset               the offset in the destination
+     */
+    public static void writeAscii(long mostSignificantBits, long leastSignificantBits, byte[] dest, int offset) {
+        checkBounds(dest.length, offset, STRING_LENGTH);
+        hex(mostSignificantBits >>> 32, 4, dest, offset);
+        dest[offset + 8] = '-';
+        hex(mostSignificantBits >>> 16, 2, dest, offset + 9);
+        dest[offset + 13] = '-';
+        hex(mostSignificantBits, 2, dest, offset + 14);
+        dest[offset + 18] = '-';
+        hex(leastSignificantBits >>> 48, 2, dest, offset + 19);
+        dest[offset + 23] = '-';
+        hex(leastSignificantBits, 6, dest, offset + 24);
+    }
+
+    /**
+     * Writes the canonical form of a UUID as 36 ASCII bytes at the position of the
+     * buffer, advancing the position.
+     *
+     * @param mostSignificantBits  the most significant bits
+     * @param leastSignificantBits the least significant bits
+     * @param dest                 the destination
+     */
+    public static void writeAscii(long mostSignificantBits, long leastSignificantBits, ByteBuffer dest) {
+        int offset = dest.position();
+        checkBounds(dest.limit(), offset, STRING_LENGTH);
+        if (dest.hasArray()) {
+            writeAscii(mostSignificantBits, leastSignificantBits, dest.array(), dest.arrayOffset() + offset);
+        } else {
+            hex(mostSignificantBits >>> 32, 4, dest, offset);
+            dest.put(offset + 8, (byte) '-');
+            hex(mostSignificantBits >>> 16, 2, dest, offset + 9);
+            dest.put(offset + 13, (byte) '-');
+            hex(mostSignificantBits, 2, dest, offset + 14);
+            dest.put(offset + 18, (byte) '-');
+            hex(leastSignificantBits >>> 48, 2, dest, offset + 19);
+            dest.put(offset + 23, (byte) '-');
+            hex(leastSignificantBits, 6, dest, offset + 24);
+        }
+
+        dest.position(offset + STRING_LENGTH);
+    }
+
+    /**
+     * Writes the canonical form of a UUID as 36 characters.
+     *
+     * @param mostSignificantBits  the most significant bits
+     * @param leastSignificantBits the least significant bits
+     * @param dest                 the destination
+     * @param offset               the offset in the destination
+     */
+    public static void writeChars(long mostSignificantBits, long leastSignificantBits, char[] dest, int offset) {
+        checkBounds(dest.length, offset, STRING_LENGTH);
+        hex(mostSignificantBits >>> 32, 4, dest, offset);
+        dest[offset + 8] = '-';
+        hex(mostSignificantBits >>> 16, 2, dest, offset + 9);
+        dest[offset + 13] = '-';
+        hex(mostSignificantBits, 2, dest, offset + 14);
+        dest[offset + 18] = '-';
+        hex(leastSignificantBits >>> 48, 2, dest, offset + 19);
+        dest[offset + 23] = '-';
+        hex(leastSignificantBits, 6, dest, offset + 24);
+    }
+
+    /**
+     * Writes the 16 byte big-endian binary form of a UUID.
+     *
+     * @param mostSignificantBits  the most significant bits
+     * @param leastSignificantBits the least significant bits
+     * @param dest                 the destination
+     * @param offset               the offset in the destination
+     */
+    public static void writeBytes(long mostSignificantBits, long leastSignificantBits, byte[] dest, int offset) {
+        checkBounds(dest.length, offset, BYTES);
+        LONGS.set(dest, offset, mostSignificantBits);
+        LONGS.set(dest, offset + 8, leastSignificantBits);
+    }
+
+    /**
+     * Writes the 16 byte big-endian binary form of a UUID at the position of the
+     * buffer, advancing the position.
+     *
+     * The bytes are always written big-endian regardless of the order of the
+     * buffer.
+     *
+     * @param mostSignificantBits  the most significant bits
+     * @param leastSignificantBits the least significant bits
+     * @param dest                 the destination
+     */
+    public static void writeBytes(long mostSignificantBits, long leastSignificantBits, ByteBuffer dest) {
+        if (dest.order() == ByteOrder.BIG_ENDIAN) {
+            dest.putLong(mostSignificantBits).putLong(leastSignificantBits);
+        } else {
+            dest.putLong(Long.reverseBytes(mostSignificantBits)).putLong(Long.reverseBytes(leastSignificantBits));
+        }
+    }
+
+    /**
+     * Reads the most significant bits from the 16 byte big-endian binary form of a
+     * UUID.
+     *
+     * @param src    the source
+     * @param offset the offset in the source
+     * @return the most significant bits
+     */
+    public static long readMostSignificantBits(byte[] src, int offset) {
+        checkBounds(src.length, offset, BYTES);
+        return (long) LONGS.get(src, offset);
+    }
+
+    /**
+     * Reads the least significant bits from the 16 byte big-endian binary form of
+     * a UUID.
+     *
+     * @param src    the source
+     * @param offset the offset in the source
+     * @return the least significant bits
+     */
+    public static long readLeastSignificantBits(byte[] src, int offset) {
+        checkBounds(src.length, offset, BYTES);
+        return (long) LONGS.get(src, offset + 8);
+    }
+
+    /**
+     * Parses the most significant bits from the canonical form of a UUID.
+     *
+     * @param uuid the UUID
+     * @return the most significant bits
+     * @throws IllegalArgumentException if the UUID is not in the canonical form
+     */
+    public static long parseMostSignificantBits(CharSequence uuid) {
+        checkCanonical(uuid);
+        return (parseHex(uuid, 0, 8) << 32) | (parseHex(uuid, 9, 4) << 16) | parseHex(uuid, 14, 4);
+    }
+
+    /**
+     * Parses the least significant bits from the canonical form of a UUID.
+     *
+     * @param uuid the UUID
+     * @return the least significant bits
+     * @throws IllegalArgumentException if the UUID is not in the canonical form
+     */
+    public static long parseLeastSignificantBits(CharSequence uuid) {
+        checkCanonical(uuid);
+        return (parseHex(uuid, 19, 4) << 48) | parseHex(uuid, 24, 12);
+    }
+
+    /**
+     * Checks if a value is in the canonical form of a UUID.
+     *
+     * Both uppercase and lowercase hex digits are accepted.
+     *
+     * @param uuid the value to check
+     * @return true if the value is in the canonical form
+     */
+    public static boolean isCanonical(CharSequence uuid) {
+        if (uuid == null || uuid.length() != STRING_LENGTH) {
+            return false;
+        }
+
+        for (int i = 0; i < STRING_LENGTH; i++) {
+            char c = uuid.charAt(i);
+            if (i == 8 || i == 13 || i == 18 || i == 23) {
+                if (c != '-') {
+                    return false;
+                }
+            } else if (c >= HEX_VALUES.length || HEX_VALUES[c] < 0) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Gets the scratch space for the current thread.
+     *
+     * @return two longs for the most and least significant bits
+     */
+    static long[] scratch() {
+        return SCRATCH.get();
+    }
+
+    /**
+     * Checks that the destination has room for count UUIDs.
+     *
+     * @param capacity the length of the destination in longs
+     * @param offset   the offset in the destination
+     * @param count    the number of UUIDs
+     */
+    static void checkBulk(int capacity, int offset, int count) {
+        if (count < 0) {
+            throw new IllegalArgumentException("count must not be negative");
+        } else if (offset < 0 || offset > capacity || (capacity - offset) / 2 < count) {
+            throw new IndexOutOfBoundsException(
+                    "range [" + offset + ", " + offset + " + 2 * " + count + ") out of bounds for length " + capacity);
+        }
+    }
+
+    private static void hex(long value, int bytes, byte[] dest, int offset) {
+        for (int i = bytes - 1; i >= 0; i--) {
+            int pair = ((int) value & 0xFF) << 1;
+            dest[offset + i * 2] = HEX_PAIRS[pair];
+            dest[offset + i * 2 + 1] = HEX_PAIRS[pair + 1];
+            value >>>= 8;
+        }
+    }
+
+    private static void hex(long value, int bytes, char[] dest, int offset) {
+        for (int i = bytes - 1; i >= 0; i--) {
+            int pair = ((int) value & 0xFF) << 1;
+            dest[offset + i * 2] = (char) HEX_PAIRS[pair];
+            dest[offset + i * 2 + 1] = (char) HEX_PAIRS[pair + 1];
+            value >>>= 8;
+        }
+    }
+
+    private static void hex(long value, int bytes, ByteBuffer dest, int offset) {
+        for (int i = bytes - 1; i >= 0; i--) {
+            int pair = ((int) value & 0xFF) << 1;
+            dest.put(offset + i * 2, HEX_PAIRS[pair]);
+            dest.put(offset + i * 2 + 1, HEX_PAIRS[pair + 1]);
+            value >>>= 8;
+        }
+    }
+
+    private static long parseHex(CharSequence uuid, int offset, int length) {
+        long value = 0;
+        for (int i = offset; i < offset + length; i++) {
+            value = (value << 4) | HEX_VALUES[uuid.charAt(i)];
+        }
+
+        return value;
+    }
+
+    private static void checkCanonical(CharSequence uuid) {
+        if (!isCanonical(uuid)) {
+            throw new IllegalArgumentException("uuid must be in the canonical format");
+        }
+    }
+
+    private static void checkBounds(int capacity, int offset, int length) {
+        if (offset < 0 || offset > capacity - length) {
+            throw new IndexOutOfBoundsException(
+                    "range [" + offset + ", " + offset + " + " + length + ") out of bounds for length " + capacity);
+        }
+    }
+}
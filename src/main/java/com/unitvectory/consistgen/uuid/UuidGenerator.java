@@ -13,9 +13,23 @@
  */
 package com.unitvectory.consistgen.uuid;
 
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.LongBuffer;
+
 /**
  * Generates a UUID.
  * 
+ * In addition to the String form, a UUID can be written as its two 64 bit
+ * halves, its 16 byte binary form or its 36 character canonical form directly
+ * into a caller supplied destination without allocating. Implementations only
+ * need to provide generateUuid(); the remaining methods fall back to parsing
+ * that value unless overridden with a primitive implementation.
+ * 
+ * Many UUIDs can be generated at once with generateUuids, which
+ * implementations can override to amortize the cost of each UUID across the
+ * batch.
+ * 
  * @author Jared Hatfield (UnitVectorY Labs)
  */
 public interface UuidGenerator {
@@ -26,4 +40,122 @@ public interface UuidGenerator {
      * @return the UUID
      */
     String generateUuid();
+
+    /**
+     * Generates a UUID as its most significant bits followed by its least
+     * significant bits.
+     * 
+     * @param dest   the destination
+     * @param offset the offset in the destination
+     */
+    default void generateUuidBits(long[] dest, int offset) {
+        String uuid = generateUuid();
+        dest[offset] = UuidFormat.parseMostSignificantBits(uuid);
+        dest[offset + 1] = UuidFormat.parseLeastSignificantBits(uuid);
+    }
+
+    /**
+     * Generates a UUID as 16 big-endian bytes.
+     * 
+     * @param dest   the destination
+     * @param offset the offset in the destination
+     */
+    default void generateUuidBytes(byte[] dest, int offset) {
+        long[] bits = UuidFormat.scratch();
+        generateUuidBits(bits, 0);
+        UuidFormat.writeBytes(bits[0], bits[1], dest, offset);
+    }
+
+    /**
+     * Generates a UUID as 16 big-endian bytes at the position of the buffer,
+     * advancing the position.
+     * 
+     * @param dest the destination
+     */
+    default void generateUuidBytes(ByteBuffer dest) {
+        long[] bits = UuidFormat.scratch();
+        generateUuidBits(bits, 0);
+        UuidFormat.writeBytes(bits[0], bits[1], dest);
+    }
+
+    /**
+     * Generates a UUID as 36 lowercase characters in the canonical form.
+     * 
+     * @param dest   the destination
+     * @param offset the offset in the destination
+     */
+    default void generateUuidChars(char[] dest, int offset) {
+        long[] bits = UuidFormat.scratch();
+        generateUuidBits(bits, 0);
+        UuidFormat.writeChars(bits[0], bits[1], dest, offset);
+    }
+
+    /**
+     * Generates a UUID as 36 lowercase ASCII bytes in the canonical form.
+     * 
+     * @param dest   the destination
+     * @param offset the offset in the destination
+     */
+    default void generateUuidAscii(byte[] dest, int offset) {
+        long[] bits = UuidFormat.scratch();
+        generateUuidBits(bits, 0);
+        UuidFormat.writeAscii(bits[0], bits[1], dest, offset);
+    }
+
+    /**
+     * Generates a UUID as 36 lowercase ASCII bytes in the canonical form at the
+     * position of the buffer, advancing the position.
+     * 
+     * @param dest the destination
+     */
+    default void generateUuidAscii(ByteBuffer dest) {
+        long[] bits = UuidFormat.scratch();
+        generateUuidBits(bits, 0);
+        UuidFormat.writeAscii(bits[0], bits[1], dest);
+    }
+
+    /**
+     * Generates many UUIDs, each written as its most significant bits followed by
+     * its least significant bits.
+     * 
+     * @param dest   the destination
+     * @param offset the offset in the destination
+     * @param count  the number of UUIDs to generate, using two longs each
+     */
+    default void generateUuids(long[] dest, int offset, int count) {
+        UuidFormat.checkBulk(dest.length, offset, count);
+        for (int i = 0; i < count; i++) {
+            generateUuidBits(dest, offset + i * 2);
+        }
+    }
+
+    /**
+     * Generates many UUIDs at the position of the buffer, advancing the position,
+     * each written as its most significant bits followed by its least significant
+     * bits.
+     * 
+     * @param dest  the destination
+     * @param count the number of UUIDs to generate, using two longs each
+     */
+    default void generateUuids(LongBuffer dest, int count) {
+        if (count < 0) {
+            throw new IllegalArgumentException("count must not be negative");
+        } else if (dest.remaining() / 2 < count) {
+            throw new BufferOverflowException();
+        }
+
+        if (dest.hasArray()) {
+            generateUuids(dest.array(), dest.arrayOffset() + dest.position(), count);
+            dest.position(dest.position() + count * 2);
+            return;
+        }
+
+        long[] chunk = new long[Math.min(count, UuidFormat.CHUNK) * 2];
+        for (int remaining = count; remaining > 0;) {
+            int n = Math.min(remaining, UuidFormat.CHUNK);
+            generateUuids(chunk, 0, n);
+            dest.put(chunk, 0, n * 2);
+            remaining -= n;
+        }
+    }
 }
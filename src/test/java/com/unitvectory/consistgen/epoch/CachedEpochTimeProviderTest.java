@@ -0,0 +1,101 @@
+/*
+ * Copyright 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.unitvectory.consistgen.epoch;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test the CachedEpochTimeProvider class.
+ * 
+ * @author Jared Hatfield (UnitVectorY Labs)
+ */
+class CachedEpochTimeProviderTest {
+
+    @Test
+    void testDefault() {
+        try (CachedEpochTimeProvider provider = CachedEpochTimeProvider.builder().build().start()) {
+            assertEquals(1, provider.getTickMilliseconds());
+            long now = System.currentTimeMillis();
+            assertTrue(Math.abs(now - provider.epochTimeMilliseconds()) < 1000);
+        }
+    }
+
+    @Test
+    void testNotStarted() {
+        SettableEpochTimeProvider source = new SettableEpochTimeProvider(1000);
+        CachedEpochTimeProvider provider = CachedEpochTimeProvider.builder().epochTimeProvider(source).build();
+        assertFalse(provider.isRunning());
+        assertEquals(1000, provider.epochTimeMilliseconds());
+        source.setEpochTimeMilliseconds(2000);
+        assertEquals(1000, provider.epochTimeMilliseconds());
+        assertEquals(1000, provider.getDrift());
+    }
+
+    @Test
+    void testTicks() throws InterruptedException {
+        SettableEpochTimeProvider source = new SettableEpochTimeProvider(1000);
+        try (CachedEpochTimeProvider provider = CachedEpochTimeProvider.builder().epochTimeProvider(source)
+                .tickMilliseconds(1L).build()) {
+            assertSame(provider, provider.start());
+            assertTrue(provider.isRunning());
+            source.setEpochTimeMilliseconds(5000);
+            awaitTime(provider, 5000);
+            assertEquals(0, provider.getDrift());
+            assertEquals(4000, provider.getMaxDrift());
+        }
+    }
+
+    @Test
+    void testStopAndRestart() throws InterruptedException {
+        SettableEpochTimeProvider source = new SettableEpochTimeProvider(1000);
+        CachedEpochTimeProvider provider = CachedEpochTimeProvider.builder().epochTimeProvider(source).build();
+        provider.start();
+        provider.start();
+        provider.stop();
+        assertFalse(provider.isRunning());
+        provider.stop();
+
+        source.setEpochTimeMilliseconds(2000);
+        Thread.sleep(20);
+        assertEquals(1000, provider.epochTimeMilliseconds());
+
+        provider.start();
+        assertEquals(2000, provider.epochTimeMilliseconds());
+        source.setEpochTimeMilliseconds(3000);
+        awaitTime(provider, 3000);
+        provider.close();
+        assertFalse(provider.isRunning());
+    }
+
+    @Test
+    void testInvalidTick() {
+        assertThrows(IllegalArgumentException.class,
+                () -> CachedEpochTimeProvider.builder().tickMilliseconds(0L).build());
+    }
+
+    private static void awaitTime(EpochTimeProvider provider, long expected) throws InterruptedException {
+        long deadline = System.nanoTime() + 5_000_000_000L;
+        while (provider.epochTimeMilliseconds() != expected && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+
+        assertEquals(expected, provider.epochTimeMilliseconds());
+    }
+}
@@ -0,0 +1,137 @@
+/*
+ * Copyright 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.unitvectory.consistgen.epoch;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test the EpochTimeFormatter class.
+ * 
+ * @author Jared Hatfield (UnitVectorY Labs)
+ */
+class EpochTimeFormatterTest {
+
+    @Test
+    void testDefaultInstance() {
+        EpochTimeFormatter formatter = EpochTimeFormatter.getInstance();
+        assertEquals(EpochTimeFormatter.ISO_8601, formatter.getPattern());
+        assertEquals(24, formatter.format().length());
+    }
+
+    @Test
+    void testIso8601() {
+        EpochTimeFormatter formatter = EpochTimeFormatter.builder()
+                .epochTimeProvider(StaticEpochTimeProvider.builder().epochTimeMilliseconds(1704164645678L).build())
+                .build();
+        assertEquals("2024-01-02T03:04:05.678Z", formatter.format());
+        assertEquals("2024-01-02T03:04:05.009Z", formatter.format(1704164645009L));
+        assertEquals("2024-01-02T03:04:06.000Z", formatter.format(1704164646000L));
+        assertEquals("1969-12-31T23:59:59.999Z", formatter.format(-1L));
+    }
+
+    @Test
+    void testRfc1123() {
+        EpochTimeFormatter formatter = EpochTimeFormatter.builder().pattern(EpochTimeFormatter.RFC_1123).build();
+        assertEquals("Tue, 02 Jan 2024 03:04:05 GMT", formatter.format(1704164645678L));
+    }
+
+    @Test
+    void testMatchesDateTimeFormatter() {
+        List<String> patterns = List.of(EpochTimeFormatter.ISO_8601, EpochTimeFormatter.RFC_1123,
+                "HH:mm:ss,SS", "yyyyMMddHHmmssS", "A", "n", "EEEE d MMMM yyyy HH:mm:ss.SSS VV");
+        Random random = new Random(0);
+        for (String pattern : patterns) {
+            ZoneId zone = ZoneId.of("Europe/Paris");
+            EpochTimeFormatter formatter = EpochTimeFormatter.builder().pattern(pattern).zone(zone)
+                    .locale(Locale.FRANCE).build();
+            DateTimeFormatter expected = DateTimeFormatter.ofPattern(pattern, Locale.FRANCE).withZone(zone);
+            long time = 1711846798000L;
+            for (int i = 0; i < 5000; i++) {
+                time += random.nextInt(1500);
+                assertEquals(expected.format(Instant.ofEpochMilli(time)), formatter.format(time), pattern);
+            }
+        }
+    }
+
+    @Test
+    void testFormatTo() {
+        EpochTimeFormatter formatter = EpochTimeFormatter.builder().build();
+        StringBuilder builder = new StringBuilder("at ");
+        formatter.formatTo(builder, 1704164645678L);
+        formatter.formatTo(builder, 1704164645679L);
+        assertEquals("at 2024-01-02T03:04:05.678Z2024-01-02T03:04:05.679Z", builder.toString());
+
+        byte[] bytes = new byte[30];
+        assertEquals(24, formatter.formatTo(bytes, 3, 1704164645123L));
+        assertEquals("2024-01-02T03:04:05.123Z", new String(bytes, 3, 24, StandardCharsets.ISO_8859_1));
+        assertThrows(IndexOutOfBoundsException.class, () -> formatter.formatTo(bytes, 7, 0));
+    }
+
+    @Test
+    void testNonLatin1() {
+        EpochTimeFormatter formatter = EpochTimeFormatter.builder().pattern("yyyy'年'MM'月'dd'日' HH:mm:ss.SSS")
+                .build();
+        assertEquals("2024年01月02日 03:04:05.678", formatter.format(1704164645678L));
+        assertThrows(IllegalStateException.class, () -> formatter.formatTo(new byte[64], 0, 0));
+    }
+
+    @Test
+    void testConcurrentRollover() throws InterruptedException {
+        EpochTimeFormatter formatter = EpochTimeFormatter.builder().build();
+        DateTimeFormatter expected = DateTimeFormatter.ofPattern(EpochTimeFormatter.ISO_8601)
+                .withZone(ZoneOffset.UTC);
+        AtomicInteger failures = new AtomicInteger();
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            long seed = t;
+            threads.add(new Thread(() -> {
+                Random random = new Random(seed);
+                for (int i = 0; i < 20000; i++) {
+                    // Times straddle a handful of seconds so threads keep replacing the cache
+                    long time = 1704164645000L + random.nextInt(4000);
+                    if (!expected.format(Instant.ofEpochMilli(time)).equals(formatter.format(time))) {
+                        failures.incrementAndGet();
+                    }
+                }
+            }));
+        }
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals(0, failures.get());
+    }
+
+    @Test
+    void testInvalid() {
+        assertThrows(IllegalArgumentException.class, () -> EpochTimeFormatter.builder().pattern("").build());
+        assertThrows(IllegalArgumentException.class, () -> EpochTimeFormatter.builder().pattern("{").build());
+    }
+}
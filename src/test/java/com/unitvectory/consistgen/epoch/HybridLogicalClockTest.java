@@ -0,0 +1,151 @@
+/*
+ * Copyright 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.unitvectory.consistgen.epoch;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test the HybridLogicalClock class.
+ * 
+ * @author Jared Hatfield (UnitVectorY Labs)
+ */
+class HybridLogicalClockTest {
+
+    @Test
+    void testDefault() {
+        HybridLogicalClock clock = HybridLogicalClock.builder().build();
+        long before = System.currentTimeMillis();
+        long timestamp = clock.now();
+        assertTrue(HybridLogicalClock.physicalTime(timestamp) >= before);
+        assertEquals(timestamp, clock.current());
+    }
+
+    @Test
+    void testCounterWithinMillisecond() {
+        SettableEpochTimeProvider time = new SettableEpochTimeProvider(1000);
+        HybridLogicalClock clock = HybridLogicalClock.builder().epochTimeProvider(time).build();
+        assertEquals(HybridLogicalClock.timestamp(1000, 0), clock.now());
+        assertEquals(HybridLogicalClock.timestamp(1000, 1), clock.now());
+        time.setEpochTimeMilliseconds(1001);
+        assertEquals(HybridLogicalClock.timestamp(1001, 0), clock.now());
+    }
+
+    @Test
+    void testClockStepsBackwards() {
+        SettableEpochTimeProvider time = new SettableEpochTimeProvider(5000);
+        HybridLogicalClock clock = HybridLogicalClock.builder().epochTimeProvider(time).build();
+        long first = clock.now();
+        time.setEpochTimeMilliseconds(4000);
+        long second = clock.now();
+        assertTrue(second > first);
+        assertEquals(5000, HybridLogicalClock.physicalTime(second));
+        assertEquals(1, HybridLogicalClock.logicalCounter(second));
+    }
+
+    @Test
+    void testCounterCarries() {
+        HybridLogicalClock clock = HybridLogicalClock.builder()
+                .epochTimeProvider(new SettableEpochTimeProvider(7)).build();
+        long timestamp = 0;
+        for (int i = 0; i <= 65536; i++) {
+            timestamp = clock.now();
+        }
+
+        assertEquals(HybridLogicalClock.timestamp(8, 0), timestamp);
+    }
+
+    @Test
+    void testUpdate() {
+        SettableEpochTimeProvider time = new SettableEpochTimeProvider(1000);
+        HybridLogicalClock clock = HybridLogicalClock.builder().epochTimeProvider(time).build();
+        clock.now();
+
+        long remote = HybridLogicalClock.timestamp(2000, 5);
+        long received = clock.update(remote);
+        assertEquals(HybridLogicalClock.timestamp(2000, 6), received);
+        assertEquals(HybridLogicalClock.timestamp(2000, 7), clock.now());
+
+        // An older remote timestamp still advances the clock
+        assertEquals(HybridLogicalClock.timestamp(2000, 8), clock.update(HybridLogicalClock.timestamp(10, 0)));
+
+        time.setEpochTimeMilliseconds(3000);
+        assertEquals(HybridLogicalClock.timestamp(3000, 0), clock.update(remote));
+    }
+
+    @Test
+    void testMaxOffset() {
+        SettableEpochTimeProvider time = new SettableEpochTimeProvider(1000);
+        HybridLogicalClock clock = HybridLogicalClock.builder().epochTimeProvider(time)
+                .maxOffsetMilliseconds(100L).build();
+        assertEquals(HybridLogicalClock.timestamp(1100, 1), clock.update(HybridLogicalClock.timestamp(1100, 0)));
+        assertThrows(IllegalArgumentException.class, () -> clock.update(HybridLogicalClock.timestamp(1101, 0)));
+        assertThrows(IllegalArgumentException.class,
+                () -> HybridLogicalClock.builder().maxOffsetMilliseconds(-1L).build());
+    }
+
+    @Test
+    void testRangeIsNeverWrapped() {
+        SettableEpochTimeProvider time = new SettableEpochTimeProvider(1000);
+        HybridLogicalClock clock = HybridLogicalClock.builder().epochTimeProvider(time).build();
+        assertThrows(IllegalArgumentException.class, () -> clock.update(-1));
+        assertThrows(IllegalStateException.class, () -> clock.update(Long.MAX_VALUE));
+        assertEquals(0, clock.current());
+
+        assertEquals(Long.MAX_VALUE, clock.update(Long.MAX_VALUE - 1));
+        assertThrows(IllegalStateException.class, clock::now);
+        assertEquals(Long.MAX_VALUE, clock.current());
+
+        assertThrows(IllegalArgumentException.class, () -> HybridLogicalClock.timestamp(1L << 47, 0));
+        assertThrows(IllegalArgumentException.class, () -> HybridLogicalClock.timestamp(-1, 0));
+
+        time.setEpochTimeMilliseconds(-1);
+        assertThrows(IllegalStateException.class, () -> HybridLogicalClock.builder().epochTimeProvider(time)
+                .build().now());
+        time.setEpochTimeMilliseconds(1L << 47);
+        assertThrows(IllegalStateException.class, () -> HybridLogicalClock.builder().epochTimeProvider(time)
+                .build().now());
+    }
+
+    @Test
+    void testConcurrentUnique() throws InterruptedException {
+        HybridLogicalClock clock = HybridLogicalClock.builder()
+                .epochTimeProvider(StaticEpochTimeProvider.getInstance()).build();
+        Set<Long> timestamps = ConcurrentHashMap.newKeySet();
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            final int remote = t;
+            threads.add(new Thread(() -> {
+                for (int i = 0; i < 1000; i++) {
+                    timestamps.add(remote % 2 == 0 ? clock.now() : clock.update(i));
+                }
+            }));
+        }
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals(8000, timestamps.size());
+    }
+}
@@ -14,6 +14,7 @@
 package com.unitvectory.consistgen.epoch;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import org.junit.jupiter.api.Test;
 
 /**
@@ -62,4 +63,47 @@ class SettableEpochTimeProviderTest {
         provider.setEpochTimeSeconds(newTimeSeconds);
         assertEquals(newTimeSeconds * 1000, provider.epochTimeMilliseconds());
     }
-}
\ No newline at end of file
+
+    @Test
+    void testSetEpochTimeMicroseconds() {
+        SettableEpochTimeProvider provider = new SettableEpochTimeProvider();
+        provider.setEpochTimeMicroseconds(1234567L);
+        assertEquals(1234567L, provider.epochTimeMicroseconds());
+        assertEquals(1234567000L, provider.epochTimeNanoseconds());
+        assertEquals(1234L, provider.epochTimeMilliseconds());
+    }
+
+    @Test
+    void testSetEpochTimeNanoseconds() {
+        SettableEpochTimeProvider provider = new SettableEpochTimeProvider();
+        provider.setEpochTimeNanoseconds(1234567L);
+        assertEquals(1234567L, provider.epochTimeNanoseconds());
+        assertEquals(1234L, provider.epochTimeMicroseconds());
+        assertEquals(1L, provider.epochTimeMilliseconds());
+    }
+
+    @Test
+    void testParameterizedConstructorNanoseconds() {
+        SettableEpochTimeProvider provider = new SettableEpochTimeProvider(5);
+        assertEquals(5_000_000L, provider.epochTimeNanoseconds());
+    }
+
+    @Test
+    void testFarFutureMilliseconds() {
+        SettableEpochTimeProvider provider = new SettableEpochTimeProvider(Long.MAX_VALUE);
+        assertEquals(Long.MAX_VALUE, provider.epochTimeMilliseconds());
+        assertThrows(ArithmeticException.class, provider::epochTimeNanoseconds);
+        assertThrows(ArithmeticException.class, provider::epochTimeMicroseconds);
+        assertThrows(IllegalArgumentException.class, () -> provider.setEpochTimeSeconds(Long.MAX_VALUE));
+        assertEquals(Long.MAX_VALUE, provider.epochTimeMilliseconds());
+    }
+
+    @Test
+    void testNanosecondsRoundTrip() {
+        SettableEpochTimeProvider provider = new SettableEpochTimeProvider();
+        provider.setEpochTimeNanoseconds(Long.MIN_VALUE);
+        assertEquals(Long.MIN_VALUE, provider.epochTimeNanoseconds());
+        provider.setEpochTimeNanoseconds(Long.MAX_VALUE);
+        assertEquals(Long.MAX_VALUE, provider.epochTimeNanoseconds());
+    }
+}
@@ -14,6 +14,7 @@
 package com.unitvectory.consistgen.epoch;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 import org.junit.jupiter.api.Test;
 
@@ -56,4 +57,62 @@ class StaticEpochTimeProviderTest {
                 .build();
         assertEquals(123456789L, provider.epochTimeMilliseconds());
     }
-}
\ No newline at end of file
+
+    @Test
+    void testConstructorWithMicroseconds() {
+        EpochTimeProvider provider = StaticEpochTimeProvider.builder()
+                .epochTimeMicroseconds(123456789L)
+                .build();
+        assertEquals(123456789L, provider.epochTimeMicroseconds());
+        assertEquals(123456789000L, provider.epochTimeNanoseconds());
+        assertEquals(123456L, provider.epochTimeMilliseconds());
+        assertEquals(123L, provider.epochTimeSeconds());
+    }
+
+    @Test
+    void testConstructorWithNanoseconds() {
+        EpochTimeProvider provider = StaticEpochTimeProvider.builder()
+                .epochTimeNanoseconds(123456789L)
+                .build();
+        assertEquals(123456789L, provider.epochTimeNanoseconds());
+        assertEquals(123456L, provider.epochTimeMicroseconds());
+        assertEquals(123L, provider.epochTimeMilliseconds());
+    }
+
+    @Test
+    void testConstructorPrefersMostPrecise() {
+        EpochTimeProvider provider = StaticEpochTimeProvider.builder()
+                .epochTimeMilliseconds(1L)
+                .epochTimeNanoseconds(5L)
+                .build();
+        assertEquals(5L, provider.epochTimeNanoseconds());
+    }
+
+    @Test
+    void testMillisecondsAsNanoseconds() {
+        EpochTimeProvider provider = new StaticEpochTimeProvider(7L, null);
+        assertEquals(7_000L, provider.epochTimeMicroseconds());
+        assertEquals(7_000_000L, provider.epochTimeNanoseconds());
+    }
+
+    @Test
+    void testFarFutureMilliseconds() {
+        EpochTimeProvider provider = StaticEpochTimeProvider.builder()
+                .epochTimeMilliseconds(Long.MAX_VALUE)
+                .build();
+        assertEquals(Long.MAX_VALUE, provider.epochTimeMilliseconds());
+        assertThrows(ArithmeticException.class, provider::epochTimeNanoseconds);
+        assertThrows(IllegalArgumentException.class,
+                () -> StaticEpochTimeProvider.builder().epochTimeSeconds(Long.MAX_VALUE).build());
+    }
+
+    @Test
+    void testNegativeNanoseconds() {
+        EpochTimeProvider provider = StaticEpochTimeProvider.builder()
+                .epochTimeNanoseconds(-1L)
+                .build();
+        assertEquals(-1L, provider.epochTimeNanoseconds());
+        assertEquals(-1L, provider.epochTimeMicroseconds());
+        assertEquals(-1L, provider.epochTimeMilliseconds());
+    }
+}
@@ -13,8 +13,12 @@
  */
 package com.unitvectory.consistgen.epoch;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
 import org.junit.jupiter.api.Test;
 
 /**
@@ -24,6 +28,8 @@ import org.junit.jupiter.api.Test;
  */
 class SystemEpochTimeProviderTest {
 
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
     @Test
     void testEpochTimeMilliseconds() {
         EpochTimeProvider provider = SystemEpochTimeProvider.getInstance();
@@ -39,4 +45,97 @@ class SystemEpochTimeProviderTest {
         long now = System.currentTimeMillis() / 1000;
         assertTrue(time >= now);
     }
+
+    @Test
+    void testEpochTimeNanoseconds() {
+        EpochTimeProvider provider = SystemEpochTimeProvider.getInstance();
+        long before = System.currentTimeMillis();
+        long time = provider.epochTimeNanoseconds();
+        long after = System.currentTimeMillis();
+        assertTrue(time >= (before - 50) * 1_000_000L);
+        assertTrue(time <= (after + 50) * 1_000_000L);
+    }
+
+    @Test
+    void testEpochTimeMicroseconds() {
+        EpochTimeProvider provider = SystemEpochTimeProvider.getInstance();
+        long time = provider.epochTimeMicroseconds();
+        long now = System.currentTimeMillis();
+        assertTrue(Math.abs(time / 1000 - now) < 50);
+    }
+
+    @Test
+    void testEpochTimeNanosecondsMonotonic() {
+        EpochTimeProvider provider = SystemEpochTimeProvider.getInstance();
+        long previous = provider.epochTimeNanoseconds();
+        long deadline = System.nanoTime() + 1_500_000_000L;
+        while (System.nanoTime() < deadline) {
+            long next = provider.epochTimeNanoseconds();
+            assertTrue(next >= previous);
+            previous = next;
+        }
+    }
+
+    @Test
+    void testRecalibrationFollowsForwardStep() {
+        AtomicLong wall = new AtomicLong(1_000 * SECOND);
+        AtomicLong nano = new AtomicLong(5 * SECOND);
+        EpochTimeProvider provider = new SystemEpochTimeProvider(wall::get, nano::get);
+        assertEquals(1_000 * SECOND, provider.epochTimeNanoseconds());
+
+        tick(wall, nano, SECOND / 2);
+        assertEquals(1_000 * SECOND + SECOND / 2, provider.epochTimeNanoseconds());
+
+        wall.addAndGet(60 * SECOND);
+        tick(wall, nano, SECOND);
+        assertEquals(wall.get(), provider.epochTimeNanoseconds());
+    }
+
+    @Test
+    void testRecalibrationSlewsAfterBackwardStep() {
+        AtomicLong wall = new AtomicLong(1_000 * SECOND);
+        AtomicLong nano = new AtomicLong(0);
+        EpochTimeProvider provider = new SystemEpochTimeProvider(wall::get, nano::get);
+        provider.epochTimeNanoseconds();
+
+        wall.addAndGet(-10 * SECOND);
+        long previous = provider.epochTimeNanoseconds();
+        for (int i = 0; i < 2_000; i++) {
+            tick(wall, nano, SECOND);
+            long next = provider.epochTimeNanoseconds();
+            assertTrue(next > previous);
+            if (next > wall.get()) {
+                // Still catching up, advancing 1% slower than nanoTime
+                assertTrue(next - previous >= SECOND * 99 / 100);
+            }
+
+            previous = next;
+        }
+
+        assertEquals(wall.get(), previous);
+    }
+
+    @Test
+    void testRecalibrationFollowsDrift() {
+        AtomicLong wall = new AtomicLong(1_000 * SECOND);
+        AtomicLong nano = new AtomicLong(0);
+        EpochTimeProvider provider = new SystemEpochTimeProvider(wall::get, nano::get);
+
+        // nanoTime runs 100 ppm fast for a simulated day
+        long previous = provider.epochTimeNanoseconds();
+        for (int i = 0; i < 86_400; i++) {
+            nano.addAndGet(SECOND + SECOND / 10_000);
+            wall.addAndGet(SECOND);
+            long next = provider.epochTimeNanoseconds();
+            assertTrue(next > previous);
+            previous = next;
+        }
+
+        assertTrue(Math.abs(previous - wall.get()) < TimeUnit.MILLISECONDS.toNanos(1));
+    }
+
+    private static void tick(AtomicLong wall, AtomicLong nano, long nanoseconds) {
+        wall.addAndGet(nanoseconds);
+        nano.addAndGet(nanoseconds);
+    }
 }
@@ -0,0 +1,195 @@
+/*
+ * Copyright 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.unitvectory.consistgen.epoch;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test the VirtualTimeScheduler class.
+ * 
+ * @author Jared Hatfield (UnitVectorY Labs)
+ */
+class VirtualTimeSchedulerTest {
+
+    @Test
+    void testRunsInTimeThenScheduleOrder() {
+        VirtualTimeScheduler scheduler = VirtualTimeScheduler.builder().build();
+        EpochTimeProvider clock = scheduler.getEpochTimeProvider();
+        List<String> events = new ArrayList<>();
+        scheduler.schedule(() -> events.add("c@" + clock.epochTimeMilliseconds()), 30, TimeUnit.MILLISECONDS);
+        scheduler.schedule(() -> events.add("a@" + clock.epochTimeMilliseconds()), 10, TimeUnit.MILLISECONDS);
+        scheduler.schedule(() -> events.add("b@" + clock.epochTimeMilliseconds()), 10, TimeUnit.MILLISECONDS);
+        assertEquals(3, scheduler.getPending());
+
+        assertEquals(2, scheduler.runNext());
+        assertEquals(List.of("a@10", "b@10"), events);
+        assertEquals(1, scheduler.runAll());
+        assertEquals(List.of("a@10", "b@10", "c@30"), events);
+        assertEquals(0, scheduler.runNext());
+        assertEquals(0, scheduler.getPending());
+    }
+
+    @Test
+    void testAdvance() {
+        SettableEpochTimeProvider clock = new SettableEpochTimeProvider(1000);
+        VirtualTimeScheduler scheduler = VirtualTimeScheduler.builder().epochTimeProvider(clock).build();
+        AtomicInteger runs = new AtomicInteger();
+        scheduler.schedule(runs::incrementAndGet, 5, TimeUnit.SECONDS);
+        scheduler.schedule(runs::incrementAndGet, 15, TimeUnit.SECONDS);
+
+        assertEquals(0, scheduler.advance(4, TimeUnit.SECONDS));
+        assertEquals(5000, clock.epochTimeMilliseconds());
+        assertEquals(1, scheduler.advance(1, TimeUnit.SECONDS));
+        assertEquals(6000, clock.epochTimeMilliseconds());
+        assertEquals(1, scheduler.advance(1, TimeUnit.MINUTES));
+        assertEquals(66000, clock.epochTimeMilliseconds());
+        assertEquals(2, runs.get());
+    }
+
+    @Test
+    void testNestedScheduling() {
+        VirtualTimeScheduler scheduler = VirtualTimeScheduler.builder().build();
+        EpochTimeProvider clock = scheduler.getEpochTimeProvider();
+        List<Long> times = new ArrayList<>();
+        AtomicInteger attempts = new AtomicInteger();
+        Runnable retry = new Runnable() {
+            @Override
+            public void run() {
+                times.add(clock.epochTimeMilliseconds());
+                int attempt = attempts.incrementAndGet();
+                if (attempt < 5) {
+                    scheduler.schedule(this, 1L << attempt, TimeUnit.MILLISECONDS);
+                }
+            }
+        };
+
+        scheduler.schedule(retry, 1, TimeUnit.MILLISECONDS);
+        scheduler.schedule(() -> times.add(-1L), 0, TimeUnit.MILLISECONDS);
+        assertEquals(6, scheduler.runAll());
+        assertEquals(List.of(-1L, 1L, 3L, 7L, 15L, 31L), times);
+    }
+
+    @Test
+    void testZeroDelayRunsBeforeClockMoves() {
+        VirtualTimeScheduler scheduler = VirtualTimeScheduler.builder().build();
+        List<String> events = new ArrayList<>();
+        scheduler.schedule(() -> {
+            events.add("first");
+            scheduler.schedule(() -> events.add("immediate"), 0, TimeUnit.MILLISECONDS);
+        }, 10, TimeUnit.MILLISECONDS);
+        scheduler.schedule(() -> events.add("later"), 11, TimeUnit.MILLISECONDS);
+
+        assertEquals(2, scheduler.runNext());
+        assertEquals(List.of("first", "immediate"), events);
+    }
+
+    @Test
+    void testCancel() {
+        VirtualTimeScheduler scheduler = VirtualTimeScheduler.builder().build();
+        AtomicInteger runs = new AtomicInteger();
+        VirtualTimeScheduler.ScheduledTask timeout = scheduler.schedule(runs::incrementAndGet, 100,
+                TimeUnit.MILLISECONDS);
+        scheduler.schedule(() -> assertTrue(timeout.cancel()), 50, TimeUnit.MILLISECONDS);
+
+        assertEquals(100_000_000L, timeout.getEpochTimeNanoseconds());
+        assertEquals(1, scheduler.runAll());
+        assertEquals(0, runs.get());
+        assertFalse(timeout.cancel());
+        assertEquals(0, scheduler.getPending());
+        assertEquals(50, scheduler.getEpochTimeProvider().epochTimeMilliseconds());
+    }
+
+    @Test
+    void testLongDelaySaturates() {
+        SettableEpochTimeProvider clock = new SettableEpochTimeProvider(1000);
+        VirtualTimeScheduler scheduler = VirtualTimeScheduler.builder().epochTimeProvider(clock).build();
+        AtomicInteger runs = new AtomicInteger();
+        VirtualTimeScheduler.ScheduledTask never = scheduler.schedule(runs::incrementAndGet, Long.MAX_VALUE,
+                TimeUnit.DAYS);
+        assertEquals(Long.MAX_VALUE, never.getEpochTimeNanoseconds());
+
+        assertEquals(0, scheduler.advance(365, TimeUnit.DAYS));
+        assertEquals(0, runs.get());
+        assertEquals(1, scheduler.getPending());
+
+        assertEquals(1, scheduler.advance(Long.MAX_VALUE, TimeUnit.NANOSECONDS));
+        assertEquals(Long.MAX_VALUE, clock.epochTimeNanoseconds());
+        assertEquals(1, runs.get());
+    }
+
+    @Test
+    void testFailurePropagates() {
+        VirtualTimeScheduler scheduler = VirtualTimeScheduler.builder().build();
+        scheduler.schedule(() -> {
+            throw new IllegalStateException("boom");
+        }, 1, TimeUnit.MILLISECONDS);
+        assertThrows(IllegalStateException.class, scheduler::runNext);
+        assertEquals(0, scheduler.getPending());
+    }
+
+    @Test
+    void testInvalid() {
+        VirtualTimeScheduler scheduler = VirtualTimeScheduler.builder().build();
+        assertThrows(IllegalArgumentException.class, () -> scheduler.schedule(null, 1, TimeUnit.SECONDS));
+        assertThrows(IllegalArgumentException.class, () -> scheduler.schedule(() -> {
+        }, -1, TimeUnit.SECONDS));
+        assertThrows(IllegalArgumentException.class, () -> scheduler.advance(-1, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void testExecutor() throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            VirtualTimeScheduler scheduler = VirtualTimeScheduler.builder().executor(executor).build();
+            EpochTimeProvider clock = scheduler.getEpochTimeProvider();
+            List<Long> times = Collections.synchronizedList(new ArrayList<>());
+            for (int i = 0; i < 100; i++) {
+                long delay = i % 10;
+                scheduler.schedule(() -> {
+                    times.add(clock.epochTimeMilliseconds());
+                    scheduler.schedule(() -> times.add(clock.epochTimeMilliseconds() + 1000), 0,
+                            TimeUnit.MILLISECONDS);
+                }, delay, TimeUnit.MILLISECONDS);
+            }
+
+            assertEquals(20, scheduler.runNext());
+            assertEquals(200, scheduler.runAll() + 20);
+            for (int i = 0; i < 100; i++) {
+                assertTrue(times.contains((long) (i % 10)));
+                assertTrue(times.contains((long) (i % 10) + 1000));
+            }
+
+            scheduler.schedule(() -> {
+                throw new IllegalStateException("boom");
+            }, 1, TimeUnit.MILLISECONDS);
+            assertThrows(IllegalStateException.class, scheduler::runAll);
+        } finally {
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+        }
+    }
+}
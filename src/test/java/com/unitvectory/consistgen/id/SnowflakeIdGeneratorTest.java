@@ -0,0 +1,135 @@
+/*
+ * Copyright 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.unitvectory.consistgen.id;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+import com.unitvectory.consistgen.epoch.SettableEpochTimeProvider;
+import com.unitvectory.consistgen.epoch.StaticEpochTimeProvider;
+
+/**
+ * Test the SnowflakeIdGenerator class.
+ * 
+ * @author Jared Hatfield (UnitVectorY Labs)
+ */
+class SnowflakeIdGeneratorTest {
+
+    @Test
+    void testLayout() {
+        SettableEpochTimeProvider epochTimeProvider = new SettableEpochTimeProvider(1005);
+        SnowflakeIdGenerator generator = SnowflakeIdGenerator.builder().epochTimeProvider(epochTimeProvider)
+                .epoch(1000L).nodeId(3).build();
+        long id = generator.generateId();
+        assertEquals((5L << 22) | (3L << 12), id);
+        assertEquals(1005, generator.extractEpochTimeMilliseconds(id));
+        assertEquals(3, SnowflakeIdGenerator.extractNodeId(id));
+        assertEquals(0, SnowflakeIdGenerator.extractSequence(id));
+        assertEquals(1, SnowflakeIdGenerator.extractSequence(generator.generateId()));
+
+        epochTimeProvider.setEpochTimeMilliseconds(1006);
+        assertEquals((6L << 22) | (3L << 12), generator.generateId());
+    }
+
+    @Test
+    void testDefaultInstance() {
+        SnowflakeIdGenerator generator = SnowflakeIdGenerator.builder().build();
+        long id = generator.generateId();
+        assertTrue(id > 0);
+        assertTrue(Math.abs(generator.extractEpochTimeMilliseconds(id) - System.currentTimeMillis()) < 60000);
+    }
+
+    @Test
+    void testSequenceOverflowCarriesForward() {
+        SnowflakeIdGenerator generator = SnowflakeIdGenerator.builder()
+                .epochTimeProvider(StaticEpochTimeProvider.getInstance()).epoch(0L).build();
+        long previous = generator.generateId();
+        for (int i = 1; i < 5000; i++) {
+            long next = generator.generateId();
+            assertTrue(next > previous);
+            previous = next;
+        }
+        assertEquals(1, generator.extractEpochTimeMilliseconds(previous));
+        assertEquals(5000 - 4096 - 1, SnowflakeIdGenerator.extractSequence(previous));
+    }
+
+    @Test
+    void testClockRegressionCarriesForward() {
+        SettableEpochTimeProvider epochTimeProvider = new SettableEpochTimeProvider(500);
+        SnowflakeIdGenerator generator = SnowflakeIdGenerator.builder().epochTimeProvider(epochTimeProvider)
+                .epoch(0L).build();
+        long first = generator.generateId();
+        epochTimeProvider.setEpochTimeMilliseconds(100);
+        long second = generator.generateId();
+        assertTrue(second > first);
+        assertEquals(500, generator.extractEpochTimeMilliseconds(second));
+    }
+
+    @Test
+    void testGenerateIds() {
+        SnowflakeIdGenerator generator = SnowflakeIdGenerator.builder()
+                .epochTimeProvider(StaticEpochTimeProvider.getInstance()).epoch(0L).nodeId(1).build();
+        long[] ids = new long[10];
+        generator.generateIds(ids, 0, 10);
+        for (int i = 0; i < 10; i++) {
+            assertEquals(i, SnowflakeIdGenerator.extractSequence(ids[i]));
+            assertEquals(1, SnowflakeIdGenerator.extractNodeId(ids[i]));
+        }
+        assertEquals(10, SnowflakeIdGenerator.extractSequence(generator.generateId()));
+    }
+
+    @Test
+    void testInvalid() {
+        assertThrows(IllegalArgumentException.class, () -> SnowflakeIdGenerator.builder().nodeId(1024).build());
+        assertThrows(IllegalArgumentException.class, () -> SnowflakeIdGenerator.builder().nodeId(-1).build());
+        SnowflakeIdGenerator beforeEpoch = SnowflakeIdGenerator.builder()
+                .epochTimeProvider(StaticEpochTimeProvider.getInstance()).build();
+        IllegalStateException exception = assertThrows(IllegalStateException.class, beforeEpoch::generateId);
+        assertEquals("clock is before the epoch", exception.getMessage());
+        SnowflakeIdGenerator afterEpoch = SnowflakeIdGenerator.builder()
+                .epochTimeProvider(StaticEpochTimeProvider.builder().epochTimeMilliseconds(1L << 41).build())
+                .epoch(0L).build();
+        assertThrows(IllegalStateException.class, afterEpoch::generateId);
+    }
+
+    @Test
+    void testConcurrentUnique() throws InterruptedException {
+        IdGenerator generator = SnowflakeIdGenerator.builder().build();
+        Set<Long> ids = Collections.synchronizedSet(new HashSet<>());
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            threads.add(new Thread(() -> {
+                for (int i = 0; i < 1000; i++) {
+                    ids.add(generator.generateId());
+                }
+            }));
+        }
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals(8000, ids.size());
+    }
+}
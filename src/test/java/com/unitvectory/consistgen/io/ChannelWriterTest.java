@@ -0,0 +1,119 @@
+/*
+ * Copyright 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.unitvectory.consistgen.io;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.unitvectory.consistgen.string.RandomStringProvider;
+import com.unitvectory.consistgen.string.StaticStringProvider;
+import com.unitvectory.consistgen.uuid.RandomUuidGenerator;
+import com.unitvectory.consistgen.uuid.StaticUuidGenerator;
+
+/**
+ * Test the ChannelWriter class.
+ * 
+ * @author Jared Hatfield (UnitVectorY Labs)
+ */
+class ChannelWriterTest {
+
+    @Test
+    void testWriteStrings() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ChannelWriter writer = ChannelWriter.builder().build();
+        long bytes = writer.writeStrings(StaticStringProvider.builder().alphabet("abc").build(), 4, 3,
+                Channels.newChannel(out));
+        assertEquals(15, bytes);
+        assertEquals("abca\nabca\nabca\n", out.toString(StandardCharsets.ISO_8859_1));
+    }
+
+    @Test
+    void testWriteStringsDelimiter() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ChannelWriter writer = ChannelWriter.builder().delimiter(", ").build();
+        writer.writeStrings(StaticStringProvider.getInstance(), 2, 2, Channels.newChannel(out));
+        assertEquals("ab, ab, ", out.toString(StandardCharsets.ISO_8859_1));
+    }
+
+    @Test
+    void testWriteUuids() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ChannelWriter writer = ChannelWriter.builder().bufferSize(100).build();
+        long bytes = writer.writeUuids(StaticUuidGenerator.builder().build(), 300, Channels.newChannel(out));
+        assertEquals(300 * 37, bytes);
+
+        String[] lines = out.toString(StandardCharsets.ISO_8859_1).split("\n");
+        assertEquals(300, lines.length);
+        for (String line : lines) {
+            assertEquals(StaticUuidGenerator.builder().build().generateUuid(), line);
+        }
+    }
+
+    @Test
+    void testWriteToFileChannel(@TempDir Path directory) throws IOException {
+        Path file = directory.resolve("values.txt");
+        ChannelWriter writer = ChannelWriter.builder().bufferSize(1000).build();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            writer.writeStrings(RandomStringProvider.getInstance(), 32, 1000, channel);
+            writer.writeUuids(RandomUuidGenerator.getInstance(), 1000, channel);
+        }
+
+        List<String> lines = Files.readAllLines(file, StandardCharsets.ISO_8859_1);
+        assertEquals(2000, lines.size());
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(32, lines.get(i).length());
+            assertEquals(4, UUID.fromString(lines.get(1000 + i)).version());
+        }
+    }
+
+    @Test
+    void testWriteNothing() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ChannelWriter writer = ChannelWriter.builder().build();
+        assertEquals(0, writer.writeUuids(RandomUuidGenerator.getInstance(), 0, Channels.newChannel(out)));
+        assertEquals(0, out.size());
+    }
+
+    @Test
+    void testInvalidArguments() {
+        ChannelWriter writer = ChannelWriter.builder().bufferSize(10).build();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        assertThrows(IllegalArgumentException.class,
+                () -> writer.writeStrings(StaticStringProvider.getInstance(), 10, 1, Channels.newChannel(out)));
+        assertThrows(IllegalArgumentException.class, () -> writer.writeStrings(StaticStringProvider.getInstance(),
+                Integer.MAX_VALUE, 1, Channels.newChannel(out)));
+        assertThrows(IllegalArgumentException.class,
+                () -> writer.writeStrings(StaticStringProvider.getInstance(), 0, 1, Channels.newChannel(out)));
+        assertThrows(IllegalArgumentException.class,
+                () -> writer.writeStrings(StaticStringProvider.getInstance(), 2, -1, Channels.newChannel(out)));
+        assertThrows(IllegalArgumentException.class, () -> ChannelWriter.builder().bufferSize(0).build());
+        assertThrows(IllegalArgumentException.class, () -> ChannelWriter.builder().delimiter(" ").build());
+        assertTrue(out.size() == 0);
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ * Copyright 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.unitvectory.consistgen.random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test the BufferedSecureRandom class.
+ * 
+ * @author Jared Hatfield (UnitVectorY Labs)
+ */
+class BufferedSecureRandomTest {
+
+    @Test
+    void testNextLongUnique() {
+        BufferedSecureRandom random = BufferedSecureRandom.getInstance();
+        Set<Long> values = new HashSet<>();
+        for (int i = 0; i < 10000; i++) {
+            values.add(random.nextLong());
+        }
+        assertEquals(10000, values.size());
+    }
+
+    @Test
+    void testNextIntBound() {
+        BufferedSecureRandom random = BufferedSecureRandom.builder().blockSize(8).build();
+        for (int i = 0; i < 10000; i++) {
+            int value = random.nextInt(7);
+            assertTrue(value >= 0 && value < 7);
+        }
+    }
+
+    @Test
+    void testNextBytes() {
+        BufferedSecureRandom random = BufferedSecureRandom.builder().blockSize(16).build();
+        for (int length : new int[] { 1, 7, 15, 16, 17, 100 }) {
+            byte[] bytes = new byte[length];
+            random.nextBytes(bytes);
+            byte[] other = new byte[length];
+            random.nextBytes(other);
+            if (length >= 8) {
+                assertNotEquals(new String(bytes), new String(other));
+            }
+        }
+    }
+
+    @Test
+    void testSetSeedIgnored() {
+        BufferedSecureRandom random = BufferedSecureRandom.builder().build();
+        random.setSeed(0);
+        long first = random.nextLong();
+        random.setSeed(0);
+        assertNotEquals(first, random.nextLong());
+    }
+
+    @Test
+    void testInvalidBlockSize() {
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () -> {
+            BufferedSecureRandom.builder().blockSize(4).build();
+        });
+        assertEquals("blockSize must be at least 8", exception.getMessage());
+    }
+
+    @Test
+    void testInvalidAlgorithm() {
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () -> {
+            BufferedSecureRandom.builder().algorithm("NOT-AN-ALGORITHM").build();
+        });
+        assertEquals("algorithm is not available: NOT-AN-ALGORITHM", exception.getMessage());
+    }
+
+    @Test
+    void testConcurrent() throws InterruptedException {
+        BufferedSecureRandom random = BufferedSecureRandom.getInstance();
+        Set<Long> values = Collections.synchronizedSet(new HashSet<>());
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            threads.add(new Thread(() -> {
+                for (int i = 0; i < 1000; i++) {
+                    values.add(random.nextLong());
+                }
+            }));
+        }
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals(8000, values.size());
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.unitvectory.consistgen.string;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.SplittableRandom;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test the AliasTable class.
+ * 
+ * @author Jared Hatfield (UnitVectorY Labs)
+ */
+class AliasTableTest {
+
+    private static int[] sample(AliasTable table, int samples) {
+        SplittableRandom random = new SplittableRandom(0);
+        int[] counts = new int[table.size()];
+        for (int i = 0; i < samples; i++) {
+            counts[table.sample(random.nextLong())]++;
+        }
+
+        return counts;
+    }
+
+    @Test
+    void testProportionalToWeights() {
+        double[] weights = { 1, 2, 3, 4, 10, 0.5 };
+        AliasTable table = new AliasTable(weights);
+        int samples = 1000000;
+        int[] counts = sample(table, samples);
+        for (int i = 0; i < weights.length; i++) {
+            double expected = samples * weights[i] / 20.5;
+            assertEquals(expected, counts[i], expected * 0.03);
+        }
+    }
+
+    @Test
+    void testZeroWeightNeverSampled() {
+        AliasTable table = new AliasTable(new double[] { 0, 1, 0, 3, 0 });
+        int[] counts = sample(table, 100000);
+        assertEquals(0, counts[0]);
+        assertEquals(0, counts[2]);
+        assertEquals(0, counts[4]);
+        assertTrue(counts[3] > counts[1]);
+    }
+
+    @Test
+    void testSingleWeight() {
+        AliasTable table = new AliasTable(new double[] { 7 });
+        assertEquals(100000, sample(table, 100000)[0]);
+    }
+
+    @Test
+    void testExtremeBits() {
+        AliasTable table = new AliasTable(new double[] { 1, 1, 1 });
+        assertEquals(0, table.sample(0L));
+        assertEquals(2, table.sample(-1L));
+    }
+
+    @Test
+    void testInvalidWeights() {
+        assertThrows(IllegalArgumentException.class, () -> new AliasTable(new double[0]));
+        assertThrows(IllegalArgumentException.class, () -> new AliasTable(new double[] { 1, -1 }));
+        assertThrows(IllegalArgumentException.class, () -> new AliasTable(new double[] { 1, Double.NaN }));
+        assertThrows(IllegalArgumentException.class,
+                () -> new AliasTable(new double[] { 1, Double.POSITIVE_INFINITY }));
+        assertThrows(IllegalArgumentException.class, () -> new AliasTable(new double[] { 0, 0 }));
+    }
+}
@@ -0,0 +1,62 @@
+/*
+ * Copyright 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.unitvectory.consistgen.string;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.SplittableRandom;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test the BloomFilter class.
+ * 
+ * @author Jared Hatfield (UnitVectorY Labs)
+ */
+class BloomFilterTest {
+
+    @Test
+    void testPut() {
+        BloomFilter filter = new BloomFilter(100);
+        assertFalse(filter.mightContain(42));
+        assertTrue(filter.put(42));
+        assertFalse(filter.put(42));
+        assertTrue(filter.mightContain(42));
+    }
+
+    @Test
+    void testFalsePositiveRate() {
+        SplittableRandom random = new SplittableRandom(0);
+        BloomFilter filter = new BloomFilter(100000);
+        long[] added = new long[100000];
+        for (int i = 0; i < added.length; i++) {
+            added[i] = random.nextLong();
+            filter.put(added[i]);
+        }
+
+        for (long fingerprint : added) {
+            assertTrue(filter.mightContain(fingerprint));
+        }
+
+        int falsePositives = 0;
+        for (int i = 0; i < 100000; i++) {
+            if (filter.mightContain(random.nextLong())) {
+                falsePositives++;
+            }
+        }
+
+        assertTrue(falsePositives < 2000, "false positives " + falsePositives);
+    }
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.unitvectory.consistgen.string;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import java.util.zip.Deflater;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test the CompressibleStringProvider class.
+ * 
+ * @author Jared Hatfield (UnitVectorY Labs)
+ */
+class CompressibleStringProviderTest {
+
+    private static double compressedRatio(String value) {
+        byte[] input = value.getBytes(StandardCharsets.ISO_8859_1);
+        Deflater deflater = new Deflater();
+        deflater.setInput(input);
+        deflater.finish();
+        byte[] output = new byte[input.length * 2];
+        int size = 0;
+        while (!deflater.finished()) {
+            size += deflater.deflate(output, size, output.length - size);
+        }
+
+        deflater.end();
+        return (double) size / input.length;
+    }
+
+    private static String generate(double randomRatio) {
+        return CompressibleStringProvider.builder().alphabet("0123456789abcdef").random(new Random(0))
+                .randomRatio(randomRatio).build().generate(200000);
+    }
+
+    @Test
+    void testCompressibilityFollowsRatio() {
+        double none = compressedRatio(generate(0));
+        double half = compressedRatio(generate(0.5));
+        double all = compressedRatio(generate(1));
+
+        assertTrue(none < 0.2, "ratio 0 compressed to " + none);
+        assertTrue(half > none && half < all, "ratio 0.5 compressed to " + half);
+
+        // 4 bits per character can at best be compressed to half
+        assertTrue(all > 0.5, "ratio 1 compressed to " + all);
+    }
+
+    @Test
+    void testRandomPool() {
+        String value = CompressibleStringProvider.builder().alphabet("0123456789abcdef").random(new Random(0))
+                .randomRatio(1.0).randomPoolSize(1 << 20).build().generate(200000);
+        assertTrue(value.matches("[0-9a-f]{200000}"));
+        assertTrue(compressedRatio(value) > 0.5);
+    }
+
+    @Test
+    void testEntropy() {
+        CompressibleStringProvider provider = CompressibleStringProvider.builder().alphabet("0123456789abcdef")
+                .entropy(1.0).build();
+        assertEquals(0.25, provider.getRandomRatio(), 1e-9);
+        assertEquals(1.0, provider.getEntropy(), 1e-9);
+    }
+
+    @Test
+    void testLimitedToAlphabet() {
+        CompressibleStringProvider provider = CompressibleStringProvider.builder().alphabet("xyz").runLength(5)
+                .dictionarySize(5).build();
+        assertTrue(provider.generate(1003).matches("[xyz]{1003}"));
+
+        char[] chars = new char[10];
+        provider.generate(chars, 1, 9);
+        assertTrue(new String(chars, 1, 9).matches("[xyz]{9}"));
+
+        byte[] bytes = new byte[10];
+        provider.generate(bytes, 0, 10);
+        assertTrue(new String(bytes, StandardCharsets.ISO_8859_1).matches("[xyz]{10}"));
+    }
+
+    @Test
+    void testDeterministic() {
+        assertEquals(generate(0.3), generate(0.3));
+    }
+
+    @Test
+    void testInvalidArguments() {
+        assertThrows(IllegalArgumentException.class,
+                () -> CompressibleStringProvider.builder().randomRatio(1.5).build());
+        assertThrows(IllegalArgumentException.class,
+                () -> CompressibleStringProvider.builder().randomRatio(0.5).entropy(1.0).build());
+        assertThrows(IllegalArgumentException.class,
+                () -> CompressibleStringProvider.builder().alphabet("ab").entropy(2.0).build());
+        assertThrows(IllegalArgumentException.class,
+                () -> CompressibleStringProvider.builder().runLength(0).build());
+        assertThrows(IllegalArgumentException.class,
+                () -> CompressibleStringProvider.builder().runLength(10).dictionarySize(5).build());
+        assertThrows(IllegalArgumentException.class,
+                () -> CompressibleStringProvider.builder().runLength(10).randomPoolSize(5).build());
+        assertThrows(IllegalArgumentException.class, () -> CompressibleStringProvider.builder().build().generate(0));
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.unitvectory.consistgen.string;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test the FingerprintSet class.
+ * 
+ * @author Jared Hatfield (UnitVectorY Labs)
+ */
+class FingerprintSetTest {
+
+    @Test
+    void testAddContains() {
+        FingerprintSet set = new FingerprintSet(10);
+        assertTrue(set.add(5));
+        assertFalse(set.add(5));
+        assertTrue(set.contains(5));
+        assertFalse(set.contains(6));
+        assertEquals(1, set.size());
+    }
+
+    @Test
+    void testCapacityExhausted() {
+        FingerprintSet set = new FingerprintSet(3);
+        set.add(1);
+        set.add(2);
+        set.add(3);
+        assertFalse(set.add(3));
+        assertThrows(IllegalStateException.class, () -> set.add(4));
+    }
+
+    @Test
+    void testRemoveKeepsClustersReachable() {
+        // Every fingerprint shares the same home slot in a table of 16 slots
+        FingerprintSet set = new FingerprintSet(12);
+        for (long i = 1; i <= 6; i++) {
+            set.add(i << 4 | 15);
+        }
+
+        assertTrue(set.remove(2 << 4 | 15));
+        assertFalse(set.remove(2 << 4 | 15));
+        for (long i = 1; i <= 6; i++) {
+            assertEquals(i != 2, set.contains(i << 4 | 15));
+        }
+
+        assertEquals(5, set.size());
+    }
+
+    @Test
+    void testMatchesHashSet() {
+        Random random = new Random(0);
+        FingerprintSet set = new FingerprintSet(1000);
+        Set<Long> expected = new HashSet<>();
+        for (int i = 0; i < 100000; i++) {
+            long fingerprint = 1 + random.nextInt(2000);
+            if (random.nextBoolean() && expected.size() < 1000) {
+                assertEquals(expected.add(fingerprint), set.add(fingerprint));
+            } else {
+                assertEquals(expected.remove(fingerprint), set.remove(fingerprint));
+            }
+
+            assertEquals(expected.size(), set.size());
+        }
+
+        for (long fingerprint = 1; fingerprint <= 2000; fingerprint++) {
+            assertEquals(expected.contains(fingerprint), set.contains(fingerprint));
+        }
+    }
+}
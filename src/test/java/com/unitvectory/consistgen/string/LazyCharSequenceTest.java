@@ -0,0 +1,100 @@
+/*
+ * Copyright 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.unitvectory.consistgen.string;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test the LazyCharSequence class.
+ * 
+ * @author Jared Hatfield (UnitVectorY Labs)
+ */
+class LazyCharSequenceTest {
+
+    private static String charByChar(CharSequence value) {
+        StringBuilder builder = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            builder.append(value.charAt(i));
+        }
+
+        return builder.toString();
+    }
+
+    @Test
+    void testCharAtMatchesToString() {
+        LazyCharSequence value = SeekableStringProvider.builder().seed(1L).build().generateLazy(1001);
+        assertEquals(1001, value.length());
+        assertEquals(charByChar(value), value.toString());
+    }
+
+    @Test
+    void testSubSequence() {
+        LazyCharSequence value = SeekableStringProvider.builder().seed(2L).build().generateLazy(500);
+        String whole = value.toString();
+        for (int start = 0; start < 5; start++) {
+            for (int end = start; end < 12; end++) {
+                assertEquals(whole.substring(start, end), value.subSequence(start, end).toString());
+                assertEquals(whole.substring(start, end), charByChar(value.subSequence(start, end)));
+            }
+        }
+
+        assertEquals(whole.substring(101, 400), value.subSequence(100, 450).subSequence(1, 300).toString());
+    }
+
+    @Test
+    void testParallelMatchesSequential() {
+        SeekableStringProvider provider = SeekableStringProvider.builder().seed(3L).build();
+        int length = LazyCharSequence.PARALLEL_THRESHOLD * 2 + 12345;
+        LazyCharSequence value = provider.view(1, length);
+        String whole = value.toString();
+        assertEquals(length, whole.length());
+
+        for (int i = 0; i < length; i += 9973) {
+            assertEquals(value.charAt(i), whole.charAt(i));
+        }
+
+        assertEquals(whole.substring(length - 100), charByChar(value.subSequence(length - 100, length)));
+    }
+
+    @Test
+    void testGetCharsAndBytes() {
+        LazyCharSequence value = SeekableStringProvider.builder().seed(4L).build().generateLazy(100);
+        String whole = value.toString();
+
+        char[] chars = new char[20];
+        value.getChars(3, 20, chars, 3);
+        assertEquals(whole.substring(3, 20), new String(chars, 3, 17));
+
+        byte[] bytes = new byte[10];
+        value.getBytes(90, 100, bytes, 0);
+        assertEquals(whole.substring(90), new String(bytes, StandardCharsets.ISO_8859_1));
+
+        value.getChars(5, 5, new char[0], 0);
+    }
+
+    @Test
+    void testOutOfBounds() {
+        LazyCharSequence value = SeekableStringProvider.builder().build().generateLazy(10);
+        assertThrows(IndexOutOfBoundsException.class, () -> value.charAt(10));
+        assertThrows(IndexOutOfBoundsException.class, () -> value.charAt(-1));
+        assertThrows(IndexOutOfBoundsException.class, () -> value.subSequence(5, 4));
+        assertThrows(IndexOutOfBoundsException.class, () -> value.subSequence(0, 11));
+        assertThrows(IndexOutOfBoundsException.class, () -> value.getChars(0, 10, new char[9], 0));
+    }
+}
@@ -0,0 +1,140 @@
+/*
+ * Copyright 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.unitvectory.consistgen.string;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test the MarkovTextProvider class.
+ * 
+ * @author Jared Hatfield (UnitVectorY Labs)
+ */
+class MarkovTextProviderTest {
+
+    private static final String CORPUS = "the cat sat on the mat and the dog sat on the log";
+
+    @Test
+    void testWordsExactLength() {
+        StringProvider provider = MarkovTextProvider.builder().words(List.of("alpha", "beta", "gamma")).build();
+        for (int length = 1; length < 100; length++) {
+            String value = provider.generate(length);
+            assertEquals(length, value.length());
+            for (String word : value.split(" ")) {
+                assertTrue("alpha".startsWith(word) || "beta".startsWith(word) || "gamma".startsWith(word));
+            }
+        }
+    }
+
+    @Test
+    void testWordWeights() {
+        StringProvider provider = MarkovTextProvider.builder().words(List.of("a", "b", "c"))
+                .weights(new double[] { 3, 1, 0 }).random(new Random(0)).build();
+        Map<String, Integer> counts = new HashMap<>();
+        for (String word : provider.generate(79999).split(" ")) {
+            counts.merge(word, 1, Integer::sum);
+        }
+
+        assertFalse(counts.containsKey("c"));
+        assertEquals(3.0, counts.get("a") / (double) counts.get("b"), 0.1);
+    }
+
+    @Test
+    void testCorpusTransitions() {
+        MarkovTextProvider provider = MarkovTextProvider.builder().corpus(CORPUS).random(new Random(1)).build();
+        assertEquals(8, provider.getVocabularySize());
+
+        String[] words = provider.generate(10000).split(" ");
+        for (int i = 0; i < words.length - 2; i++) {
+            if (words[i].equals("cat") || words[i].equals("dog")) {
+                assertEquals("sat", words[i + 1]);
+            } else if (words[i].equals("sat")) {
+                assertEquals("on", words[i + 1]);
+            } else if (words[i].equals("on")) {
+                assertEquals("the", words[i + 1]);
+            } else if (words[i].equals("the")) {
+                assertTrue(List.of("cat", "mat", "dog", "log").contains(words[i + 1]));
+            }
+        }
+    }
+
+    @Test
+    void testDeadEndRestarts() {
+        StringProvider provider = MarkovTextProvider.builder().corpus("one two").random(new Random(2)).build();
+        String value = provider.generate(1000);
+        assertEquals(1000, value.length());
+        assertFalse(value.contains("one one"));
+        assertTrue(value.contains("one two"));
+    }
+
+    @Test
+    void testDeterministic() {
+        StringProvider a = MarkovTextProvider.builder().corpus(CORPUS).random(new Random(3)).build();
+        StringProvider b = MarkovTextProvider.builder().corpus(CORPUS).random(new Random(3)).build();
+        assertEquals(a.generate(500), b.generate(500));
+    }
+
+    @Test
+    void testGenerateIntoArrays() {
+        StringProvider a = MarkovTextProvider.builder().corpus(CORPUS).separator(", ").random(new Random(4)).build();
+        StringProvider b = MarkovTextProvider.builder().corpus(CORPUS).separator(", ").random(new Random(4)).build();
+        StringProvider c = MarkovTextProvider.builder().corpus(CORPUS).separator(", ").random(new Random(4)).build();
+        String expected = a.generate(200);
+
+        char[] chars = new char[202];
+        b.generate(chars, 1, 200);
+        assertEquals(expected, new String(chars, 1, 200));
+
+        byte[] bytes = new byte[202];
+        c.generate(bytes, 2, 200);
+        assertArrayEquals(expected.getBytes(StandardCharsets.ISO_8859_1), Arrays.copyOfRange(bytes, 2, 202));
+    }
+
+    @Test
+    void testNonLatin1() {
+        StringProvider provider = MarkovTextProvider.builder().words(List.of("été", "東京")).build();
+        assertEquals(50, provider.generate(50).length());
+        assertThrows(IllegalStateException.class, () -> provider.generate(new byte[10], 0, 10));
+    }
+
+    @Test
+    void testInvalid() {
+        assertThrows(IllegalArgumentException.class, () -> MarkovTextProvider.builder().build());
+        assertThrows(IllegalArgumentException.class,
+                () -> MarkovTextProvider.builder().words(List.of("a")).corpus("a").build());
+        assertThrows(IllegalArgumentException.class, () -> MarkovTextProvider.builder().words(List.of()).build());
+        assertThrows(IllegalArgumentException.class, () -> MarkovTextProvider.builder().words(List.of("")).build());
+        assertThrows(IllegalArgumentException.class, () -> MarkovTextProvider.builder().corpus("  \n").build());
+        assertThrows(IllegalArgumentException.class,
+                () -> MarkovTextProvider.builder().corpus("a").weights(new double[] { 1 }).build());
+        assertThrows(IllegalArgumentException.class,
+                () -> MarkovTextProvider.builder().words(List.of("a")).weights(new double[] { 1, 2 }).build());
+        assertThrows(IllegalArgumentException.class,
+                () -> MarkovTextProvider.builder().words(List.of("a")).separator("").build());
+        assertThrows(IllegalArgumentException.class,
+                () -> MarkovTextProvider.builder().words(List.of("a")).build().generate(0));
+    }
+}
@@ -0,0 +1,211 @@
+/*
+ * Copyright 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.unitvectory.consistgen.string;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import java.util.regex.Pattern;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test the MaskStringProvider class.
+ * 
+ * @author Jared Hatfield (UnitVectorY Labs)
+ */
+class MaskStringProviderTest {
+
+    @Test
+    void testMask() {
+        MaskStringProvider provider = MaskStringProvider.builder().mask("AAA-9999-xx").build();
+        assertEquals(11, provider.getLength());
+        for (int i = 0; i < 100; i++) {
+            assertTrue(provider.generate().matches("[A-Z]{3}-[0-9]{4}-[0-9a-f]{2}"));
+        }
+    }
+
+    @Test
+    void testMaskPlaceholders() {
+        MaskStringProvider provider = MaskStringProvider.builder().mask("a?#X\\9\\A[QZ]9{3}").build();
+        for (int i = 0; i < 100; i++) {
+            assertTrue(provider.generate(10).matches("[a-z][a-zA-Z][a-zA-Z0-9][0-9A-F]9A[QZ][0-9]{3}"));
+        }
+    }
+
+    @Test
+    void testRegex() {
+        MaskStringProvider provider = MaskStringProvider.builder().regex("SKU-[A-C]{2}\\d{3}\\.\\w.").build();
+        assertEquals(12, provider.getLength());
+        for (int i = 0; i < 100; i++) {
+            assertTrue(provider.generate().matches("SKU-[A-C]{2}\\d{3}\\.\\w[ -~]"));
+        }
+    }
+
+    @Test
+    void testRegexClassEscapes() {
+        MaskStringProvider provider = MaskStringProvider.builder().regex("[\\dA-F]{8}").seed(1L).build();
+        for (int i = 0; i < 100; i++) {
+            assertTrue(provider.generate().matches("[0-9A-F]{8}"));
+        }
+
+        provider = MaskStringProvider.builder().regex("[\\w]{8}").build();
+        for (int i = 0; i < 100; i++) {
+            assertTrue(provider.generate().matches("\\w{8}"));
+        }
+
+        provider = MaskStringProvider.builder().mask("[\\d]{8}").build();
+        assertTrue(provider.generate().matches("[0-9]{8}"));
+    }
+
+    @Test
+    void testNegatedClass() {
+        MaskStringProvider provider = MaskStringProvider.builder().regex("[^0-9]{6}").build();
+        for (int i = 0; i < 100; i++) {
+            assertTrue(provider.generate().matches("[ -/:-~]{6}"));
+        }
+
+        assertThrows(IllegalArgumentException.class, () -> MaskStringProvider.builder().regex("[^ -~]").build());
+    }
+
+    @Test
+    void testSeeded() {
+        MaskStringProvider first = MaskStringProvider.builder().mask("AA-99").seed(5L).build();
+        MaskStringProvider second = MaskStringProvider.builder().mask("AA-99").seed(5L).build();
+        for (int i = 0; i < 10; i++) {
+            assertEquals(first.generate(), second.generate());
+        }
+    }
+
+    @Test
+    void testRandom() {
+        MaskStringProvider first = MaskStringProvider.builder().mask("9{20}").random(new Random(1)).build();
+        assertNotEquals(first.generate(), first.generate());
+    }
+
+    @Test
+    void testStatic() {
+        MaskStringProvider provider = MaskStringProvider.builder().mask("AAA-9999-xx").staticMode(true).build();
+        assertEquals("ABC-0123-01", provider.generate());
+        assertSame(provider.generate(), provider.generate(11));
+    }
+
+    @Test
+    void testGenerateInto() {
+        MaskStringProvider provider = MaskStringProvider.builder().mask("ID-X{4}").build();
+        char[] chars = new char[8];
+        provider.generate(chars, 1, 7);
+        assertTrue(new String(chars, 1, 7).matches("ID-[0-9A-F]{4}"));
+
+        byte[] bytes = new byte[7];
+        provider.generate(bytes, 0, 7);
+        assertTrue(new String(bytes, StandardCharsets.ISO_8859_1).matches("ID-[0-9A-F]{4}"));
+    }
+
+    @Test
+    void testNonLatin1() {
+        MaskStringProvider provider = MaskStringProvider.builder().mask("α-[βγ]").build();
+        assertTrue(provider.generate().matches("α-[βγ]"));
+        IllegalStateException e = assertThrows(IllegalStateException.class,
+                () -> provider.generate(new byte[3], 0, 3));
+        assertEquals("mask must only generate Latin-1 characters", e.getMessage());
+        MaskStringProvider regex = MaskStringProvider.builder().regex("é[αβ]").build();
+        assertThrows(IllegalStateException.class, () -> regex.generate(new byte[2], 0, 2));
+        byte[] latin1 = new byte[2];
+        MaskStringProvider.builder().regex("é[ab]").build().generate(latin1, 0, 2);
+        assertTrue(new String(latin1, StandardCharsets.ISO_8859_1).matches("é[ab]"));
+    }
+
+    @Test
+    void testLengthMustMatch() {
+        MaskStringProvider provider = MaskStringProvider.builder().mask("999").build();
+        assertThrows(IllegalArgumentException.class, () -> provider.generate(4));
+        assertThrows(IllegalArgumentException.class, () -> provider.generate(new char[4], 0, 4));
+    }
+
+    @Test
+    void testInvalid() {
+        assertThrows(IllegalArgumentException.class, () -> MaskStringProvider.builder().build());
+        assertThrows(IllegalArgumentException.class,
+                () -> MaskStringProvider.builder().mask("9").regex("9").build());
+        assertThrows(IllegalArgumentException.class, () -> MaskStringProvider.builder().mask("").build());
+        assertThrows(IllegalArgumentException.class,
+                () -> MaskStringProvider.builder().mask("9").seed(1L).staticMode(true).build());
+        assertThrows(IllegalArgumentException.class, () -> MaskStringProvider.builder().mask("[ab").build());
+        assertThrows(IllegalArgumentException.class, () -> MaskStringProvider.builder().mask("[z-a]").build());
+        assertThrows(IllegalArgumentException.class, () -> MaskStringProvider.builder().mask("9{x}").build());
+        assertThrows(IllegalArgumentException.class, () -> MaskStringProvider.builder().mask("9\\").build());
+        assertThrows(IllegalArgumentException.class, () -> MaskStringProvider.builder().regex("\\d+").build());
+        assertThrows(IllegalArgumentException.class, () -> MaskStringProvider.builder().regex("(a|b)").build());
+        assertThrows(IllegalArgumentException.class, () -> MaskStringProvider.builder().regex("\\s").build());
+        assertThrows(IllegalArgumentException.class, () -> MaskStringProvider.builder().regex("\\n").build());
+        assertThrows(IllegalArgumentException.class, () -> MaskStringProvider.builder().regex("\\D").build());
+        assertThrows(IllegalArgumentException.class, () -> MaskStringProvider.builder().regex("[\\s]").build());
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> MaskStringProvider.builder().regex("").build());
+        assertEquals("regex must not be empty", e.getMessage());
+    }
+
+    @Test
+    void testRegexOutputMatches() {
+        String[] regexes = { "SKU-[A-C]{2}\\d{3}\\.\\w.", "[\\dA-F]{8}", "[^0-9]{6}", "[\\\\]x", "[\\]a]{4}",
+                "[a\\-z]{5}", "[!-\\/]{3}", "^[a-c]{3}$", "\\^a\\$", "a\\\\$", "a{0}b", "[\\[\\]]{2}",
+                "\\{\\}" };
+        for (String regex : regexes) {
+            MaskStringProvider provider = MaskStringProvider.builder().regex(regex).seed(1L).build();
+            for (int i = 0; i < 100; i++) {
+                String value = provider.generate();
+                assertTrue(Pattern.matches(regex, value), regex + " did not match " + value);
+            }
+        }
+    }
+
+    @Test
+    void testRegexUnsupported() {
+        assertRegexInvalid("a{2}{3}", "repetition must follow a character or class");
+        assertRegexInvalid("a}", "regex repetition must follow a character or class");
+        assertRegexInvalid("{2}", "regex repetition must follow a character or class");
+        assertRegexInvalid("[A-Z&&[^B]]", "regex character class intersections are not supported");
+        assertRegexInvalid("[a[b]]", "regex character classes must not be nested");
+        assertRegexInvalid("[\\]", "regex has an unclosed character class");
+        assertRegexInvalid("a^b", "regex anchors are only supported at the start and end");
+        assertRegexInvalid("a$b", "regex anchors are only supported at the start and end");
+        assertRegexInvalid("a{2", "regex has an unclosed repetition");
+        assertRegexInvalid("a{2,3}", "repetition must be a fixed count");
+        assertRegexInvalid("[a-\\d]", "character class range must end with a character");
+    }
+
+    @Test
+    void testTooLong() {
+        assertRegexInvalid("a{2000000000}", "regex must not be longer than 1048576 characters");
+        assertRegexInvalid("a{99999999999999999999}", "regex must not be longer than 1048576 characters");
+        assertRegexInvalid("a{1048576}b", "regex must not be longer than 1048576 characters");
+        assertEquals(MaskStringProvider.MAX_LENGTH,
+                MaskStringProvider.builder().regex("a{1048575}b").build().getLength());
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> MaskStringProvider.builder().mask("9{1048577}").build());
+        assertEquals("mask must not be longer than 1048576 characters", e.getMessage());
+    }
+
+    private static void assertRegexInvalid(String regex, String message) {
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> MaskStringProvider.builder().regex(regex).build());
+        assertEquals(message, e.getMessage(), regex);
+    }
+}
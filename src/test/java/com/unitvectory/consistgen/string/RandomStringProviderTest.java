@@ -14,11 +14,14 @@
 package com.unitvectory.consistgen.string;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.util.Random;
 
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import org.junit.jupiter.api.Test;
 
 /**
@@ -100,4 +103,203 @@ class RandomStringProviderTest {
                 "Expected generate() to throw on negative length");
         assertEquals("length must be greater than 0", thrown.getMessage());
     }
+
+    @Test
+    void testBulkAlphabet() {
+        RandomStringProvider provider = RandomStringProvider.builder().random(new Random(0)).bulk(true).build();
+        for (int i = 1; i < 100; i++) {
+            String result = provider.generate(i);
+            assertEquals(i, result.length());
+            assertTrue(isLimitedToAlphabet(result, RandomStringProvider.ALPHABET));
+        }
+    }
+
+    @Test
+    void testBulkDeterministic() {
+        RandomStringProvider first = RandomStringProvider.builder().random(new Random(1)).bulk(true).build();
+        RandomStringProvider second = RandomStringProvider.builder().random(new Random(1)).bulk(true).build();
+        assertEquals(first.generate(64), second.generate(64));
+    }
+
+    @Test
+    void testBulkUnbiased() {
+        // With 200 characters a plain modulo of a byte would pick the first 56 twice as often
+        StringBuilder alphabet = new StringBuilder();
+        for (char c = 0x100; c < 0x100 + 200; c++) {
+            alphabet.append(c);
+        }
+        RandomStringProvider provider = RandomStringProvider.builder().alphabet(alphabet.toString())
+                .random(new Random(2)).bulk(true).build();
+        int[] counts = new int[200];
+        for (char c : provider.generate(200000).toCharArray()) {
+            counts[c - 0x100]++;
+        }
+        long low = 0;
+        long high = 0;
+        for (int i = 0; i < 56; i++) {
+            low += counts[i];
+            high += counts[199 - i];
+        }
+        assertTrue(Math.abs(low - high) < low / 20);
+    }
+
+    @Test
+    void testBulkBlockIsBounded() {
+        int[] largest = new int[1];
+        Random random = new Random(3) {
+            @Override
+            public void nextBytes(byte[] bytes) {
+                largest[0] = Math.max(largest[0], bytes.length);
+                super.nextBytes(bytes);
+            }
+        };
+        RandomStringProvider provider = RandomStringProvider.builder().random(random).bulk(true).build();
+        byte[] dest = new byte[1 << 20];
+        provider.generate(dest, 0, dest.length);
+        assertTrue(isLimitedToAlphabet(new String(dest, StandardCharsets.ISO_8859_1), RandomStringProvider.ALPHABET));
+        assertTrue(largest[0] <= Alphabet.CHUNK);
+    }
+
+    @Test
+    void testBulkLargeAlphabet() {
+        StringBuilder alphabet = new StringBuilder();
+        for (char c = 0x100; c < 0x100 + 1000; c++) {
+            alphabet.append(c);
+        }
+        RandomStringProvider provider = RandomStringProvider.builder().alphabet(alphabet.toString()).bulk(true)
+                .build();
+        for (int i = 1; i < 100; i++) {
+            String result = provider.generate(i);
+            assertEquals(i, result.length());
+            assertTrue(isLimitedToAlphabet(result, alphabet.toString()));
+        }
+    }
+
+    @Test
+    void testPowerOfTwoAlphabets() {
+        String[] alphabets = { "01", "0123456789abcdef", "ABCDEFGHIJKLMNOPQRSTUVWXYZ234567",
+                "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789-_" };
+        for (String alphabet : alphabets) {
+            RandomStringProvider provider = RandomStringProvider.builder().alphabet(alphabet).random(new Random(0))
+                    .build();
+            for (int i = 1; i < 100; i++) {
+                String result = provider.generate(i);
+                assertEquals(i, result.length());
+                assertTrue(isLimitedToAlphabet(result, alphabet));
+            }
+        }
+    }
+
+    @Test
+    void testPowerOfTwoUsesEveryCharacter() {
+        String alphabet = "0123456789abcdef";
+        RandomStringProvider provider = RandomStringProvider.builder().alphabet(alphabet).build();
+        int[] counts = new int[16];
+        for (char c : provider.generate(16000).toCharArray()) {
+            counts[alphabet.indexOf(c)]++;
+        }
+        for (int count : counts) {
+            assertTrue(count > 800 && count < 1200);
+        }
+    }
+
+    @Test
+    void testPowerOfTwoReadsLongs() {
+        Random random = new Random() {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            public long nextLong() {
+                return 0x0123456789ABCDEFL;
+            }
+        };
+        RandomStringProvider provider = RandomStringProvider.builder().alphabet("0123456789abcdef").random(random)
+                .build();
+        assertEquals("fedcba9876543210f", provider.generate(17));
+    }
+
+    @Test
+    void testSingleCharacterAlphabet() {
+        RandomStringProvider provider = RandomStringProvider.builder().alphabet("x").build();
+        assertEquals("xxxxx", provider.generate(5));
+    }
+
+    @Test
+    void testGenerateIntoMatchesString() {
+        String[] alphabets = { null, "0123456789abcdef", "abc" };
+        for (String alphabet : alphabets) {
+            for (boolean bulk : new boolean[] { false, true }) {
+                String expected = RandomStringProvider.builder().alphabet(alphabet).bulk(bulk).random(new Random(5))
+                        .build().generate(300);
+
+                char[] chars = new char[302];
+                RandomStringProvider.builder().alphabet(alphabet).bulk(bulk).random(new Random(5)).build()
+                        .generate(chars, 1, 300);
+                assertEquals(expected, new String(chars, 1, 300));
+
+                byte[] bytes = new byte[302];
+                RandomStringProvider.builder().alphabet(alphabet).bulk(bulk).random(new Random(5)).build()
+                        .generate(bytes, 1, 300);
+                assertEquals(expected, new String(bytes, 1, 300, StandardCharsets.ISO_8859_1));
+
+                ByteBuffer heap = ByteBuffer.allocate(300);
+                RandomStringProvider.builder().alphabet(alphabet).bulk(bulk).random(new Random(5)).build()
+                        .generate(heap, 300);
+                assertEquals(expected, new String(heap.array(), StandardCharsets.ISO_8859_1));
+            }
+        }
+    }
+
+    @Test
+    void testGenerateIntoDirectBuffer() {
+        RandomStringProvider provider = RandomStringProvider.builder().alphabet("abc").random(new Random(1)).build();
+        ByteBuffer buffer = ByteBuffer.allocateDirect(1000);
+        provider.generate(buffer, 1000);
+        assertEquals(1000, buffer.position());
+        buffer.flip();
+        assertTrue(isLimitedToAlphabet(StandardCharsets.ISO_8859_1.decode(buffer).toString(), "abc"));
+    }
+
+    @Test
+    void testNonLatin1Alphabet() {
+        RandomStringProvider provider = RandomStringProvider.builder().alphabet("\u03b1\u03b2\u03b3").build();
+        assertTrue(isLimitedToAlphabet(provider.generate(50), "\u03b1\u03b2\u03b3"));
+
+        char[] chars = new char[50];
+        provider.generate(chars, 0, 50);
+        assertTrue(isLimitedToAlphabet(new String(chars), "\u03b1\u03b2\u03b3"));
+
+        assertThrows(IllegalStateException.class, () -> provider.generate(new byte[5], 0, 5));
+        assertThrows(IllegalStateException.class, () -> provider.generate(ByteBuffer.allocateDirect(5), 5));
+    }
+
+    @Test
+    void testWeights() {
+        RandomStringProvider provider = RandomStringProvider.builder().alphabet("abc").random(new Random(0))
+                .weights(new double[] { 3, 1, 0 }).build();
+        String value = provider.generate(10000);
+        assertTrue(isLimitedToAlphabet(value, "ab"));
+
+        long count = value.chars().filter(c -> c == 'a').count();
+        assertEquals(7500, count, 250);
+
+        char[] chars = new char[100];
+        provider.generate(chars, 0, 100);
+        assertTrue(isLimitedToAlphabet(new String(chars), "ab"));
+    }
+
+    @Test
+    void testWeightsTakePrecedence() {
+        RandomStringProvider provider = RandomStringProvider.builder().alphabet("0123456789abcdef").bulk(true)
+                .weights(new double[] { 1, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0 }).build();
+        assertEquals("00000000", provider.generate(8));
+    }
+
+    @Test
+    void testWeightsMustMatchAlphabet() {
+        assertThrows(IllegalArgumentException.class,
+                () -> RandomStringProvider.builder().alphabet("abc").weights(new double[] { 1, 2 }).build());
+        assertThrows(IllegalArgumentException.class,
+                () -> RandomStringProvider.builder().alphabet("ab").weights(new double[] { 1, -2 }).build());
+    }
 }
@@ -0,0 +1,96 @@
+/*
+ * Copyright 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.unitvectory.consistgen.string;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test the SeekableStringProvider class.
+ * 
+ * @author Jared Hatfield (UnitVectorY Labs)
+ */
+class SeekableStringProviderTest {
+
+    @Test
+    void testDeterministic() {
+        SeekableStringProvider first = SeekableStringProvider.builder().seed(7L).build();
+        SeekableStringProvider second = SeekableStringProvider.builder().seed(7L).build();
+        for (int length = 1; length < 40; length++) {
+            assertEquals(first.generate(length), second.generate(length));
+        }
+    }
+
+    @Test
+    void testSuccessiveStringsDiffer() {
+        SeekableStringProvider provider = SeekableStringProvider.builder().build();
+        assertNotEquals(provider.generate(32), provider.generate(32));
+    }
+
+    @Test
+    void testSeedsDiffer() {
+        assertNotEquals(SeekableStringProvider.builder().seed(1L).build().generate(32),
+                SeekableStringProvider.builder().seed(2L).build().generate(32));
+    }
+
+    @Test
+    void testContinuesStream() {
+        SeekableStringProvider provider = SeekableStringProvider.builder().seed(3L).build();
+        String first = provider.generate(5);
+        String second = provider.generate(8);
+        assertEquals(first + second, provider.view(0, 13).toString());
+    }
+
+    @Test
+    void testGenerateInto() {
+        SeekableStringProvider provider = SeekableStringProvider.builder().seed(4L).alphabet("0123456789").build();
+        char[] chars = new char[9];
+        provider.generate(chars, 2, 7);
+        byte[] bytes = new byte[4];
+        provider.generate(bytes, 1, 3);
+        assertEquals(provider.view(0, 10).toString(),
+                new String(chars, 2, 7) + new String(bytes, 1, 3, StandardCharsets.ISO_8859_1));
+    }
+
+    @Test
+    void testNonLatin1() {
+        SeekableStringProvider provider = SeekableStringProvider.builder().alphabet("αβ").build();
+        assertTrue(provider.generate(100).matches("[αβ]{100}"));
+        assertThrows(IllegalStateException.class, () -> provider.generate(new byte[4], 0, 4));
+    }
+
+    @Test
+    void testUniform() {
+        SeekableStringProvider provider = SeekableStringProvider.builder().alphabet("abc").build();
+        String value = provider.generate(300000);
+        for (char c : "abc".toCharArray()) {
+            long count = value.chars().filter(x -> x == c).count();
+            assertEquals(100000, count, 1500);
+        }
+    }
+
+    @Test
+    void testInvalidLength() {
+        SeekableStringProvider provider = SeekableStringProvider.builder().build();
+        assertThrows(IllegalArgumentException.class, () -> provider.generate(0));
+        assertThrows(IllegalArgumentException.class, () -> provider.generateLazy(-1));
+        assertThrows(IllegalArgumentException.class, () -> provider.view(0, -1));
+    }
+}
@@ -14,7 +14,12 @@
 package com.unitvectory.consistgen.string;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 
 import org.junit.jupiter.api.Test;
 
@@ -112,4 +117,38 @@ class SettableStringProviderTest {
         result = provider.generate(30);
         assertEquals("cccccccccccccccccccccccccccccc", result);
     }
+
+    @Test
+    void testGenerateInto() {
+        SettableStringProvider provider = SettableStringProvider.builder().alphabet("xy").build();
+        char[] chars = new char[3];
+        provider.generate(chars, 0, 3);
+        assertArrayEquals("xyx".toCharArray(), chars);
+
+        provider.setAlphabet("12");
+        byte[] bytes = new byte[4];
+        provider.generate(bytes, 1, 3);
+        assertEquals("\0" + "121", new String(bytes, StandardCharsets.ISO_8859_1));
+
+        ByteBuffer buffer = ByteBuffer.allocateDirect(3);
+        provider.generate(buffer, 3);
+        buffer.flip();
+        assertEquals("121", StandardCharsets.ISO_8859_1.decode(buffer).toString());
+    }
+
+    @Test
+    void testSetAlphabetInvalidatesCache() {
+        SettableStringProvider provider = SettableStringProvider.builder().alphabet("ab").build();
+        String first = provider.generate(5);
+        assertEquals("ababa", first);
+
+        provider.setAlphabet("ab");
+        assertSame(first, provider.generate(5));
+
+        provider.setAlphabet("xyz");
+        assertEquals("xyzxy", provider.generate(5));
+
+        provider.setAlphabet("ab");
+        assertEquals("ababa", provider.generate(5));
+    }
 }
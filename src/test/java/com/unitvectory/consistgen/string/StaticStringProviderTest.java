@@ -14,7 +14,13 @@
 package com.unitvectory.consistgen.string;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 
 import org.junit.jupiter.api.Test;
 
@@ -68,4 +74,73 @@ class StaticStringProviderTest {
             provider.generate(0);
         });
     }
+
+    @Test
+    void testGenerateChars() {
+        StaticStringProvider provider = StaticStringProvider.builder().alphabet("abc").build();
+        char[] chars = new char[9];
+        provider.generate(chars, 2, 5);
+        assertArrayEquals("\0\0abcab\0\0".toCharArray(), chars);
+    }
+
+    @Test
+    void testGenerateBytes() {
+        StaticStringProvider provider = StaticStringProvider.builder().alphabet("abc").build();
+        byte[] bytes = new byte[9];
+        provider.generate(bytes, 2, 5);
+        assertArrayEquals("\0\0abcab\0\0".getBytes(StandardCharsets.ISO_8859_1), bytes);
+    }
+
+    @Test
+    void testGenerateByteBuffer() {
+        StaticStringProvider provider = StaticStringProvider.getInstance();
+        for (ByteBuffer buffer : new ByteBuffer[] { ByteBuffer.allocate(80), ByteBuffer.allocateDirect(80) }) {
+            buffer.position(3);
+            provider.generate(buffer, 70);
+            assertEquals(73, buffer.position());
+            buffer.flip().position(3);
+            assertEquals(provider.generate(70), StandardCharsets.ISO_8859_1.decode(buffer).toString());
+        }
+    }
+
+    @Test
+    void testGenerateIntoOutOfBounds() {
+        StaticStringProvider provider = StaticStringProvider.getInstance();
+        assertThrows(IndexOutOfBoundsException.class, () -> provider.generate(new char[4], 1, 4));
+        assertThrows(IndexOutOfBoundsException.class, () -> provider.generate(new byte[4], -1, 2));
+        assertThrows(BufferOverflowException.class, () -> provider.generate(ByteBuffer.allocate(3), 4));
+        assertThrows(IllegalArgumentException.class, () -> provider.generate(new byte[4], 0, 0));
+    }
+
+    @Test
+    void testGenerateBytesRequiresLatin1() {
+        StaticStringProvider provider = StaticStringProvider.builder().alphabet("\u03b1\u03b2").build();
+        assertEquals("\u03b1\u03b2\u03b1", provider.generate(3));
+        assertThrows(IllegalStateException.class, () -> provider.generate(new byte[3], 0, 3));
+        assertThrows(IllegalStateException.class, () -> provider.generate(ByteBuffer.allocateDirect(3), 3));
+    }
+
+    @Test
+    void testGenerateCachedLength() {
+        StaticStringProvider provider = StaticStringProvider.builder().alphabet("abc").build();
+        String first = provider.generate(100);
+        assertSame(first, provider.generate(100));
+        assertEquals("abca", provider.generate(4));
+    }
+
+    @Test
+    void testGenerateLongerThanCache() {
+        StringBuilder expected = new StringBuilder();
+        for (int i = 0; i < 1000; i++) {
+            expected.append("abc".charAt(i % 3));
+        }
+
+        StaticStringProvider provider = StaticStringProvider.builder().alphabet("abc").build();
+        assertEquals(expected.toString(), provider.generate(1000));
+        assertEquals(expected.substring(0, 257), provider.generate(257));
+
+        char[] chars = new char[1001];
+        provider.generate(chars, 1, 1000);
+        assertEquals(expected.toString(), new String(chars, 1, 1000));
+    }
 }
@@ -0,0 +1,121 @@
+/*
+ * Copyright 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.unitvectory.consistgen.string;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test the UniqueStringProvider class.
+ * 
+ * @author Jared Hatfield (UnitVectorY Labs)
+ */
+class UniqueStringProviderTest {
+
+    private static StringProvider binary(long seed) {
+        return RandomStringProvider.builder().alphabet("ab").random(new Random(seed)).build();
+    }
+
+    @Test
+    void testDefaultProvider() {
+        UniqueStringProvider provider = UniqueStringProvider.builder().build();
+        assertEquals(20, provider.generate(20).length());
+    }
+
+    @Test
+    void testEveryStringIssuedOnce() {
+        UniqueStringProvider provider = UniqueStringProvider.builder().provider(binary(0)).capacity(8L).build();
+        Set<String> issued = new HashSet<>();
+        for (int i = 0; i < 8; i++) {
+            assertTrue(issued.add(provider.generate(3)));
+        }
+
+        assertTrue(provider.getCollisions() > 0);
+        assertThrows(IllegalStateException.class, () -> provider.generate(3));
+    }
+
+    @Test
+    void testBloomFilter() {
+        UniqueStringProvider provider = UniqueStringProvider.builder().provider(binary(1)).capacity(64L)
+                .bloomFilter(true).build();
+        Set<String> issued = new HashSet<>();
+        for (int i = 0; i < 64; i++) {
+            assertTrue(issued.add(provider.generate(6)));
+        }
+    }
+
+    @Test
+    void testWindow() {
+        UniqueStringProvider provider = UniqueStringProvider.builder().provider(binary(2)).window(4L).build();
+        Deque<String> recent = new ArrayDeque<>();
+        for (int i = 0; i < 1000; i++) {
+            String value = provider.generate(3);
+            assertFalse(recent.contains(value));
+            recent.addLast(value);
+            if (recent.size() > 4) {
+                recent.removeFirst();
+            }
+        }
+    }
+
+    @Test
+    void testGenerateInto() {
+        UniqueStringProvider provider = UniqueStringProvider.builder().provider(binary(3)).capacity(16L).build();
+        Set<String> issued = new HashSet<>();
+        for (int i = 0; i < 8; i++) {
+            char[] chars = new char[4];
+            provider.generate(chars, 0, 4);
+            assertTrue(issued.add(new String(chars)));
+
+            byte[] bytes = new byte[5];
+            provider.generate(bytes, 1, 4);
+            assertTrue(issued.add(new String(bytes, 1, 4, StandardCharsets.ISO_8859_1)));
+        }
+
+        assertThrows(IllegalStateException.class, () -> provider.generate(4));
+    }
+
+    @Test
+    void testFingerprintMatchesAcrossForms() {
+        UniqueStringProvider provider = UniqueStringProvider.builder()
+                .provider(StaticStringProvider.builder().alphabet("abc").build()).capacity(1L).build();
+        byte[] bytes = new byte[3];
+        provider.generate(bytes, 0, 3);
+        assertThrows(IllegalStateException.class, () -> provider.generate(3));
+        assertThrows(IllegalStateException.class, () -> provider.generate(new char[3], 0, 3));
+    }
+
+    @Test
+    void testInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> UniqueStringProvider.builder().capacity(0L).build());
+        assertThrows(IllegalArgumentException.class, () -> UniqueStringProvider.builder().window(0L).build());
+        assertThrows(IllegalArgumentException.class,
+                () -> UniqueStringProvider.builder().window(10L).capacity(5L).build());
+        assertThrows(IllegalArgumentException.class, () -> UniqueStringProvider.builder().maxAttempts(0).build());
+        assertThrows(IllegalArgumentException.class,
+                () -> UniqueStringProvider.builder().window(10L).bloomFilter(true).build());
+        assertThrows(IllegalArgumentException.class, () -> UniqueStringProvider.builder().build().generate(0));
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.unitvectory.consistgen.ulid;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test the CrockfordBase32 class.
+ * 
+ * @author Jared Hatfield (UnitVectorY Labs)
+ */
+class CrockfordBase32Test {
+
+    private static final String ALPHABET = "0123456789ABCDEFGHJKMNPQRSTVWXYZ";
+
+    private static String reference(long most, long least) {
+        BigInteger value = new BigInteger(1, new byte[] {
+                (byte) (most >>> 56), (byte) (most >>> 48), (byte) (most >>> 40), (byte) (most >>> 32),
+                (byte) (most >>> 24), (byte) (most >>> 16), (byte) (most >>> 8), (byte) most,
+                (byte) (least >>> 56), (byte) (least >>> 48), (byte) (least >>> 40), (byte) (least >>> 32),
+                (byte) (least >>> 24), (byte) (least >>> 16), (byte) (least >>> 8), (byte) least });
+        char[] chars = new char[26];
+        for (int i = 25; i >= 0; i--) {
+            chars[i] = ALPHABET.charAt(value.intValue() & 31);
+            value = value.shiftRight(5);
+        }
+        return new String(chars);
+    }
+
+    @Test
+    void testEncodeMatchesReference() {
+        Random random = new Random(0);
+        for (int i = 0; i < 1000; i++) {
+            long most = random.nextLong();
+            long least = random.nextLong();
+            String encoded = CrockfordBase32.encode(most, least);
+            assertEquals(reference(most, least), encoded);
+            assertEquals(most, CrockfordBase32.decodeMostSignificantBits(encoded));
+            assertEquals(least, CrockfordBase32.decodeLeastSignificantBits(encoded));
+        }
+    }
+
+    @Test
+    void testEncodeBoundaries() {
+        assertEquals("00000000000000000000000000", CrockfordBase32.encode(0, 0));
+        assertEquals("7ZZZZZZZZZZZZZZZZZZZZZZZZZ", CrockfordBase32.encode(-1, -1));
+    }
+
+    @Test
+    void testEncodeIntoArrays() {
+        char[] chars = new char[28];
+        CrockfordBase32.encode(1, 2, chars, 1);
+        assertEquals(CrockfordBase32.encode(1, 2), new String(chars, 1, 26));
+        byte[] bytes = new byte[26];
+        CrockfordBase32.encode(1, 2, bytes, 0);
+        assertEquals(CrockfordBase32.encode(1, 2), new String(bytes, StandardCharsets.US_ASCII));
+        assertThrows(IndexOutOfBoundsException.class, () -> CrockfordBase32.encode(1, 2, new byte[26], 1));
+    }
+
+    @Test
+    void testDecodeAliases() {
+        String encoded = CrockfordBase32.encode(0x0123456789ABCDEFL, 0x1111111111111111L);
+        String aliased = encoded.toLowerCase().replace('1', 'l').replace('0', 'o');
+        assertEquals(0x0123456789ABCDEFL, CrockfordBase32.decodeMostSignificantBits(aliased));
+        assertEquals(0x1111111111111111L, CrockfordBase32.decodeLeastSignificantBits(aliased));
+    }
+
+    @Test
+    void testIsValid() {
+        assertTrue(CrockfordBase32.isValid("01ARZ3NDEKTSV4RRFFQ69G5FAV"));
+        assertFalse(CrockfordBase32.isValid(null));
+        assertFalse(CrockfordBase32.isValid("01ARZ3NDEKTSV4RRFFQ69G5FA"));
+        assertFalse(CrockfordBase32.isValid("01ARZ3NDEKTSV4RRFFQ69G5FAU"));
+        assertFalse(CrockfordBase32.isValid("81ARZ3NDEKTSV4RRFFQ69G5FAV"));
+        assertThrows(IllegalArgumentException.class, () -> CrockfordBase32.decodeMostSignificantBits("invalid"));
+    }
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.unitvectory.consistgen.ulid;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import com.unitvectory.consistgen.epoch.SettableEpochTimeProvider;
+import com.unitvectory.consistgen.epoch.StaticEpochTimeProvider;
+
+/**
+ * Test the TimeOrderedUlidGenerator class.
+ * 
+ * @author Jared Hatfield (UnitVectorY Labs)
+ */
+class TimeOrderedUlidGeneratorTest {
+
+    @Test
+    void testDefaultInstance() {
+        UlidGenerator generator = TimeOrderedUlidGenerator.getInstance();
+        String ulid = generator.generateUlid();
+        assertEquals(26, ulid.length());
+        assertTrue(CrockfordBase32.isValid(ulid));
+        long time = TimeOrderedUlidGenerator.extractEpochTimeMilliseconds(ulid);
+        assertTrue(Math.abs(time - System.currentTimeMillis()) < 60000);
+    }
+
+    @Test
+    void testTimestampPrefix() {
+        UlidGenerator generator = TimeOrderedUlidGenerator.builder()
+                .epochTimeProvider(StaticEpochTimeProvider.builder().epochTimeMilliseconds(1469918176385L).build())
+                .build();
+        assertTrue(generator.generateUlid().startsWith("01ARYZ6S41"));
+    }
+
+    @Test
+    void testDeterministic() {
+        UlidGenerator first = TimeOrderedUlidGenerator.builder().epochTimeProvider(new SettableEpochTimeProvider(5))
+                .random(new Random(0)).build();
+        UlidGenerator second = TimeOrderedUlidGenerator.builder().epochTimeProvider(new SettableEpochTimeProvider(5))
+                .random(new Random(0)).build();
+        for (int i = 0; i < 10; i++) {
+            assertEquals(first.generateUlid(), second.generateUlid());
+        }
+    }
+
+    @Test
+    void testMonotonic() {
+        SettableEpochTimeProvider epochTimeProvider = new SettableEpochTimeProvider(1000);
+        UlidGenerator generator = TimeOrderedUlidGenerator.builder().epochTimeProvider(epochTimeProvider)
+                .monotonic(true).build();
+        long[] first = new long[2];
+        generator.generateUlidBits(first, 0);
+        long[] second = new long[2];
+        generator.generateUlidBits(second, 0);
+        assertEquals(first[0], second[0]);
+        assertEquals(first[1] + 1, second[1]);
+
+        epochTimeProvider.setEpochTimeMilliseconds(500);
+        String previous = CrockfordBase32.encode(second[0], second[1]);
+        for (int i = 0; i < 1000; i++) {
+            String next = generator.generateUlid();
+            assertTrue(next.compareTo(previous) > 0);
+            previous = next;
+        }
+    }
+
+    @Test
+    void testMonotonicOverflowCarriesIntoTimestamp() {
+        Random random = new Random() {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            public int nextInt() {
+                return -1;
+            }
+
+            @Override
+            public long nextLong() {
+                return -1;
+            }
+        };
+        UlidGenerator generator = TimeOrderedUlidGenerator.builder()
+                .epochTimeProvider(StaticEpochTimeProvider.getInstance()).random(random).monotonic(true).build();
+        assertEquals("0000000000ZZZZZZZZZZZZZZZZ", generator.generateUlid());
+        assertEquals("00000000010000000000000000", generator.generateUlid());
+    }
+
+    @Test
+    void testGenerateUlidAscii() {
+        UlidGenerator generator = TimeOrderedUlidGenerator.builder()
+                .epochTimeProvider(StaticEpochTimeProvider.getInstance()).random(new Random(0)).build();
+        byte[] ascii = new byte[26];
+        generator.generateUlidAscii(ascii, 0);
+        String ulid = new String(ascii, StandardCharsets.US_ASCII);
+        assertTrue(ulid.startsWith("0000000000"));
+        assertTrue(CrockfordBase32.isValid(ulid));
+    }
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.unitvectory.consistgen.uuid;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test the NameUuidGenerator class.
+ * 
+ * @author Jared Hatfield (UnitVectorY Labs)
+ */
+class NameUuidGeneratorTest {
+
+    @Test
+    void testVersion5Dns() {
+        NameUuidGenerator generator = NameUuidGenerator.builder().namespace(NameUuidGenerator.NAMESPACE_DNS).build();
+        assertEquals("2ed6657d-e927-568b-95e1-2665a8aea6a2", generator.generateUuid("www.example.com"));
+    }
+
+    @Test
+    void testVersion3Dns() {
+        NameUuidGenerator generator = NameUuidGenerator.builder().namespace(NameUuidGenerator.NAMESPACE_DNS)
+                .version(3).build();
+        assertEquals("5df41881-3aed-3515-88a7-2f4a814cf09e", generator.generateUuid("www.example.com"));
+    }
+
+    @Test
+    void testVersion3MatchesNameUuidFromBytes() {
+        NameUuidGenerator generator = NameUuidGenerator.builder().version(3).build();
+        byte[] name = "name".getBytes(StandardCharsets.UTF_8);
+        byte[] bytes = new byte[16 + name.length];
+        System.arraycopy(name, 0, bytes, 16, name.length);
+        assertEquals(UUID.nameUUIDFromBytes(bytes).toString(), generator.generateUuid("name"));
+    }
+
+    @Test
+    void testGenerateUuidBits() {
+        NameUuidGenerator generator = NameUuidGenerator.builder().namespace(NameUuidGenerator.NAMESPACE_URL).build();
+        long[] bits = new long[2];
+        generator.generateUuidBits("https://example.com", bits, 0);
+        assertEquals(generator.generateUuid("https://example.com"), new UUID(bits[0], bits[1]).toString());
+
+        NameUuidGenerator cached = NameUuidGenerator.builder().namespace(NameUuidGenerator.NAMESPACE_URL)
+                .cacheSize(10).build();
+        long[] cachedBits = new long[4];
+        cached.generateUuidBits("https://example.com", cachedBits, 0);
+        cached.generateUuidBits("https://example.com", cachedBits, 2);
+        assertEquals(bits[0], cachedBits[0]);
+        assertEquals(bits[1], cachedBits[1]);
+        assertEquals(bits[0], cachedBits[2]);
+        assertEquals(bits[1], cachedBits[3]);
+        assertEquals(1, cached.getCacheHits());
+    }
+
+    @Test
+    void testCacheCounters() {
+        NameUuidGenerator generator = NameUuidGenerator.builder().cacheSize(2).build();
+        String a = generator.generateUuid("a");
+        assertEquals(a, generator.generateUuid("a"));
+        assertEquals(1, generator.getCacheHits());
+        assertEquals(1, generator.getCacheMisses());
+
+        generator.generateUuid("b");
+        generator.generateUuid("c");
+        assertEquals(a, generator.generateUuid("a"));
+        assertEquals(1, generator.getCacheHits());
+        assertEquals(4, generator.getCacheMisses());
+    }
+
+    @Test
+    void testNoCache() {
+        NameUuidGenerator generator = NameUuidGenerator.builder().build();
+        assertEquals(generator.generateUuid("a"), generator.generateUuid("a"));
+        assertEquals(0, generator.getCacheHits());
+        assertEquals(0, generator.getCacheMisses());
+    }
+
+    @Test
+    void testLargeCacheMatchesUncached() {
+        NameUuidGenerator cached = NameUuidGenerator.builder().cacheSize(10000).build();
+        NameUuidGenerator uncached = NameUuidGenerator.builder().build();
+        for (int i = 0; i < 20000; i++) {
+            assertEquals(uncached.generateUuid("name" + (i % 5000)), cached.generateUuid("name" + (i % 5000)));
+        }
+        assertEquals(15000, cached.getCacheHits());
+    }
+
+    @Test
+    void testInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> NameUuidGenerator.builder().namespace("dns").build());
+        assertThrows(IllegalArgumentException.class, () -> NameUuidGenerator.builder().version(4).build());
+        assertThrows(IllegalArgumentException.class, () -> NameUuidGenerator.builder().cacheSize(-1).build());
+        NameUuidGenerator generator = NameUuidGenerator.builder().build();
+        assertThrows(IllegalArgumentException.class, () -> generator.generateUuid(null));
+    }
+}
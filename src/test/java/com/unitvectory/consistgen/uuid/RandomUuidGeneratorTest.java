@@ -16,6 +16,12 @@ package com.unitvectory.consistgen.uuid;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 
+import java.nio.ByteBuffer;
+import java.nio.LongBuffer;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+
 import org.junit.jupiter.api.Test;
 
 /**
@@ -32,4 +38,59 @@ class RandomUuidGeneratorTest {
         assertNotNull(uuid);
         assertEquals(36, uuid.length());
     }
+
+    @Test
+    void testGenerateUuidBits() {
+        UuidGenerator generator = RandomUuidGenerator.getInstance();
+        long[] bits = new long[2];
+        generator.generateUuidBits(bits, 0);
+        UUID uuid = new UUID(bits[0], bits[1]);
+        assertEquals(4, uuid.version());
+        assertEquals(2, uuid.variant());
+        assertEquals(4, UUID.fromString(generator.generateUuid()).version());
+    }
+
+    @Test
+    void testGenerateUuidBytes() {
+        UuidGenerator generator = RandomUuidGenerator.getInstance();
+        ByteBuffer buffer = ByteBuffer.allocate(16);
+        generator.generateUuidBytes(buffer);
+        assertEquals(16, buffer.position());
+        assertEquals(0x40, buffer.get(6) & 0xF0);
+        assertEquals(0x80, buffer.get(8) & 0xC0);
+    }
+
+    @Test
+    void testGenerateUuidChars() {
+        UuidGenerator generator = RandomUuidGenerator.getInstance();
+        char[] chars = new char[36];
+        generator.generateUuidChars(chars, 0);
+        assertEquals(4, UUID.fromString(new String(chars)).version());
+    }
+
+    @Test
+    void testGenerateUuids() {
+        UuidGenerator generator = RandomUuidGenerator.getInstance();
+        long[] bits = new long[2 + 1000 * 2];
+        generator.generateUuids(bits, 2, 1000);
+        Set<UUID> uuids = new HashSet<>();
+        for (int i = 2; i < bits.length; i += 2) {
+            UUID uuid = new UUID(bits[i], bits[i + 1]);
+            assertEquals(4, uuid.version());
+            assertEquals(2, uuid.variant());
+            uuids.add(uuid);
+        }
+        assertEquals(1000, uuids.size());
+        assertEquals(0, bits[0]);
+        assertEquals(0, bits[1]);
+    }
+
+    @Test
+    void testGenerateUuidsDirectBuffer() {
+        UuidGenerator generator = RandomUuidGenerator.getInstance();
+        LongBuffer buffer = ByteBuffer.allocateDirect(600 * 16).asLongBuffer();
+        generator.generateUuids(buffer, 600);
+        assertEquals(1200, buffer.position());
+        assertEquals(4, new UUID(buffer.get(1198), buffer.get(1199)).version());
+    }
 }
@@ -0,0 +1,90 @@
+/*
+ * Copyright 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.unitvectory.consistgen.uuid;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test the SeededUuidGenerator class.
+ * 
+ * @author Jared Hatfield (UnitVectorY Labs)
+ */
+class SeededUuidGeneratorTest {
+
+    @Test
+    void testSameSeedSameSequence() {
+        UuidGenerator first = SeededUuidGenerator.builder().seed(42L).build();
+        UuidGenerator second = SeededUuidGenerator.builder().seed(42L).build();
+        for (int i = 0; i < 100; i++) {
+            assertEquals(first.generateUuid(), second.generateUuid());
+        }
+    }
+
+    @Test
+    void testDifferentSeedDifferentSequence() {
+        UuidGenerator first = SeededUuidGenerator.builder().seed(1L).build();
+        UuidGenerator second = SeededUuidGenerator.builder().seed(2L).build();
+        assertNotEquals(first.generateUuid(), second.generateUuid());
+    }
+
+    @Test
+    void testDefaultSeed() {
+        UuidGenerator first = SeededUuidGenerator.builder().build();
+        UuidGenerator second = SeededUuidGenerator.builder().seed(0L).build();
+        assertEquals(first.generateUuid(), second.generateUuid());
+    }
+
+    @Test
+    void testVersion4() {
+        UuidGenerator generator = SeededUuidGenerator.builder().build();
+        for (int i = 0; i < 100; i++) {
+            UUID uuid = UUID.fromString(generator.generateUuid());
+            assertEquals(4, uuid.version());
+            assertEquals(2, uuid.variant());
+        }
+    }
+
+    @Test
+    void testSplitReproducible() {
+        SeededUuidGenerator first = SeededUuidGenerator.builder().seed(7L).build();
+        SeededUuidGenerator second = SeededUuidGenerator.builder().seed(7L).build();
+        SeededUuidGenerator firstChild = first.split();
+        SeededUuidGenerator secondChild = second.split();
+        for (int i = 0; i < 100; i++) {
+            assertEquals(firstChild.generateUuid(), secondChild.generateUuid());
+        }
+
+        assertEquals(first.generateUuid(), second.generateUuid());
+        assertNotEquals(first.generateUuid(), firstChild.generateUuid());
+    }
+
+    @Test
+    void testBulkMatchesSingle() {
+        UuidGenerator first = SeededUuidGenerator.builder().seed(3L).build();
+        UuidGenerator second = SeededUuidGenerator.builder().seed(3L).build();
+        long[] bulk = new long[20];
+        first.generateUuids(bulk, 0, 10);
+        long[] single = new long[20];
+        for (int i = 0; i < 10; i++) {
+            second.generateUuidBits(single, i * 2);
+        }
+        assertArrayEquals(single, bulk);
+    }
+}
@@ -14,6 +14,8 @@
 package com.unitvectory.consistgen.uuid;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
 import org.junit.jupiter.api.Test;
 
 /**
@@ -50,4 +52,35 @@ class SettableUuidGeneratorTest {
         generator.setUuid(null);
         assertEquals("00000000-0000-0000-0000-000000000000", generator.generateUuid());
     }
-}
\ No newline at end of file
+
+    @Test
+    void testUuidSetterBinary() {
+        SettableUuidGenerator generator = SettableUuidGenerator.builder().build();
+        long[] bits = new long[2];
+        generator.generateUuidBits(bits, 0);
+        assertEquals(0, bits[0]);
+        assertEquals(0, bits[1]);
+
+        generator.setUuid("11111111-1111-1111-1111-111111111111");
+        generator.generateUuidBits(bits, 0);
+        assertEquals(0x1111111111111111L, bits[0]);
+        assertEquals(0x1111111111111111L, bits[1]);
+
+        generator.setUuid("invalid");
+        assertThrows(IllegalStateException.class, () -> generator.generateUuidBits(bits, 0));
+    }
+
+    @Test
+    void testGenerateUuids() {
+        SettableUuidGenerator generator = SettableUuidGenerator.builder().uuid("22222222-2222-2222-2222-222222222222")
+                .build();
+        long[] bits = new long[8];
+        generator.generateUuids(bits, 0, 4);
+        for (long value : bits) {
+            assertEquals(0x2222222222222222L, value);
+        }
+
+        generator.setUuid("invalid");
+        assertThrows(IllegalStateException.class, () -> generator.generateUuids(bits, 0, 4));
+    }
+}
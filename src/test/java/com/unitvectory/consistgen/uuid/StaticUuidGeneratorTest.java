@@ -13,7 +13,13 @@
  */
 package com.unitvectory.consistgen.uuid;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.nio.BufferOverflowException;
+import java.nio.LongBuffer;
+import java.nio.charset.StandardCharsets;
 
 import org.junit.jupiter.api.Test;
 
@@ -36,4 +42,49 @@ class StaticUuidGeneratorTest {
                 .build();
         assertEquals("11111111-1111-1111-1111-111111111111", generator.generateUuid());
     }
+
+    @Test
+    void testGenerateUuidBinary() {
+        UuidGenerator generator = StaticUuidGenerator.builder().uuid("01234567-89AB-CDEF-0123-456789abcdef")
+                .build();
+        long[] bits = new long[3];
+        generator.generateUuidBits(bits, 1);
+        assertArrayEquals(new long[] { 0, 0x0123456789ABCDEFL, 0x0123456789ABCDEFL }, bits);
+
+        byte[] ascii = new byte[36];
+        generator.generateUuidAscii(ascii, 0);
+        assertEquals("01234567-89ab-cdef-0123-456789abcdef", new String(ascii, StandardCharsets.US_ASCII));
+    }
+
+    @Test
+    void testGenerateUuidBinaryNotCanonical() {
+        UuidGenerator generator = StaticUuidGenerator.builder().uuid("not-a-uuid").build();
+        assertEquals("not-a-uuid", generator.generateUuid());
+        assertThrows(IllegalStateException.class, () -> generator.generateUuidBytes(new byte[16], 0));
+    }
+
+    @Test
+    void testDefaultMethodsParseUuid() {
+        UuidGenerator generator = () -> "ffffffff-0000-0000-0000-000000000001";
+        byte[] bytes = new byte[16];
+        generator.generateUuidBytes(bytes, 0);
+        assertEquals(-1, bytes[0]);
+        assertEquals(1, bytes[15]);
+    }
+
+    @Test
+    void testGenerateUuids() {
+        UuidGenerator generator = StaticUuidGenerator.builder().uuid("11111111-1111-1111-1111-111111111111")
+                .build();
+        LongBuffer buffer = LongBuffer.allocate(6);
+        generator.generateUuids(buffer, 3);
+        assertEquals(6, buffer.position());
+        for (long value : buffer.array()) {
+            assertEquals(0x1111111111111111L, value);
+        }
+
+        assertThrows(BufferOverflowException.class, () -> generator.generateUuids(LongBuffer.allocate(5), 3));
+        assertThrows(IndexOutOfBoundsException.class, () -> generator.generateUuids(new long[5], 0, 3));
+        assertThrows(IllegalArgumentException.class, () -> generator.generateUuids(new long[5], 0, -1));
+    }
 }
@@ -0,0 +1,133 @@
+/*
+ * Copyright 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.unitvectory.consistgen.uuid;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+
+import com.unitvectory.consistgen.epoch.SettableEpochTimeProvider;
+import com.unitvectory.consistgen.epoch.StaticEpochTimeProvider;
+
+/**
+ * Test the TimeOrderedUuidGenerator class.
+ *
+ * @author Jared Hatfield (UnitVectorY Labs)
+ */
+class TimeOrderedUuidGeneratorTest {
+
+    @Test
+    void testDefaultInstance() {
+        UuidGenerator generator = TimeOrderedUuidGenerator.getInstance();
+        String uuid = generator.generateUuid();
+        assertEquals(36, uuid.length());
+        assertEquals(7, UUID.fromString(uuid).version());
+        assertEquals(2, UUID.fromString(uuid).variant());
+    }
+
+    @Test
+    void testTimestampPrefix() {
+        UuidGenerator generator = TimeOrderedUuidGenerator.builder()
+                .epochTimeProvider(StaticEpochTimeProvider.builder().epochTimeMilliseconds(0x0123456789ABL).build())
+                .random(new Random(0))
+                .build();
+        assertTrue(generator.generateUuid().startsWith("01234567-89ab-7000-"));
+        assertTrue(generator.generateUuid().startsWith("01234567-89ab-7001-"));
+    }
+
+    @Test
+    void testDeterministic() {
+        SettableEpochTimeProvider first = new SettableEpochTimeProvider(1000);
+        SettableEpochTimeProvider second = new SettableEpochTimeProvider(1000);
+        UuidGenerator a = TimeOrderedUuidGenerator.builder().epochTimeProvider(first).random(new Random(1)).build();
+        UuidGenerator b = TimeOrderedUuidGenerator.builder().epochTimeProvider(second).random(new Random(1)).build();
+        for (int i = 0; i < 100; i++) {
+            first.setEpochTimeMilliseconds(1000 + i / 10);
+            second.setEpochTimeMilliseconds(1000 + i / 10);
+            assertEquals(a.generateUuid(), b.generateUuid());
+        }
+    }
+
+    @Test
+    void testCounterOverflowPreservesOrder() {
+        UuidGenerator generator = TimeOrderedUuidGenerator.builder()
+                .epochTimeProvider(StaticEpochTimeProvider.getInstance())
+                .build();
+        String previous = generator.generateUuid();
+        for (int i = 0; i < 10000; i++) {
+            String next = generator.generateUuid();
+            assertTrue(next.compareTo(previous) > 0);
+            previous = next;
+        }
+    }
+
+    @Test
+    void testClockRegressionPreservesOrder() {
+        SettableEpochTimeProvider epochTimeProvider = new SettableEpochTimeProvider(5000);
+        UuidGenerator generator = TimeOrderedUuidGenerator.builder().epochTimeProvider(epochTimeProvider).build();
+        String first = generator.generateUuid();
+        epochTimeProvider.setEpochTimeMilliseconds(4000);
+        String second = generator.generateUuid();
+        assertTrue(second.compareTo(first) > 0);
+        assertTrue(second.startsWith(first.substring(0, 14)));
+    }
+
+    @Test
+    void testConcurrentUnique() throws InterruptedException {
+        UuidGenerator generator = TimeOrderedUuidGenerator.builder()
+                .epochTimeProvider(StaticEpochTimeProvider.getInstance())
+                .build();
+        Set<String> uuids = Collections.synchronizedSet(new HashSet<>());
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            threads.add(new Thread(() -> {
+                for (int i = 0; i < 1000; i++) {
+                    uuids.add(generator.generateUuid().substring(0, 18));
+                }
+            }));
+        }
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals(8000, uuids.size());
+    }
+
+    @Test
+    void testGenerateUuidsReservesRange() {
+        UuidGenerator generator = TimeOrderedUuidGenerator.builder()
+                .epochTimeProvider(StaticEpochTimeProvider.builder().epochTimeMilliseconds(1L).build())
+                .build();
+        long[] bits = new long[10];
+        generator.generateUuids(bits, 0, 5);
+        for (int i = 0; i < 5; i++) {
+            assertEquals((1L << 16) | 0x7000L | i, bits[i * 2]);
+        }
+
+        long[] next = new long[2];
+        generator.generateUuidBits(next, 0);
+        assertEquals((1L << 16) | 0x7005L, next[0]);
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.unitvectory.consistgen.uuid;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test the UuidFormat class.
+ * 
+ * @author Jared Hatfield (UnitVectorY Labs)
+ */
+class UuidFormatTest {
+
+    @Test
+    void testToStringMatchesUuid() {
+        Random random = new Random(0);
+        for (int i = 0; i < 1000; i++) {
+            UUID uuid = new UUID(random.nextLong(), random.nextLong());
+            assertEquals(uuid.toString(),
+                    UuidFormat.toString(uuid.getMostSignificantBits(), uuid.getLeastSignificantBits()));
+        }
+    }
+
+    @Test
+    void testWriteChars() {
+        UUID uuid = UUID.fromString("01234567-89ab-cdef-fedc-ba9876543210");
+        char[] chars = new char[40];
+        UuidFormat.writeChars(uuid.getMostSignificantBits(), uuid.getLeastSignificantBits(), chars, 2);
+        assertEquals(uuid.toString(), new String(chars, 2, 36));
+    }
+
+    @Test
+    void testWriteAscii() {
+        UUID uuid = UUID.fromString("01234567-89ab-cdef-fedc-ba9876543210");
+        byte[] bytes = new byte[36];
+        UuidFormat.writeAscii(uuid.getMostSignificantBits(), uuid.getLeastSignificantBits(), bytes, 0);
+        assertEquals(uuid.toString(), new String(bytes, StandardCharsets.US_ASCII));
+
+        ByteBuffer direct = ByteBuffer.allocateDirect(37);
+        direct.put((byte) ' ');
+        UuidFormat.writeAscii(uuid.getMostSignificantBits(), uuid.getLeastSignificantBits(), direct);
+        assertEquals(37, direct.position());
+        direct.flip().position(1);
+        byte[] copy = new byte[36];
+        direct.get(copy);
+        assertArrayEquals(bytes, copy);
+    }
+
+    @Test
+    void testWriteBytes() {
+        byte[] bytes = new byte[16];
+        UuidFormat.writeBytes(0x0102030405060708L, 0x090A0B0C0D0E0F10L, bytes, 0);
+        for (int i = 0; i < 16; i++) {
+            assertEquals(i + 1, bytes[i]);
+        }
+
+        assertEquals(0x0102030405060708L, UuidFormat.readMostSignificantBits(bytes, 0));
+        assertEquals(0x090A0B0C0D0E0F10L, UuidFormat.readLeastSignificantBits(bytes, 0));
+
+        ByteBuffer buffer = ByteBuffer.allocate(16).order(ByteOrder.LITTLE_ENDIAN);
+        UuidFormat.writeBytes(0x0102030405060708L, 0x090A0B0C0D0E0F10L, buffer);
+        assertArrayEquals(bytes, buffer.array());
+    }
+
+    @Test
+    void testParse() {
+        String uuid = "01234567-89AB-cdef-fedc-ba9876543210";
+        assertEquals(0x0123456789ABCDEFL, UuidFormat.parseMostSignificantBits(uuid));
+        assertEquals(0xFEDCBA9876543210L, UuidFormat.parseLeastSignificantBits(uuid));
+    }
+
+    @Test
+    void testIsCanonical() {
+        assertTrue(UuidFormat.isCanonical("00000000-0000-0000-0000-000000000000"));
+        assertFalse(UuidFormat.isCanonical(null));
+        assertFalse(UuidFormat.isCanonical("0-0-0-0-0"));
+        assertFalse(UuidFormat.isCanonical("00000000-0000-0000-0000-00000000000g"));
+        assertFalse(UuidFormat.isCanonical("00000000_0000-0000-0000-000000000000"));
+        assertThrows(IllegalArgumentException.class, () -> UuidFormat.parseMostSignificantBits("not-a-uuid"));
+    }
+
+    @Test
+    void testBounds() {
+        assertThrows(IndexOutOfBoundsException.class, () -> UuidFormat.writeAscii(0, 0, new byte[36], 1));
+        assertThrows(IndexOutOfBoundsException.class, () -> UuidFormat.writeBytes(0, 0, new byte[15], 0));
+    }
+}